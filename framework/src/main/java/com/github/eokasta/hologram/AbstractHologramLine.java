@@ -1,6 +1,5 @@
 package com.github.eokasta.hologram;
 
-import com.github.eokasta.hologram.protocol.DataWatcherHolder;
 import com.github.eokasta.hologram.protocol.HologramProtocol;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -10,6 +9,9 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * This class is responsible for abstracting the lines of holograms.
  *
@@ -19,16 +21,44 @@ import org.jetbrains.annotations.NotNull;
 @RequiredArgsConstructor
 public abstract class AbstractHologramLine {
 
-    private static int ENTITY_ID = 0;
-
     protected final Hologram hologram;
     protected final HologramSettings settings;
-    protected final int entityId = --ENTITY_ID;
+    protected final int entityId = EntityIdAllocator.allocate();
     protected final float height;
 
     @Setter(AccessLevel.PROTECTED)
     protected Location location;
 
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    /**
+     * Releases the entity identify of this line, so it can be reused by new lines.
+     * The line must be hidden from all players and cannot be used afterwards.
+     */
+    final void release() {
+        if (released.compareAndSet(false, true))
+            EntityIdAllocator.release(entityId);
+    }
+
+    /**
+     * Checks if the entity identify of this line was released.
+     *
+     * @return <b>true</b> if this line cannot be used anymore.
+     */
+    final boolean isReleased() {
+        return released.get();
+    }
+
+    /**
+     * Checks if the content of this line depends on a function of the player.
+     *
+     * @return <b>true</b> if this line is dynamic.
+     */
+    protected boolean isDynamic() {
+        return false;
+    }
+
     /**
      * Hides this hologram line.
      *
@@ -44,7 +74,7 @@ public abstract class AbstractHologramLine {
      * @param player player who will see this line.
      */
     protected void show(@NotNull Player player) {
-        HologramProtocol.sendSpawnPacket(entityId, location, player, new DataWatcherHolder());
+        HologramProtocol.sendSpawnPacket(entityId, location, player);
     }
 
     /**
@@ -60,6 +90,46 @@ public abstract class AbstractHologramLine {
         HologramProtocol.sendTeleportPacket(entityId, player, location);
     }
 
+    /**
+     * Completely invalidates the player from this hologram line.
+     *
+     * @param player the player who will be invalidated.
+     */
+    protected void invalidatePlayer(@NotNull Player player) {
+        invalidatePlayer(player.getUniqueId());
+    }
+
+    /**
+     * Completely invalidates a player from this hologram line by unique id,
+     * such as a viewer whose player was already collected.
+     *
+     * @param uniqueId the unique id of the player who will be invalidated.
+     */
+    protected void invalidatePlayer(@NotNull UUID uniqueId) {
+
+    }
+
+    /**
+     * Estimates the heap retained by this hologram line, without the state kept for its viewers.
+     *
+     * @return the estimated bytes.
+     * @see HologramMemoryUsage
+     */
+    protected long estimateBytes() {
+        // the fields and the location.
+        return HologramMemoryUsage.OBJECT_BYTES + 4 * HologramMemoryUsage.REFERENCE_BYTES + 12
+              + HologramMemoryUsage.LOCATION_BYTES;
+    }
+
+    /**
+     * Adds the state kept for each viewer of this hologram line, such as the last content sent to them.
+     *
+     * @param usage the memory usage.
+     */
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+
+    }
+
     /**
      * This method is called when this hologram line is updated.
      *
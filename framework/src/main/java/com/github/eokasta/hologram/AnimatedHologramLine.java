@@ -0,0 +1,147 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramPacket;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is responsible for creating an animated line of texts in holograms.<p></p>
+ *
+ * The metadata of each frame is encoded only once and the frames are switched by the
+ * {@link HologramFrameClock} of the registry, which sends the same packet to every viewer.
+ * Viewers are in sync by default, but each player can have its own frame offset.
+ *
+ * @see HologramFrameClock
+ */
+public class AnimatedHologramLine extends AbstractHologramLine {
+
+    @Getter
+    private final List<String> frames;
+    @Getter
+    private final int frameTicks;
+
+    private final Map<UUID, Integer> offsets = new ConcurrentHashMap<>();
+    private HologramPacket[] packets;
+    private int frame;
+
+    public AnimatedHologramLine(@NotNull Hologram hologram, @NotNull List<String> frames, int frameTicks) {
+        super(hologram, HologramSettings.builder()
+                    .visibleArmorStand(false)
+                    .visibleCustomName(true)
+                    .build(),
+              0.26f);
+
+        if (frames.isEmpty())
+            throw new IllegalArgumentException("Animated line needs at least one frame.");
+
+        if (frameTicks < 1)
+            throw new IllegalArgumentException("Animated line frame ticks must be positive.");
+
+        this.frames = Collections.unmodifiableList(new ArrayList<>(frames));
+        this.frameTicks = frameTicks;
+    }
+
+    /**
+     * Sets the frame offset of a player, so the player sees the animation shifted by this many frames.
+     *
+     * @param player the player.
+     * @param offset the frame offset, <b>0</b> keeps the player in sync with everyone.
+     */
+    public void setFrameOffset(@NotNull Player player, int offset) {
+        if (Math.floorMod(offset, frames.size()) == 0)
+            offsets.remove(player.getUniqueId());
+        else
+            offsets.put(player.getUniqueId(), offset);
+    }
+
+    @Override
+    protected void show(@NotNull Player player) {
+        super.show(player);
+        HologramProtocol.sendPacket(getFramePacket(player), player);
+    }
+
+    @Override
+    protected void update(@NotNull Player player) {
+        // the frames are pushed by the frame clock, there is nothing to refresh.
+        onUpdate(player);
+    }
+
+    /**
+     * Advances the animation, sending the new frame to all viewers when it changes.
+     *
+     * @param tick the current tick of the frame clock.
+     */
+    void tick(long tick) {
+        if (tick % frameTicks != 0) return;
+
+        final int frame = (int) ((tick / frameTicks) % frames.size());
+        if (frame == this.frame) return;
+
+        this.frame = frame;
+        if (!hologram.hasViewers()) return;
+
+        final HologramPacket[] packets = getPackets();
+        for (Player viewer : hologram.resolveViewers()) {
+            final HologramPacket packet = offsets.isEmpty() ? packets[frame] : getFramePacket(viewer);
+            HologramProtocol.sendPacket(packet, viewer);
+        }
+    }
+
+    @Override
+    protected void invalidatePlayer(@NotNull UUID uniqueId) {
+        offsets.remove(uniqueId);
+    }
+
+    @Override
+    protected long estimateBytes() {
+        long bytes = super.estimateBytes() + HologramMemoryUsage.OBJECT_BYTES + 16;
+        for (String frame : frames)
+            bytes += HologramMemoryUsage.REFERENCE_BYTES + HologramMemoryUsage.estimateString(frame);
+
+        final HologramPacket[] packets = this.packets;
+        if (packets != null)
+            bytes += HologramMemoryUsage.OBJECT_BYTES + 4 + packets.length * HologramMemoryUsage.REFERENCE_BYTES;
+
+        return bytes;
+    }
+
+    @Override
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        usage.addViewerStates(offsets.size(), HologramMemoryUsage.ENTRY_BYTES + HologramMemoryUsage.OBJECT_BYTES);
+    }
+
+    private HologramPacket getFramePacket(Player player) {
+        final int offset = offsets.getOrDefault(player.getUniqueId(), 0);
+        return getPackets()[Math.floorMod(frame + offset, frames.size())];
+    }
+
+    private HologramPacket[] getPackets() {
+        if (packets != null)
+            return packets;
+
+        final HologramPacket[] packets = new HologramPacket[frames.size()];
+        for (int i = 0; i < packets.length; i++)
+            packets[i] = HologramProtocol.createMetadataPacket(
+                  entityId,
+                  frames.get(i),
+                  settings.isVisibleCustomName(),
+                  settings.isVisibleArmorStand(),
+                  settings.isSmall(),
+                  settings.isArms(),
+                  settings.isNoBasePlate(),
+                  settings.isMarker()
+            );
+
+        return this.packets = packets;
+    }
+
+}
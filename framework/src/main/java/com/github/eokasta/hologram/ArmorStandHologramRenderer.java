@@ -0,0 +1,77 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramPacket;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * This class renders each line of a hologram as an invisible armor stand.
+ *
+ * @see HologramRenderer
+ */
+@RequiredArgsConstructor
+class ArmorStandHologramRenderer implements HologramRenderer {
+
+    private final Hologram hologram;
+
+    @Override
+    public void show(@NotNull Player player) {
+        for (AbstractHologramLine line : hologram.getLines())
+            line.show(player);
+    }
+
+    @Override
+    public void hide(@NotNull Player player) {
+        for (AbstractHologramLine line : hologram.getLines())
+            line.hide(player);
+    }
+
+    @Override
+    public void update(@NotNull Player player) {
+        for (AbstractHologramLine line : hologram.getLines())
+            line.update(player);
+    }
+
+    @Override
+    public void refresh(@NotNull Player player) {
+        for (AbstractHologramLine line : hologram.getLines())
+            if (!line.isDynamic())
+                line.update(player);
+    }
+
+    @Override
+    public void teleport(@NotNull Player player) {
+        for (AbstractHologramLine line : hologram.getLines())
+            HologramProtocol.sendTeleportPacket(line.getEntityId(), player, line.getLocation());
+    }
+
+    @Override
+    public void applyChanges(@NotNull Player player, @NotNull HologramLineChanges changes) {
+        for (AbstractHologramLine line : changes.getRemovedLines()) {
+            line.hide(player);
+            line.invalidatePlayer(player);
+        }
+
+        for (HologramPacket packet : changes.getMovePackets().values())
+            HologramProtocol.sendPacket(packet, player);
+
+        for (AbstractHologramLine line : changes.getAddedLines())
+            line.show(player);
+    }
+
+    @Override
+    public void release() {
+        // the entities belong to the lines, which are released by the hologram.
+    }
+
+    @Override
+    public void invalidatePlayer(@NotNull UUID uniqueId) {
+        for (AbstractHologramLine line : hologram.getLines())
+            line.invalidatePlayer(uniqueId);
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * This class is responsible for creating a line of texts resolved asynchronously for each player,
+ * such as balances or statistics loaded from a database.<p></p>
+ *
+ * The provider is called on the executor of the line and the viewers see their last known
+ * text, or the placeholder, until the future completes. The completed text is sent only to its
+ * player and a player has at most one request in flight per line. The text of a player is only
+ * requested again once the refresh interval passed since its last request completed, so updates
+ * in between reuse the known text instead of querying the provider.
+ *
+ * @see TextHologramLine
+ */
+public class AsyncTextHologramLine extends TextHologramLine {
+
+    @Getter
+    private final Function<Player, CompletableFuture<String>> provider;
+
+    /**
+     * The executor that calls the provider, it may block. By default a small pool shared
+     * by the async lines, so blocking providers never starve the common pool.
+     */
+    @Getter
+    @Setter
+    @NonNull
+    private volatile Executor executor = DefaultExecutor.EXECUTOR;
+
+    /**
+     * How long the text of a player is kept before it is requested again.
+     */
+    @Getter
+    @Setter
+    private volatile long refreshIntervalNanos = TimeUnit.SECONDS.toNanos(5);
+
+    private final Map<UUID, ViewerText> texts = new ConcurrentHashMap<>();
+
+    public AsyncTextHologramLine(
+          @NotNull Hologram hologram,
+          @NotNull Function<Player, CompletableFuture<String>> provider,
+          @NotNull String placeholder
+    ) {
+        super(hologram);
+        this.provider = provider;
+        setText(placeholder);
+    }
+
+    @Override
+    protected boolean isDynamic() {
+        return true;
+    }
+
+    /**
+     * Resolves the last known text of a player and requests a new one if none is in flight.
+     *
+     * @param player the player who will see the text.
+     * @return the last known text or the placeholder.
+     */
+    @NotNull
+    @Override
+    protected String resolveText(@NotNull Player player) {
+        final ViewerText text = texts.computeIfAbsent(player.getUniqueId(), $ -> new ViewerText());
+        request(player, text);
+
+        final String known = text.known;
+        return known != null ? known : getText();
+    }
+
+    @Override
+    protected void show(@NotNull Player player) {
+        final ViewerText text = texts.get(player.getUniqueId());
+        if (text != null)
+            text.sent = null;
+
+        super.show(player);
+    }
+
+    @Override
+    protected void update(@NotNull Player player) {
+        send(player, resolveText(player));
+    }
+
+    @Override
+    protected void invalidatePlayer(@NotNull UUID uniqueId) {
+        texts.remove(uniqueId);
+    }
+
+    @Override
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        for (ViewerText text : texts.values()) {
+            long bytes = HologramMemoryUsage.ENTRY_BYTES + 2 * HologramMemoryUsage.OBJECT_BYTES
+                  + 4 * HologramMemoryUsage.REFERENCE_BYTES + HologramMemoryUsage.estimateString(text.known);
+            if (text.sent != null && !text.sent.equals(text.known))
+                bytes += HologramMemoryUsage.estimateString(text.sent);
+
+            usage.addViewerStates(1, bytes);
+        }
+    }
+
+    private void request(Player player, ViewerText text) {
+        if (text.resolved && System.nanoTime() - text.resolvedAt < refreshIntervalNanos) return;
+        if (!text.requesting.compareAndSet(false, true)) return;
+
+        CompletableFuture.supplyAsync(() -> provider.apply(player), executor)
+              .thenCompose(Function.identity())
+              .whenComplete((resolved, throwable) -> {
+                  // failures wait for the interval too, so a failing provider is not called on every update.
+                  text.resolvedAt = System.nanoTime();
+                  text.resolved = true;
+                  text.requesting.set(false);
+                  if (throwable != null) {
+                      Bukkit.getLogger().log(Level.WARNING, "Could not resolve the text of a hologram line.", throwable);
+                      return;
+                  }
+
+                  if (resolved == null || resolved.equals(text.known)) return;
+
+                  text.known = resolved;
+                  pushText(player, text);
+              });
+    }
+
+    /**
+     * Sends a completed text to its player on the main thread, if the player still sees this line.
+     */
+    private void pushText(Player player, ViewerText text) {
+        final Runnable push = () -> {
+            if (texts.get(player.getUniqueId()) != text || !hologram.isViewer(player)) return;
+
+            send(player, text.known);
+        };
+
+        if (Bukkit.isPrimaryThread()) {
+            push.run();
+            return;
+        }
+
+        final HologramRegistry registry = hologram.getRegistry();
+        if (registry != null && registry.getEngine().getPlugin().isEnabled())
+            registry.getScheduler().runFor(player, push);
+    }
+
+    private void send(Player player, String value) {
+        final ViewerText text = texts.get(player.getUniqueId());
+        if (text != null) {
+            if (value.equals(text.sent)) return;
+
+            text.sent = value;
+        }
+
+        HologramProtocol.sendMetadataCreatePacket(
+              entityId,
+              player,
+              value,
+              settings.isVisibleCustomName(),
+              settings.isVisibleArmorStand(),
+              settings.isSmall(),
+              settings.isArms(),
+              settings.isNoBasePlate(),
+              settings.isMarker()
+        );
+    }
+
+    private static final class ViewerText {
+
+        private final AtomicBoolean requesting = new AtomicBoolean();
+        private volatile String known;
+        private volatile long resolvedAt;
+        private volatile boolean resolved;
+
+        /**
+         * The text the player is seeing, only accessed on the main thread.
+         */
+        private String sent;
+
+    }
+
+    /**
+     * The pool is only created when the first line uses it.
+     */
+    private static final class DefaultExecutor {
+
+        private static final int THREADS = 4;
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+        private static final Executor EXECUTOR = createExecutor();
+
+        private static Executor createExecutor() {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                  THREADS,
+                  THREADS,
+                  30L,
+                  TimeUnit.SECONDS,
+                  new LinkedBlockingQueue<>(),
+                  runnable -> {
+                      final Thread thread = new Thread(runnable, "Hologram Async Text #" + THREAD_COUNT.incrementAndGet());
+                      thread.setDaemon(true);
+                      return thread;
+                  }
+            );
+
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+    }
+
+}
@@ -2,34 +2,112 @@ package com.github.eokasta.hologram;
 
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
+ * This class is the update loop of the {@link HologramEngine}, run by the
+ * {@link com.github.eokasta.hologram.shared.HologramHub} once per update period.<p></p>
+ *
+ * On region-threaded servers the holograms of each world are partitioned by region section
+ * and each partition is updated on the thread of the region that owns it, while the visibility
+ * sweep of each player runs on the thread that owns the player and only looks up nearby holograms.
  *
  * @author Lucas Monteiro
+ * @see HologramScheduler
  */
 @RequiredArgsConstructor
 public class AutoUpdateHologramTask implements Runnable {
 
-    private final HologramRegistry registry;
+    /**
+     * The size of a region section in chunks, as a shift, the default of region-threaded servers.
+     */
+    private static final int SECTION_SHIFT = 4;
+
+    private final HologramEngine engine;
+    private int runs;
 
     @Override
     public void run() {
-        registry.forEach(hologram -> {
-            if (hologram.isDestroyed())
-                registry.unregisterHologram(hologram);
+        // holograms move between partitions as they are spawned and teleported, destroyed ones are queued.
+        engine.unregisterDestroyed();
+
+        // the viewer budget is ranked as players move, so only the sweep interval checks every player.
+        final int sweepInterval = Math.max(1, engine.getVisibilitySweepInterval());
+        final boolean sweepVisibility = ++runs % sweepInterval == 0;
+
+        List<UUID> unloadedWorlds = null;
+        for (Map.Entry<UUID, Set<Hologram>> entry : engine.getWorldPartitions().entrySet()) {
+            final World world = Bukkit.getWorld(entry.getKey());
+            if (world == null) {
+                if (unloadedWorlds == null) unloadedWorlds = new ArrayList<>();
+                unloadedWorlds.add(entry.getKey());
+                continue;
+            }
+
+            if (world.getPlayers().isEmpty()) continue;
+
+            if (engine.getScheduler().isRegionized())
+                updateRegions(world, entry.getValue(), sweepVisibility);
+            else
+                updatePartition(entry.getValue(), sweepVisibility);
+        }
 
-            hologram.update();
-        });
+        if (unloadedWorlds != null)
+            unloadedWorlds.forEach(engine::releasePartition);
+    }
+
+    private void updatePartition(Set<Hologram> partition, boolean sweepVisibility) {
+        for (Hologram hologram : partition)
+            if (!hologram.isDestroyed())
+                hologram.update(sweepVisibility);
     }
 
     /**
-     * Initializes the auto update holograms with the delay to start and the period between each update.
-     *
-     * @param delay the delay to start.
-     * @param period the period between each update.
+     * Updates the holograms of a world on the threads of their regions, the regions of
+     * region-threaded servers are made of whole sections, so a section has a single owner.
      */
-    public void initialize(long delay, long period) {
-        Bukkit.getScheduler().runTaskTimer(registry.getPlugin(), this, delay, period);
+    private void updateRegions(World world, Set<Hologram> partition, boolean sweepVisibility) {
+        final Map<Long, List<Hologram>> sections = new HashMap<>();
+
+        for (Hologram hologram : partition) {
+            if (!hologram.isSpawned()) continue;
+
+            final Location location = hologram.getLocation();
+            final int chunkX = location.getBlockX() >> 4, chunkZ = location.getBlockZ() >> 4;
+            sections.computeIfAbsent(
+                  HologramChunkGrid.cellOf(chunkX >> SECTION_SHIFT, chunkZ >> SECTION_SHIFT),
+                  $ -> new ArrayList<>()
+            ).add(hologram);
+        }
+
+        for (List<Hologram> section : sections.values()) {
+            final Location location = section.get(0).getLocation();
+            engine.getScheduler().runAt(world, location.getBlockX() >> 4, location.getBlockZ() >> 4, () -> {
+                for (Hologram hologram : section)
+                    hologram.update(false);
+            });
+        }
+
+        if (!sweepVisibility) return;
+
+        // players are only checked against the holograms around them, on their own thread.
+        for (Player player : world.getPlayers()) {
+            if (player.hasMetadata("NPC")) continue;
+
+            engine.getScheduler().runFor(player, () -> {
+                final Location location = player.getLocation();
+                engine.updateVisibility(player, location, location);
+            });
+        }
     }
 
 }
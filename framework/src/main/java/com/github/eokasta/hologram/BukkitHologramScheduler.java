@@ -0,0 +1,52 @@
+package com.github.eokasta.hologram;
+
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class runs every hologram task on the main thread with the Bukkit scheduler.
+ *
+ * @see HologramScheduler
+ */
+@RequiredArgsConstructor
+public class BukkitHologramScheduler implements HologramScheduler {
+
+    private final Plugin plugin;
+
+    @NotNull
+    @Override
+    public Task runTimer(@NotNull Runnable task, long delay, long period) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period)::cancel;
+    }
+
+    @Override
+    public void run(@NotNull Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void runAt(@NotNull World world, int chunkX, int chunkZ, @NotNull Runnable task) {
+        if (Bukkit.isPrimaryThread())
+            task.run();
+        else
+            run(task);
+    }
+
+    @Override
+    public void runFor(@NotNull Player player, @NotNull Runnable task) {
+        run(() -> {
+            if (player.isOnline())
+                task.run();
+        });
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return false;
+    }
+
+}
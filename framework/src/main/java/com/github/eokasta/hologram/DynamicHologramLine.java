@@ -25,6 +25,11 @@ public abstract class DynamicHologramLine extends AbstractHologramLine {
         super(hologram, settings, height);
     }
 
+    @Override
+    protected boolean isDynamic() {
+        return function != null;
+    }
+
     @NotNull
     @SuppressWarnings("unchecked")
     protected final <T> T applyOrGetValue(@NotNull T value, @NotNull Player player) {
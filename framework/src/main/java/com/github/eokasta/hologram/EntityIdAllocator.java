@@ -0,0 +1,131 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.shared.EntityIdRanges;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is responsible for allocating the identifiers of client-side entities.<p></p>
+ *
+ * The identifiers come from a dense block below zero, far from the identifiers of real entities,
+ * and are recycled once released. Each copy of the framework takes its own block from
+ * {@link EntityIdRanges}, so relocated copies in other plugins never hand out the same identifiers.
+ * Since the block is dense, {@link EntityIdAllocator#indexOf(int)} can be used as an array index.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EntityIdAllocator {
+
+    /**
+     * The maximum amount of identifiers allocated at the same time.
+     */
+    public static final int CAPACITY = EntityIdRanges.RANGE_SIZE;
+
+    private static final AtomicInteger ALLOCATED = new AtomicInteger();
+    private static final Object FREE_LOCK = new Object();
+
+    private static final BitSet FREE = new BitSet();
+    private static int[] freeIds = new int[64];
+    private static volatile int freeCount;
+
+    /**
+     * Allocates an identifier, reusing a released one when possible.
+     *
+     * @return the entity identifier.
+     * @throws IllegalStateException if all identifiers of the block are in use.
+     */
+    public static int allocate() {
+        if (freeCount > 0) {
+            synchronized (FREE_LOCK) {
+                if (freeCount > 0) {
+                    final int entityId = freeIds[--freeCount];
+                    FREE.clear(indexOf(entityId));
+                    return entityId;
+                }
+            }
+        }
+
+        final int index = ALLOCATED.getAndIncrement();
+        if (index >= CAPACITY) {
+            ALLOCATED.decrementAndGet();
+            throw new IllegalStateException("All " + CAPACITY + " hologram entity ids are in use.");
+        }
+
+        return getFirstId() + index;
+    }
+
+    /**
+     * Releases an identifier so it can be reused. It must no longer be spawned for any player.
+     *
+     * @param entityId the entity identifier.
+     * @throws IllegalArgumentException if the identifier was not allocated here or was already released.
+     */
+    public static void release(int entityId) {
+        if (!contains(entityId))
+            throw new IllegalArgumentException("Entity id " + entityId + " was not allocated here.");
+
+        synchronized (FREE_LOCK) {
+            final int index = indexOf(entityId);
+            if (FREE.get(index))
+                throw new IllegalArgumentException("Entity id " + entityId + " was already released.");
+
+            FREE.set(index);
+            if (freeCount == freeIds.length)
+                freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+
+            freeIds[freeCount++] = entityId;
+        }
+    }
+
+    /**
+     * Checks if an identifier belongs to the allocated part of the block.
+     *
+     * @param entityId the entity identifier.
+     * @return <b>true</b> if the identifier may belong to a hologram.
+     */
+    public static boolean contains(int entityId) {
+        return entityId >= getFirstId() && entityId < getRangeEnd();
+    }
+
+    /**
+     * Gets the first identifier of the block of this copy of the framework.
+     *
+     * @return the first entity identifier.
+     */
+    public static int getFirstId() {
+        return Block.FIRST_ID;
+    }
+
+    /**
+     * Gets the end of the allocated part of the block, every identifier
+     * from the first one up to it was allocated by this class.
+     *
+     * @return the exclusive end of the allocated identifiers.
+     */
+    public static int getRangeEnd() {
+        return getFirstId() + ALLOCATED.get();
+    }
+
+    /**
+     * Gets the position of an identifier in the block, to be used as an array index.
+     *
+     * @param entityId the entity identifier.
+     * @return the index of the identifier, from <b>0</b>.
+     */
+    public static int indexOf(int entityId) {
+        return entityId - getFirstId();
+    }
+
+    /**
+     * The block is only taken when the first identifier is needed.
+     */
+    private static final class Block {
+
+        private static final int FIRST_ID = EntityIdRanges.getFirstId(EntityIdRanges.acquire());
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.github.eokasta.hologram;
 
 import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -11,15 +12,25 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
- * This class is the main composition of holographic lines.
+ * This class is the main composition of holographic lines.<p></p>
+ *
+ * The state of a hologram is guarded by its own lock, so it can be shown, hidden and updated
+ * from the thread of its region and from the threads of its viewers.
  *
  * @author Lucas Monteiro
  */
@@ -27,11 +38,30 @@ import java.util.stream.Collectors;
 @Getter
 public class Hologram {
 
-    private final Set<Player> invisibleTo = new HashSet<>();
-    private final Set<Player> hiddenTo = new HashSet<>();
+    /**
+     * The longest teleport duration the client accepts.
+     */
+    public static final int MAX_INTERPOLATION_TICKS = 59;
+
+    /**
+     * How many player updates of an unregistered hologram pass between drops of the players who left.
+     */
+    private static final int OFFLINE_SWEEP_UPDATES = 256;
+
+    /**
+     * Players are kept by their unique id, so holograms never keep players who left alive.
+     */
+    private final Set<UUID> invisibleTo = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> hiddenTo = ConcurrentHashMap.newKeySet();
+    /**
+     * The viewers by their unique id, they can be read from many threads, such as by the frame clock on
+     * region-threaded servers. Viewers are only weakly referenced and are resolved when packets are sent,
+     * so players who left without being invalidated, such as viewers of holograms with no registry, are
+     * never kept alive and are dropped by the next update that checks all players.
+     */
+    private final Map<UUID, WeakReference<Player>> viewers = new ConcurrentHashMap<>();
     private final List<AbstractHologramLine> lines;
 
-    @Setter
     private HologramInteractHandler interactHandler;
 
     @Setter
@@ -39,6 +69,67 @@ public class Hologram {
     private boolean spawned;
     private boolean destroyed;
 
+    @Getter(AccessLevel.NONE)
+    private HologramRenderer renderer;
+
+    /**
+     * The registry where this hologram is registered, if any.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private HologramRegistry registry;
+
+    /**
+     * The level of detail of this hologram, when null the settings of the registry are used.
+     */
+    @Setter
+    @Nullable
+    private HologramLodSettings lodSettings;
+
+    @Getter(AccessLevel.NONE)
+    private int updateCount;
+
+    /**
+     * Holograms with a higher priority are kept first when a player reaches the hologram budget.
+     *
+     * @see HologramBudgetSettings
+     */
+    @Setter
+    private int priority;
+
+    /**
+     * Decides which players can see this hologram, such as by permission, quest or team.
+     * The results are cached for each player.
+     */
+    @Nullable
+    private Predicate<Player> visibilityPredicate;
+
+    /**
+     * How long a result of the visibility predicate is kept, <b>0</b> keeps it until invalidated.
+     */
+    private long visibilityRefreshNanos;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, CachedVisibility> cachedVisibility = new ConcurrentHashMap<>();
+
+    /**
+     * How many ticks the client takes to move this hologram to each teleported location.
+     *
+     * @see Hologram#setInterpolationTicks(int)
+     */
+    private int interpolationTicks;
+
+    /**
+     * The world and chunk where this hologram is indexed by the engine, and the world of its partition.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private UUID gridWorldId;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private UUID partitionWorldId;
+    @Getter(AccessLevel.PACKAGE)
+    private long gridCell;
+
     /**
      * Gets the unmodifiable lines from hologram.
      *
@@ -49,6 +140,35 @@ public class Hologram {
         return Collections.unmodifiableList(lines);
     }
 
+    /**
+     * Gets the players who currently have the hologram spawned.
+     *
+     * @return unmodifiable copy of the online viewers of this hologram.
+     */
+    @NotNull
+    public Set<Player> getViewers() {
+        return Collections.unmodifiableSet(new HashSet<>(resolveViewers()));
+    }
+
+    /**
+     * Checks if a player currently has the hologram spawned, without copying the viewers.
+     *
+     * @param player the player.
+     * @return <b>true</b> if the player is a viewer of this hologram.
+     */
+    public boolean isViewer(@NotNull Player player) {
+        return viewers.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Checks if any player currently has the hologram spawned.
+     *
+     * @return <b>true</b> if this hologram has viewers.
+     */
+    public boolean hasViewers() {
+        return !viewers.isEmpty();
+    }
+
     /**
      * Gets the specific line by index.
      *
@@ -60,18 +180,102 @@ public class Hologram {
         return lines.get(index);
     }
 
+    /**
+     * Adds a line on top of the hologram.
+     *
+     * @param line the line to be added, created for this hologram.
+     */
+    public void addLine(@NotNull AbstractHologramLine line) {
+        insertLine(lines.size(), line);
+    }
+
+    /**
+     * Inserts a line in the hologram, the lines are indexed from the bottom to the top.<p></p>
+     *
+     * Viewers only receive the new line and a relative move for each line above it.
+     *
+     * @param index the index of the new line.
+     * @param line the line to be inserted, created for this hologram.
+     */
+    public synchronized void insertLine(int index, @NotNull AbstractHologramLine line) {
+        checkLine(line);
+        lines.add(index, line);
+
+        final HologramLineChanges changes = new HologramLineChanges();
+        changes.added(line);
+        applyLineChanges(index, changes);
+    }
+
+    /**
+     * Removes a line from the hologram, the lines are indexed from the bottom to the top.<p></p>
+     *
+     * Viewers only receive the destroy of the line and a relative move for each line above it.
+     *
+     * @param index the index of the line.
+     * @return the removed line.
+     */
+    @NotNull
+    public synchronized AbstractHologramLine removeLine(int index) {
+        final AbstractHologramLine line = lines.remove(index);
+
+        final HologramLineChanges changes = new HologramLineChanges();
+        changes.removed(line);
+        applyLineChanges(index, changes);
+        return line;
+    }
+
+    /**
+     * Replaces a line of the hologram, the lines are indexed from the bottom to the top.
+     *
+     * @param index the index of the line.
+     * @param line the new line, created for this hologram.
+     * @return the replaced line.
+     */
+    @NotNull
+    public synchronized AbstractHologramLine replaceLine(int index, @NotNull AbstractHologramLine line) {
+        checkLine(line);
+        final AbstractHologramLine previous = lines.set(index, line);
+
+        final HologramLineChanges changes = new HologramLineChanges();
+        changes.removed(previous);
+        changes.added(line);
+        applyLineChanges(index, changes);
+        return previous;
+    }
+
+    /**
+     * Moves a line of the hologram to another index, the lines are indexed from the bottom to the top.<p></p>
+     *
+     * Viewers only receive relative moves for the lines between both indexes.
+     *
+     * @param fromIndex the current index of the line.
+     * @param toIndex the new index of the line.
+     */
+    public synchronized void moveLine(int fromIndex, int toIndex) {
+        if (fromIndex == toIndex) {
+            if (fromIndex < 0 || fromIndex >= lines.size())
+                throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + lines.size());
+
+            return;
+        }
+
+        lines.add(toIndex, lines.remove(fromIndex));
+        applyLineChanges(Math.min(fromIndex, toIndex), new HologramLineChanges());
+    }
+
     /**
      * Shows all lines of the hologram to the player.
      *
      * @param player player who will see the hologram.
      */
-    public void show(@NotNull Player player) {
+    public synchronized void show(@NotNull Player player) {
         if (!spawned) return;
 
-        this.invisibleTo.remove(player);
-        this.hiddenTo.remove(player);
+        this.invisibleTo.remove(player.getUniqueId());
+        this.hiddenTo.remove(player.getUniqueId());
+        this.viewers.put(player.getUniqueId(), new WeakReference<>(player));
 
-        this.lines.forEach(line -> line.show(player));
+        getRenderer().show(player);
     }
 
     /**
@@ -79,9 +283,10 @@ public class Hologram {
      *
      * @param player player who will no longer see the hologram.
      */
-    public void hide(@NotNull Player player) {
-        this.lines.forEach(line -> line.hide(player));
-        this.hiddenTo.add(player);
+    public synchronized void hide(@NotNull Player player) {
+        getRenderer().hide(player);
+        this.hiddenTo.add(player.getUniqueId());
+        this.viewers.remove(player.getUniqueId());
     }
 
     /**
@@ -89,19 +294,95 @@ public class Hologram {
      *
      * @param player player who will no longer see the hologram.
      */
-    public void invisible(@NotNull Player player) {
-        this.lines.forEach(line -> line.hide(player));
-        this.invisibleTo.add(player);
+    public synchronized void invisible(@NotNull Player player) {
+        getRenderer().hide(player);
+        this.invisibleTo.add(player.getUniqueId());
+        this.viewers.remove(player.getUniqueId());
+    }
+
+    /**
+     * Sets the predicate that decides which players can see this hologram,
+     * its results are kept until invalidated.
+     *
+     * @param predicate the predicate or <b>null</b> to let every player see it.
+     * @see Hologram#invalidateVisibility(Player)
+     */
+    public void setVisibilityPredicate(@Nullable Predicate<Player> predicate) {
+        setVisibilityPredicate(predicate, 0, TimeUnit.MILLISECONDS);
     }
 
     /**
-     * Checks if the hologram is visible to the player.
+     * Sets the predicate that decides which players can see this hologram,
+     * its results are evaluated again after the refresh time or when invalidated.
+     *
+     * @param predicate the predicate or <b>null</b> to let every player see it.
+     * @param refresh how long a result is kept, <b>0</b> keeps it until invalidated.
+     * @param unit the unit of the refresh time.
+     */
+    public synchronized void setVisibilityPredicate(@Nullable Predicate<Player> predicate, long refresh, @NotNull TimeUnit unit) {
+        this.visibilityPredicate = predicate;
+        this.visibilityRefreshNanos = unit.toNanos(refresh);
+        invalidateVisibility();
+    }
+
+    /**
+     * Sets how many ticks the client takes to move this hologram to each location of
+     * {@link Hologram#teleportTo(Location)}, instead of moving it right away.<p></p>
+     *
+     * Moving holograms, such as on carts, can then be teleported once every this many ticks
+     * and still move smoothly, instead of being teleported on every tick. It only applies to
+     * holograms rendered as text displays on 1.20.2 or above, the others keep teleporting.
+     *
+     * @param ticks the interpolation duration, from <b>0</b>, which teleports right away, to <b>59</b>.
+     * @throws IllegalArgumentException if the duration is out of range.
+     * @see HologramProtocol#isDisplayInterpolationSupported()
+     */
+    public synchronized void setInterpolationTicks(int ticks) {
+        if (ticks < 0 || ticks > MAX_INTERPOLATION_TICKS)
+            throw new IllegalArgumentException("Interpolation ticks must be between 0 and " + MAX_INTERPOLATION_TICKS + ".");
+
+        if (ticks == interpolationTicks) return;
+
+        this.interpolationTicks = ticks;
+        if (renderer == null) return;
+
+        for (Player viewer : resolveViewers())
+            renderer.updateInterpolation(viewer);
+    }
+
+    /**
+     * Evaluates the visibility predicate again for a player, showing or hiding the hologram right away.
+     *
+     * @param player the player.
+     */
+    public synchronized void invalidateVisibility(@NotNull Player player) {
+        cachedVisibility.remove(player.getUniqueId());
+        if (!spawned || !Objects.equals(player.getWorld(), location.getWorld())) return;
+
+        if (!isVisibleTo(player)) {
+            exclude(player);
+            return;
+        }
+
+        updateVisibility(player, player.getLocation());
+    }
+
+    /**
+     * Evaluates the visibility predicate again for all players, on their next check.
+     */
+    public void invalidateVisibility() {
+        cachedVisibility.clear();
+    }
+
+    /**
+     * Checks if the hologram is visible to the player, which is when the player was
+     * not made invisible and passes the visibility predicate.
      *
      * @param player the player to be checked.
      * @return <b>true</b> if the hologram is visible to the player or <b>false</b> if not visible.
      */
     public boolean isVisibleTo(@NotNull Player player) {
-        return !invisibleTo.contains(player);
+        return !invisibleTo.contains(player.getUniqueId()) && testVisibility(player);
     }
 
     /**
@@ -111,7 +392,7 @@ public class Hologram {
      * @return <b>true</b> if the hologram is hidden from the player or <b>false</b> if not hidden.
      */
     public boolean isHiddenTo(@NotNull Player player) {
-        return hiddenTo.contains(player);
+        return hiddenTo.contains(player.getUniqueId());
     }
 
     /**
@@ -135,54 +416,130 @@ public class Hologram {
      * @return <b>true</b> if the player is within the range or <b>false</b> if not.
      */
     public boolean isInRange(@NotNull Player player) {
-        Objects.requireNonNull(location, "Hologram location cannot be null.");
-        final World locationWorld =
-              Objects.requireNonNull(location.getWorld(), "Hologram world cannot be null.");
-
-        if (!locationWorld.equals(player.getWorld())) return false;
+        return distanceSquared(player) <= getViewDistanceSquared();
+    }
 
-        final int viewDistance = HologramProtocol.isLegacyMinecraftVersion() ?
-              Bukkit.getViewDistance() * 500 :
-              locationWorld.getViewDistance() * 500;
+    /**
+     * Gets the level of detail of this hologram.
+     *
+     * @return the settings of this hologram, of its registry or the default ones.
+     */
+    @NotNull
+    public HologramLodSettings getLodSettings() {
+        if (lodSettings != null)
+            return lodSettings;
 
-        return location.distanceSquared(player.getLocation()) <= viewDistance;
+        return registry != null ? registry.getLodSettings() : HologramRegistry.DEFAULT_LOD_SETTINGS;
     }
 
     /**
      * Updates the hologram for all players, checking whether or not they can see it.
      */
     public void update() {
+        update(true);
+    }
+
+    /**
+     * Updates the hologram, refreshing the content for its viewers.
+     *
+     * @param sweepVisibility whether all players of the world are checked to show or hide the hologram,
+     *                        otherwise only the viewers are checked and new viewers come from their movement.
+     */
+    synchronized void update(boolean sweepVisibility) {
         if (!spawned) return;
 
         Objects.requireNonNull(location, "Hologram location cannot be null.");
 
-        for (Player player : getPlayersOnWorld()) {
-            final boolean inRange = isInRange(player);
-            final boolean visible = isVisibleTo(player);
-            final boolean hiddenTo = isHiddenTo(player);
+        final HologramLodSettings lodSettings = getLodSettings();
+        final double viewDistanceSquared = getViewDistanceSquared();
+        updateCount++;
+
+        if (sweepVisibility)
+            dropOfflinePlayers();
+
+        final List<Player> players = sweepVisibility ? getPlayersOnWorld() : resolveViewers();
+        for (Player player : players) {
+            // excluded players are skipped before any distance math.
+            if (!isVisibleTo(player)) {
+                exclude(player);
+                continue;
+            }
+
+            final double distanceSquared = distanceSquared(player);
+            final boolean viewing = viewers.containsKey(player.getUniqueId());
+
+            if (distanceSquared > viewDistanceSquared || !isWithinBudget(player, viewing)) {
+                if (viewing)
+                    hide(player);
 
-            if (!inRange && visible && !hiddenTo) {
-                hide(player);
                 continue;
             }
 
-            if (inRange && visible && hiddenTo) {
+            if (!viewing) {
                 show(player);
                 continue;
             }
 
-            if (inRange)
-                update(player);
+            switch (lodSettings.getTier(distanceSquared)) {
+                case NEAR:
+                    getRenderer().update(player);
+                    break;
+                case MID:
+                    if (isUpdateDue(player, lodSettings.getMidInterval()))
+                        getRenderer().update(player);
+                    break;
+                default:
+                    if (isUpdateDue(player, lodSettings.getFarInterval()))
+                        getRenderer().refresh(player);
+            }
+        }
+    }
+
+    /**
+     * Shows or hides the hologram for a player at a location, without refreshing its content.
+     *
+     * @param player the player.
+     * @param at the location of the player, which can be ahead of {@link Player#getLocation()}.
+     */
+    synchronized void updateVisibility(@NotNull Player player, @NotNull Location at) {
+        if (!spawned) return;
+
+        if (!isVisibleTo(player)) {
+            exclude(player);
+            return;
         }
+
+        final boolean viewing = viewers.containsKey(player.getUniqueId());
+        final boolean visible = distanceSquared(at) <= getViewDistanceSquared() && isWithinBudget(player, viewing);
+
+        if (visible && !viewing)
+            show(player);
+        else if (!visible && viewing)
+            hide(player);
+    }
+
+    /**
+     * Forgets that a player is viewing the hologram, without sending any packet,
+     * used when the client already dropped the entities.
+     *
+     * @param player the player.
+     */
+    synchronized void forgetViewer(@NotNull Player player) {
+        if (viewers.remove(player.getUniqueId()) != null)
+            getRenderer().invalidatePlayer(player);
     }
 
     /**
      * Updates the hologram for a specific player, checking whether or not they can see it.
      */
-    public void update(Player player) {
+    public synchronized void update(Player player) {
+        // registered holograms are swept by the engine, unregistered ones are only swept as they are updated.
+        if (registry == null && ++updateCount % OFFLINE_SWEEP_UPDATES == 0)
+            dropOfflinePlayers();
+
         if (!spawned || !canSee(player)) return;
 
-        lines.forEach(line -> line.update(player));
+        getRenderer().update(player);
     }
 
     /**
@@ -190,33 +547,46 @@ public class Hologram {
      *
      * @param location the location to be spawned.
      */
-    public void spawn(@NotNull Location location) {
+    public synchronized void spawn(@NotNull Location location) {
+        if (destroyed)
+            throw new IllegalStateException("Hologram already destroyed.");
+
         initializeLines(location);
 
         for (Player player : getPlayersOnWorld()) {
-            if (!isInRange(player))
+            if (!isVisibleTo(player) || !isInRange(player) || !isWithinBudget(player, false))
                 continue;
 
-            lines.forEach(line -> line.show(player));
+            getRenderer().show(player);
+            viewers.put(player.getUniqueId(), new WeakReference<>(player));
         }
 
-        this.location = location;
         this.spawned = true;
+
+        if (registry != null)
+            registry.getEngine().relocate(this);
     }
 
     /**
      * Completely destroys the hologram, removing it for all players.
      */
-    public void destroy() {
+    public synchronized void destroy() {
         if (destroyed)
             throw new IllegalStateException("Hologram already destroyed.");
 
-        getPlayersOnWorld().stream()
-              .filter(this::canSee)
-              .forEach(this::hide);
+        resolveViewers().forEach(this::hide);
 
+        this.viewers.clear();
         this.destroyed = true;
         this.spawned = false;
+
+        if (registry != null) {
+            lines.forEach(registry.getEngine()::unindexLine);
+            registry.getEngine().removeFromGrid(this);
+            registry.getEngine().markDestroyed(this);
+        }
+
+        release();
     }
 
     /**
@@ -224,19 +594,29 @@ public class Hologram {
      *
      * @param location the location the hologram will teleport to.
      */
-    public void teleportTo(@NotNull Location location) {
+    public synchronized void teleportTo(@NotNull Location location) {
         if (!spawned)
             throw new IllegalStateException("Hologram needs to be spawned to teleport.");
 
-        setLocation(location);
-        final Location clonedLocation = location.clone();
+        final World previousWorld = this.location.getWorld();
+        initializeLines(location);
 
-        getPlayersOnWorld().stream()
-              .filter(this::canSee)
-              .forEach(player -> {
-                  for (AbstractHologramLine line : lines)
-                      line.teleportTo(player, clonedLocation.add(0.0f, line.getHeight(), 0.0f).clone());
-              });
+        if (registry != null)
+            registry.getEngine().relocate(this);
+
+        if (!Objects.equals(previousWorld, location.getWorld())) {
+            resolveViewers().forEach(this::hide);
+            update();
+            return;
+        }
+
+        for (Player viewer : resolveViewers())
+            getRenderer().teleport(viewer);
+
+        if (registry == null) return;
+
+        for (Player player : getPlayersOnWorld())
+            updateVisibility(player, player.getLocation());
     }
 
     /**
@@ -244,24 +624,380 @@ public class Hologram {
      *
      * @param player the player who will be invalidated.
      */
-    protected void invalidatePlayer(@NotNull Player player) {
-        invisibleTo.remove(player);
-        hiddenTo.remove(player);
+    protected synchronized void invalidatePlayer(@NotNull Player player) {
+        invalidatePlayer(player.getUniqueId());
+    }
+
+    /**
+     * Completely invalidates a player from this hologram by unique id, such as a viewer whose player was collected.
+     *
+     * @param uniqueId the unique id of the player who will be invalidated.
+     */
+    protected synchronized void invalidatePlayer(@NotNull UUID uniqueId) {
+        cachedVisibility.remove(uniqueId);
+        invisibleTo.remove(uniqueId);
+        hiddenTo.remove(uniqueId);
+        viewers.remove(uniqueId);
+        getRenderer().invalidatePlayer(uniqueId);
+    }
+
+    /**
+     * Gets the estimated heap retained by this hologram, its lines and the state kept for its viewers.
+     *
+     * @return the memory usage of this hologram.
+     */
+    @NotNull
+    public HologramMemoryUsage getMemoryUsage() {
+        final HologramMemoryUsage usage = new HologramMemoryUsage();
+        estimateMemory(usage);
+        return usage;
+    }
+
+    /**
+     * Adds the estimated heap retained by this hologram, its lines and viewer states to a memory usage.
+     *
+     * @param usage the memory usage.
+     */
+    void estimateMemory(@NotNull HologramMemoryUsage usage) {
+        usage.addHologram(estimateBytes());
+        estimateViewerStates(usage);
+
+        for (AbstractHologramLine line : lines) {
+            usage.addLine(line.estimateBytes());
+            line.estimateViewerStates(usage);
+        }
+
+        if (renderer != null)
+            renderer.estimateViewerStates(usage);
+    }
+
+    /**
+     * Estimates the heap retained by this hologram, without its lines and the state kept for its viewers.
+     *
+     * @return the estimated bytes.
+     */
+    protected long estimateBytes() {
+        // the fields, the location, the lines list and the empty player collections.
+        return HologramMemoryUsage.OBJECT_BYTES + 16 * HologramMemoryUsage.REFERENCE_BYTES + 40
+              + HologramMemoryUsage.LOCATION_BYTES
+              + 2 * HologramMemoryUsage.OBJECT_BYTES + 16 + lines.size() * HologramMemoryUsage.REFERENCE_BYTES
+              + 4 * (2 * HologramMemoryUsage.OBJECT_BYTES + 32);
+    }
+
+    /**
+     * Adds the state kept for each player by this hologram, such as its viewers and cached visibilities.
+     *
+     * @param usage the memory usage.
+     */
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        usage.addViewerStates(invisibleTo.size() + hiddenTo.size(), HologramMemoryUsage.ENTRY_BYTES);
+
+        // each viewer also has its weak reference.
+        usage.addViewerStates(
+              viewers.size(),
+              HologramMemoryUsage.ENTRY_BYTES + HologramMemoryUsage.OBJECT_BYTES + 4 * HologramMemoryUsage.REFERENCE_BYTES
+        );
+        usage.addViewerStates(
+              cachedVisibility.size(),
+              HologramMemoryUsage.ENTRY_BYTES + HologramMemoryUsage.OBJECT_BYTES + 16
+        );
+    }
+
+    /**
+     * Releases the entity identifiers of the lines and the renderer once this hologram is destroyed.
+     */
+    void release() {
+        lines.forEach(AbstractHologramLine::release);
+        if (renderer != null)
+            renderer.release();
+    }
+
+    /**
+     * Clears a destroyed and unregistered hologram so it can be spawned again,
+     * keeping its lines and their entity identifiers.
+     */
+    synchronized void recycle() {
+        if (!destroyed || registry != null)
+            throw new IllegalStateException("Only destroyed and unregistered holograms can be recycled.");
+
+        invisibleTo.clear();
+        hiddenTo.clear();
+        viewers.clear();
+        cachedVisibility.clear();
+
+        setInteractHandler(null);
+        this.location = null;
+        this.spawned = false;
+        this.destroyed = false;
+        this.lodSettings = null;
+        this.updateCount = 0;
+        this.priority = 0;
+        this.visibilityPredicate = null;
+        this.visibilityRefreshNanos = 0;
+        this.interpolationTicks = 0;
+
+        if (renderer != null) {
+            renderer.release();
+            renderer = null;
+        }
+    }
+
+    /**
+     * Removes a viewer that can no longer see this hologram, without marking it as hidden.
+     */
+    synchronized void exclude(@NotNull Player player) {
+        if (viewers.remove(player.getUniqueId()) != null)
+            getRenderer().hide(player);
+    }
+
+    /**
+     * Invalidates the viewers, cached visibilities and hidden states of players who are no longer online.
+     */
+    private void dropOfflinePlayers() {
+        resolveViewers();
+
+        if (!cachedVisibility.isEmpty())
+            cachedVisibility.keySet().removeIf(uniqueId -> Bukkit.getPlayer(uniqueId) == null);
+
+        if (!hiddenTo.isEmpty())
+            hiddenTo.removeIf(uniqueId -> Bukkit.getPlayer(uniqueId) == null);
+
+        if (!invisibleTo.isEmpty())
+            invisibleTo.removeIf(uniqueId -> Bukkit.getPlayer(uniqueId) == null);
+    }
+
+    /**
+     * Resolves the viewers who are still online, viewers who went offline or whose player was
+     * collected are invalidated with the state kept for them by the lines and the renderer.
+     *
+     * @return a new list of the online viewers.
+     */
+    @NotNull
+    List<Player> resolveViewers() {
+        final List<Player> players = new ArrayList<>(viewers.size());
+        for (Map.Entry<UUID, WeakReference<Player>> entry : viewers.entrySet()) {
+            final Player viewer = entry.getValue().get();
+            if (viewer != null && viewer.isOnline())
+                players.add(viewer);
+            else if (viewers.remove(entry.getKey(), entry.getValue()))
+                invalidatePlayer(entry.getKey());
+        }
+
+        return players;
+    }
+
+    private boolean testVisibility(Player player) {
+        final Predicate<Player> predicate = this.visibilityPredicate;
+        if (predicate == null) return true;
+
+        final long now = visibilityRefreshNanos > 0 ? System.nanoTime() : 0;
+        final CachedVisibility cached = cachedVisibility.get(player.getUniqueId());
+        if (cached != null && (visibilityRefreshNanos <= 0 || now - cached.evaluatedAt < visibilityRefreshNanos))
+            return cached.visible;
+
+        final boolean visible = predicate.test(player);
+        cachedVisibility.put(player.getUniqueId(), new CachedVisibility(visible, now));
+        return visible;
+    }
+
+    double distanceSquared(@NotNull Player player) {
+        return distanceSquared(player.getLocation());
+    }
+
+    double distanceSquared(@NotNull Location target) {
+        Objects.requireNonNull(location, "Hologram location cannot be null.");
+        final World locationWorld =
+              Objects.requireNonNull(location.getWorld(), "Hologram world cannot be null.");
+
+        if (!locationWorld.equals(target.getWorld())) return Double.POSITIVE_INFINITY;
+
+        return location.distanceSquared(target);
+    }
+
+    double getViewDistanceSquared() {
+        return getViewDistanceSquared(Objects.requireNonNull(location.getWorld(), "Hologram world cannot be null."));
+    }
+
+    /**
+     * Gets the squared distance in which players see the holograms of a world.
+     *
+     * @param world the world.
+     * @return the squared view distance.
+     */
+    static double getViewDistanceSquared(@NotNull World world) {
+        return HologramProtocol.isLegacyMinecraftVersion() ?
+              Bukkit.getViewDistance() * 500 :
+              world.getViewDistance() * 500;
+    }
+
+    void setGridPosition(@Nullable UUID worldId, long cell) {
+        this.gridWorldId = worldId;
+        this.gridCell = cell;
+    }
+
+    /**
+     * Checks if the hologram fits the budget of the player, holograms that were not
+     * selected yet are admitted while the budget of the player is not full.
+     */
+    private boolean isWithinBudget(Player player, boolean viewing) {
+        if (registry == null) return true;
+
+        final HologramViewerBudget budget = registry.getEngine().getViewerBudget();
+        return budget.isAllowed(player, this) || (!viewing && budget.tryAdmit(player, this));
+    }
+
+    /**
+     * Checks if a reduced viewer should be updated now, the players are spread
+     * across the interval so they are not all updated in the same run.
+     */
+    private boolean isUpdateDue(Player player, int interval) {
+        return interval <= 1 || Math.floorMod(updateCount + player.getEntityId(), interval) == 0;
+    }
+
+    private void checkLine(AbstractHologramLine line) {
+        if (line.getHologram() != this)
+            throw new IllegalArgumentException("Hologram line was created for another hologram.");
+
+        if (line.isReleased())
+            throw new IllegalArgumentException("Hologram line was removed and cannot be used again.");
+
+        if (lines.contains(line))
+            throw new IllegalArgumentException("Hologram line is already in this hologram.");
+    }
+
+    /**
+     * Lays out the lines from an index again and sends the changes to the viewers,
+     * switching the renderer when the new lines need another one.
+     */
+    private void applyLineChanges(int fromIndex, HologramLineChanges changes) {
+        if (registry != null) {
+            for (AbstractHologramLine line : changes.getRemovedLines()) {
+                registry.getEngine().unindexLine(line);
+                registry.getFrameClock().removeLine(line);
+            }
+
+            for (AbstractHologramLine line : changes.getAddedLines()) {
+                registry.getEngine().indexLine(line);
+                registry.getFrameClock().addLine(line);
+            }
+        }
+
+        try {
+            sendLineChanges(fromIndex, changes);
+        } finally {
+            changes.getRemovedLines().forEach(AbstractHologramLine::release);
+        }
+    }
+
+    private void sendLineChanges(int fromIndex, HologramLineChanges changes) {
+        if (location == null) return;
+
+        if (renderer != null && needsNewRenderer()) {
+            final List<Player> viewers = resolveViewers();
+            for (Player viewer : viewers)
+                for (AbstractHologramLine line : changes.getRemovedLines())
+                    line.hide(viewer);
+
+            for (AbstractHologramLine line : changes.getRemovedLines())
+                viewers.forEach(line::invalidatePlayer);
+
+            initializeLines(location);
+            switchRenderer(viewers);
+            return;
+        }
+
+        Location lineLocation = fromIndex == 0 ? location.clone() : lines.get(fromIndex - 1).getLocation().clone();
+        for (int i = fromIndex; i < lines.size(); i++) {
+            final AbstractHologramLine line = lines.get(i);
+            lineLocation = lineLocation.add(0.0f, line.getHeight(), 0.0f).clone();
+
+            final Location previous = line.getLocation();
+            line.setLocation(lineLocation);
+
+            if (previous != null && !changes.isAdded(line) && !previous.equals(lineLocation))
+                changes.moved(line, previous, lineLocation);
+        }
+
+        if (renderer == null) return;
+
+        for (Player viewer : resolveViewers())
+            renderer.applyChanges(viewer, changes);
+    }
+
+    /**
+     * Sets the actions of this hologram. The renderer is checked again, as well as whenever the
+     * handler gains or loses actions, since holograms with actions must be rendered by clickable entities.
+     *
+     * @param interactHandler the handler or <b>null</b> to remove the actions.
+     */
+    public synchronized void setInteractHandler(@Nullable HologramInteractHandler interactHandler) {
+        if (this.interactHandler != null)
+            this.interactHandler.detach(this);
+
+        this.interactHandler = interactHandler;
+        if (interactHandler != null)
+            interactHandler.attach(this);
+
+        checkRenderer();
+    }
+
+    /**
+     * Switches the renderer of the viewers if the lines or the actions of this hologram now need another one.
+     */
+    synchronized void checkRenderer() {
+        if (renderer == null || location == null || !needsNewRenderer()) return;
+
+        switchRenderer(resolveViewers());
+    }
+
+    private void switchRenderer(List<Player> viewers) {
+        viewers.forEach(renderer::hide);
+
+        renderer.release();
+        this.renderer = HologramRenderer.create(this);
+        viewers.forEach(renderer::show);
+    }
+
+    private boolean needsNewRenderer() {
+        final boolean display = HologramProtocol.isDisplayEntitySupported() && TextDisplayHologramRenderer.isCompatible(this);
+        return display != renderer instanceof TextDisplayHologramRenderer;
     }
 
     private void initializeLines(Location initialLocation) {
         setLocation(initialLocation);
+
+        final Location lineLocation = initialLocation.clone();
         for (final AbstractHologramLine line : lines)
-            line.setLocation(initialLocation.add(0.0f, line.getHeight(), 0.0f).clone());
+            line.setLocation(lineLocation.add(0.0f, line.getHeight(), 0.0f).clone());
+    }
+
+    private HologramRenderer getRenderer() {
+        if (renderer == null)
+            renderer = HologramRenderer.create(this);
+
+        return renderer;
     }
 
-    private List<Player> getPlayersOnWorld() {
+    /**
+     * Gets the players of the world of this hologram who may see it, which are checked on spawn and updates.
+     *
+     * @return the candidate players.
+     */
+    @NotNull
+    List<Player> getPlayersOnWorld() {
         final World world = Objects.requireNonNull(location.getWorld(), "Hologram world cannot be null.");
 
-        return world.getEntities().stream()
-              .filter(entity -> entity instanceof Player && !entity.hasMetadata("NPC"))
-              .map(entity -> (Player) entity)
+        return world.getPlayers().stream()
+              .filter(player -> !player.hasMetadata("NPC"))
               .collect(Collectors.toList());
     }
 
+    @RequiredArgsConstructor
+    private static final class CachedVisibility {
+
+        private final boolean visible;
+        private final long evaluatedAt;
+
+    }
+
 }
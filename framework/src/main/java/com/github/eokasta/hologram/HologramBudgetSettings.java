@@ -0,0 +1,41 @@
+package com.github.eokasta.hologram;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of the per-player budget of holograms, which limits how many holograms
+ * and lines a client has spawned at the same time.<p></p>
+ *
+ * When a player is in range of more holograms than the budget allows, only the ones
+ * with the highest {@link Hologram#getPriority()} are shown, the closest ones first among equals.
+ * The holograms around a player are ranked again as the player moves or teleports.
+ *
+ * @see HologramRegistry#setBudgetSettings(HologramBudgetSettings)
+ */
+@Builder
+@Getter
+public class HologramBudgetSettings {
+
+    /**
+     * The maximum amount of holograms spawned for a player.
+     */
+    @Builder.Default
+    private final int maxHolograms = Integer.MAX_VALUE;
+
+    /**
+     * The maximum amount of hologram lines spawned for a player.
+     */
+    @Builder.Default
+    private final int maxLines = Integer.MAX_VALUE;
+
+    /**
+     * Checks if these settings limit anything.
+     *
+     * @return <b>true</b> if there is a limit of holograms or lines.
+     */
+    public boolean isLimited() {
+        return maxHolograms != Integer.MAX_VALUE || maxLines != Integer.MAX_VALUE;
+    }
+
+}
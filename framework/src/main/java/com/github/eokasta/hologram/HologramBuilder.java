@@ -3,11 +3,13 @@ package com.github.eokasta.hologram;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -84,6 +86,77 @@ public class HologramBuilder {
         return addLine(function, String.class);
     }
 
+    /**
+     * Adds a line of text compiled from a template, only its placeholders are resolved for each player.
+     *
+     * @param template the compiled template.
+     * @return this constructor.
+     * @see TemplateHologramLine
+     */
+    public HologramBuilder addTemplateLine(@NotNull HologramTemplate template) {
+        return addLine(template, HologramTemplate.class);
+    }
+
+    /**
+     * Adds a text line resolved asynchronously for each player.
+     *
+     * @param provider the provider of the text of each player.
+     * @param placeholder the text shown until the first text of a player is resolved.
+     * @return this constructor.
+     * @see AsyncTextHologramLine
+     */
+    public HologramBuilder addAsyncTextLine(
+          @NotNull Function<Player, CompletableFuture<String>> provider,
+          @NotNull String placeholder
+    ) {
+        return addLine(new AsyncText(provider, placeholder), AsyncText.class);
+    }
+
+    /**
+     * Adds a line with a floating item to the hologram.
+     *
+     * @param item the item to be added.
+     * @return this constructor.
+     * @see ItemHologramLine
+     */
+    public HologramBuilder addItemLine(@NotNull ItemStack item) {
+        return addLine(item.clone(), ItemStack.class);
+    }
+
+    /**
+     * Adds a dynamic item line to the hologram.
+     *
+     * @param function the dynamic line function for each player.
+     * @return this constructor.
+     * @see ItemHologramLine
+     */
+    public HologramBuilder addDynamicItemLine(@NotNull Function<Player, ItemStack> function) {
+        return addLine(function, ItemStack.class);
+    }
+
+    /**
+     * Adds a line with a floating player head to the hologram.
+     *
+     * @param owner the name of the head owner.
+     * @return this constructor.
+     * @see SkullHologramLine
+     */
+    public HologramBuilder addSkullLine(@NotNull String owner) {
+        return addLine(new SkullOwner(owner), SkullOwner.class);
+    }
+
+    /**
+     * Adds an animated line to the hologram.
+     *
+     * @param frames the texts of each frame.
+     * @param frameTicks how many ticks each frame is shown.
+     * @return this constructor.
+     * @see AnimatedHologramLine
+     */
+    public HologramBuilder addAnimatedLine(@NotNull List<String> frames, int frameTicks) {
+        return addLine(new AnimationFrames(frames, frameTicks), AnimationFrames.class);
+    }
+
     /**
      * Adds a empty line to the hologram.
      *
@@ -159,6 +232,8 @@ public class HologramBuilder {
         DynamicHologramLine dynamicHologramLine;
         if (type.equals(String.class))
             dynamicHologramLine = new TextHologramLine(hologram);
+        else if (type.equals(ItemStack.class))
+            dynamicHologramLine = new ItemHologramLine(hologram);
         else
             throw new IllegalArgumentException("Unsupported hologram type: " + type);
 
@@ -180,6 +255,28 @@ public class HologramBuilder {
             return line;
         }
 
+        if (value instanceof ItemStack) {
+            final ItemHologramLine line = new ItemHologramLine(hologram);
+            line.setItem((ItemStack) value);
+            return line;
+        }
+
+        if (value instanceof SkullOwner)
+            return new SkullHologramLine(hologram, ((SkullOwner) value).owner);
+
+        if (value instanceof AnimationFrames) {
+            final AnimationFrames animation = (AnimationFrames) value;
+            return new AnimatedHologramLine(hologram, animation.frames, animation.frameTicks);
+        }
+
+        if (value instanceof HologramTemplate)
+            return new TemplateHologramLine(hologram, (HologramTemplate) value);
+
+        if (value instanceof AsyncText) {
+            final AsyncText asyncText = (AsyncText) value;
+            return new AsyncTextHologramLine(hologram, asyncText.provider, asyncText.placeholder);
+        }
+
         throw new IllegalArgumentException("Unsupported hologram type: " + value.getClass().getName());
     }
 
@@ -191,4 +288,27 @@ public class HologramBuilder {
 
     }
 
+    @RequiredArgsConstructor
+    private static final class SkullOwner {
+
+        private final String owner;
+
+    }
+
+    @RequiredArgsConstructor
+    private static final class AnimationFrames {
+
+        private final List<String> frames;
+        private final int frameTicks;
+
+    }
+
+    @RequiredArgsConstructor
+    private static final class AsyncText {
+
+        private final Function<Player, CompletableFuture<String>> provider;
+        private final String placeholder;
+
+    }
+
 }
@@ -0,0 +1,79 @@
+package com.github.eokasta.hologram;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * This class indexes the holograms of a world by chunk, so the holograms
+ * near a player are found without iterating the whole world.<p></p>
+ *
+ * The grid can be read and changed from many threads, as region-threaded servers look up
+ * the holograms around each player on the thread that owns the player.
+ *
+ * @see HologramEngine
+ */
+final class HologramChunkGrid {
+
+    private final Map<Long, Set<Hologram>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the cell of a location.
+     *
+     * @param location the location.
+     * @return the key of the chunk of the location.
+     */
+    static long cellOf(@NotNull Location location) {
+        return cellOf(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    static long cellOf(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    void add(long cell, @NotNull Hologram hologram) {
+        cells.compute(cell, ($, holograms) -> {
+            if (holograms == null)
+                holograms = ConcurrentHashMap.newKeySet();
+
+            holograms.add(hologram);
+            return holograms;
+        });
+    }
+
+    void remove(long cell, @NotNull Hologram hologram) {
+        cells.computeIfPresent(cell, ($, holograms) -> {
+            holograms.remove(hologram);
+            return holograms.isEmpty() ? null : holograms;
+        });
+    }
+
+    boolean isEmpty() {
+        return cells.isEmpty();
+    }
+
+    /**
+     * Runs an action for every hologram in the chunks around a location.
+     *
+     * @param center the center location.
+     * @param chunkRadius the radius in chunks.
+     * @param action the action.
+     */
+    void forEachNear(@NotNull Location center, int chunkRadius, @NotNull Consumer<Hologram> action) {
+        final int centerX = center.getBlockX() >> 4;
+        final int centerZ = center.getBlockZ() >> 4;
+
+        for (int x = centerX - chunkRadius; x <= centerX + chunkRadius; x++) {
+            for (int z = centerZ - chunkRadius; z <= centerZ + chunkRadius; z++) {
+                final Set<Hologram> holograms = cells.get(cellOf(x, z));
+                if (holograms != null)
+                    holograms.forEach(action);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,802 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.shared.EntityIdRanges;
+import com.github.eokasta.hologram.shared.HologramHub;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.bukkit.plugin.ServicePriority;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class is the hologram engine of a copy of the framework, shared by every plugin that uses that copy.<p></p>
+ *
+ * The engine owns the spatial index of the holograms, the per-player state and the listeners,
+ * so the players are handled once no matter how many plugins use that copy. Each
+ * {@link HologramRegistry} is only the namespace of one plugin.<p></p>
+ *
+ * The engine is published in the {@link org.bukkit.plugin.ServicesManager} by the first plugin
+ * that creates a registry. When that plugin is disabled the engine is stopped and the registries of
+ * the remaining plugins are moved to a new engine run by one of them, see {@link #handOff(Plugin)}.<p></p>
+ *
+ * Plugins must shade this framework with relocation, so each relocated copy has its own engine and
+ * its classes are never used after its class loader is closed. The update loops and the interaction
+ * packets are still handled once for the whole server: every engine attaches to the single
+ * {@link HologramHub}, found under an interface that is not relocated, which ticks the engines and
+ * passes each click to the engine that owns the entity id range of the clicked entity.
+ *
+ * @see HologramRegistry
+ */
+public class HologramEngine {
+
+    private final Set<HologramRegistry> registries = new CopyOnWriteArraySet<>();
+    private final Set<Hologram> registeredHolograms = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Registered holograms partitioned by the unique id of their world.
+     */
+    private final Map<UUID, Set<Hologram>> worldPartitions = new ConcurrentHashMap<>();
+
+    /**
+     * Registered holograms that have no location yet, they are partitioned once spawned.
+     */
+    private final Set<Hologram> unplacedHolograms = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Destroyed holograms waiting to be unregistered by the update loop.
+     */
+    private final Queue<Hologram> destroyedHolograms = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Spawned holograms indexed by chunk, keyed by the unique id of their world.
+     */
+    private final Map<UUID, HologramChunkGrid> chunkGrids = new ConcurrentHashMap<>();
+
+    /**
+     * Registered private holograms indexed by the unique id of each player in their audience,
+     * they are kept out of the chunk grids so only their audience looks them up.
+     */
+    private final Map<UUID, Set<PrivateHologram>> privateHolograms = new ConcurrentHashMap<>();
+
+    /**
+     * Lines of the registered holograms indexed by {@link EntityIdAllocator#indexOf(int)}.
+     */
+    private volatile AtomicReferenceArray<AbstractHologramLine> linesById = new AtomicReferenceArray<>(64);
+
+    @Getter
+    private final HologramFrameClock frameClock = new HologramFrameClock(this);
+
+    @Getter
+    private final HologramInteractDispatcher interactDispatcher = new HologramInteractDispatcher(this);
+
+    @Getter(AccessLevel.PACKAGE)
+    private final HologramViewerBudget viewerBudget = new HologramViewerBudget();
+
+    /**
+     * Holograms are shown and hidden as players move, this is how many updates pass between
+     * checks of every player, which catch movements that fire no event, such as riding vehicles.
+     */
+    @Getter
+    @Setter
+    private int visibilitySweepInterval = 5;
+
+    private final long delay, period;
+    private final AutoUpdateHologramTask autoUpdateTask = new AutoUpdateHologramTask(this);
+    private final HubMember hubMember = new HubMember();
+    private HologramHub.Attachment attachment;
+    private Listener listener;
+
+    /**
+     * The scheduler of the plugin that currently runs this engine.
+     */
+    @Getter
+    private HologramScheduler scheduler;
+
+    /**
+     * The plugin that currently runs the tasks and listeners of this engine.
+     */
+    @Getter
+    private Plugin plugin;
+
+    private HologramEngine(long delay, long period) {
+        this.delay = delay;
+        this.period = period;
+    }
+
+    /**
+     * Gets the engine of the server, creating and publishing it if there is none yet.<p></p>
+     *
+     * The delay and period of the update loop are only used when the engine is created.
+     *
+     * @param plugin the plugin that asks for the engine.
+     * @param delay the delay to start the update loop.
+     * @param period the period between each update.
+     * @return the shared {@link HologramEngine}.
+     */
+    @NotNull
+    public static synchronized HologramEngine get(@NotNull Plugin plugin, long delay, long period) {
+        final RegisteredServiceProvider<HologramEngine> registration =
+              Bukkit.getServicesManager().getRegistration(HologramEngine.class);
+
+        if (registration != null) {
+            if (registration.getPlugin().isEnabled())
+                return registration.getProvider();
+
+            // the disable event of the running plugin was not handled yet, so the engine is handed off now.
+            registration.getProvider().handleDisable(registration.getPlugin());
+
+            final RegisteredServiceProvider<HologramEngine> successor =
+                  Bukkit.getServicesManager().getRegistration(HologramEngine.class);
+            if (successor != null && successor.getPlugin().isEnabled())
+                return successor.getProvider();
+        }
+
+        final HologramEngine engine = new HologramEngine(delay, period);
+        engine.start(plugin);
+        return engine;
+    }
+
+    /**
+     * Gets the registries of all plugins that use this engine.
+     *
+     * @return unmodifiable registries.
+     */
+    @NotNull
+    public Collection<HologramRegistry> getRegistries() {
+        return Collections.unmodifiableSet(registries);
+    }
+
+    /**
+     * Gets the registered holograms of all plugins.
+     *
+     * @return unmodifiable holograms.
+     */
+    @NotNull
+    public Collection<Hologram> getHolograms() {
+        return Collections.unmodifiableSet(registeredHolograms);
+    }
+
+    /**
+     * Gets the estimated heap retained by the registered holograms of all plugins,
+     * including the private holograms indexed for each player.
+     *
+     * @return the memory usage of this engine.
+     */
+    @NotNull
+    public HologramMemoryUsage getMemoryUsage() {
+        final HologramMemoryUsage usage = new HologramMemoryUsage();
+        for (Hologram hologram : registeredHolograms)
+            hologram.estimateMemory(usage);
+
+        for (Set<PrivateHologram> holograms : privateHolograms.values())
+            usage.addViewerStates(holograms.size(), HologramMemoryUsage.ENTRY_BYTES);
+
+        return usage;
+    }
+
+    /**
+     * Gets the registered holograms of all plugins located in a world.
+     *
+     * @param world the world of the holograms.
+     * @return unmodifiable holograms from the world partition.
+     */
+    @NotNull
+    public Collection<Hologram> getHolograms(@NotNull World world) {
+        final Set<Hologram> partition = worldPartitions.get(world.getUID());
+        if (partition == null)
+            return Collections.emptySet();
+
+        return Collections.unmodifiableSet(partition);
+    }
+
+    /**
+     * Gets a line of the registered holograms by its entity identify, it can
+     * be called from any thread and does not iterate the holograms.
+     *
+     * @param entityId the entity identify of the line.
+     * @return the line or <b>null</b> if no registered hologram has it.
+     */
+    @Nullable
+    public AbstractHologramLine getHologramLine(int entityId) {
+        if (!EntityIdAllocator.contains(entityId)) return null;
+
+        final AtomicReferenceArray<AbstractHologramLine> linesById = this.linesById;
+        final int index = EntityIdAllocator.indexOf(entityId);
+        return index < linesById.length() ? linesById.get(index) : null;
+    }
+
+    private void handleClick(Player player, int entityId, HologramInteractAction action) {
+        final AbstractHologramLine line = getHologramLine(entityId);
+        if (line != null)
+            interactDispatcher.dispatch(new HologramInteractContext(player, line, action));
+    }
+
+    void addRegistry(@NotNull HologramRegistry registry) {
+        registries.add(registry);
+    }
+
+    void removeRegistry(@NotNull HologramRegistry registry) {
+        registries.remove(registry);
+    }
+
+    /**
+     * Indexes a hologram registered by a registry.
+     *
+     * @param hologram the hologram.
+     */
+    void register(@NotNull Hologram hologram) {
+        synchronized (hologram) {
+            if (!this.registeredHolograms.add(hologram)) return;
+
+            hologram.getLines().forEach(this::indexLine);
+            this.frameClock.add(hologram);
+
+            if (hologram instanceof PrivateHologram) {
+                final PrivateHologram privateHologram = (PrivateHologram) hologram;
+                for (UUID uniqueId : privateHologram.getAudience())
+                    addAudience(privateHologram, uniqueId);
+            }
+
+            placeInPartition(hologram);
+            placeInGrid(hologram);
+        }
+    }
+
+    /**
+     * Removes a hologram unregistered by a registry from the index.
+     *
+     * @param hologram the hologram.
+     */
+    void unregister(@NotNull Hologram hologram) {
+        synchronized (hologram) {
+            if (!this.registeredHolograms.remove(hologram)) return;
+
+            hologram.getLines().forEach(this::unindexLine);
+            this.frameClock.remove(hologram);
+            removeFromGrid(hologram);
+
+            if (hologram instanceof PrivateHologram) {
+                final PrivateHologram privateHologram = (PrivateHologram) hologram;
+                for (UUID uniqueId : privateHologram.getAudience())
+                    removeAudience(privateHologram, uniqueId);
+            }
+
+            removeFromPartition(hologram);
+        }
+    }
+
+    /**
+     * Unregisters a hologram from its registry, which also removes it from this engine.
+     *
+     * @param hologram the hologram.
+     */
+    void unregisterFromRegistry(@NotNull Hologram hologram) {
+        final HologramRegistry registry = hologram.getRegistry();
+        if (registry != null)
+            registry.unregisterHologram(hologram);
+        else
+            unregister(hologram);
+    }
+
+    /**
+     * Indexes a private hologram for a player of its audience.
+     *
+     * @param hologram the private hologram.
+     * @param uniqueId the unique id of the player.
+     */
+    void addAudience(@NotNull PrivateHologram hologram, @NotNull UUID uniqueId) {
+        privateHolograms.compute(uniqueId, ($, holograms) -> {
+            if (holograms == null)
+                holograms = ConcurrentHashMap.newKeySet();
+
+            holograms.add(hologram);
+            return holograms;
+        });
+    }
+
+    /**
+     * Removes a private hologram from the index of a player.
+     *
+     * @param hologram the private hologram.
+     * @param uniqueId the unique id of the player.
+     */
+    void removeAudience(@NotNull PrivateHologram hologram, @NotNull UUID uniqueId) {
+        privateHolograms.computeIfPresent(uniqueId, ($, holograms) -> {
+            holograms.remove(hologram);
+            return holograms.isEmpty() ? null : holograms;
+        });
+    }
+
+    /**
+     * Gets the world partitions of this engine, keyed by the unique id of the world.
+     *
+     * @return the mutable world partitions.
+     */
+    @NotNull
+    Map<UUID, Set<Hologram>> getWorldPartitions() {
+        return worldPartitions;
+    }
+
+    /**
+     * Moves a hologram that was spawned or teleported to the partition and chunk of its new location.
+     *
+     * @param hologram the hologram.
+     */
+    void relocate(@NotNull Hologram hologram) {
+        if (!registeredHolograms.contains(hologram)) return;
+
+        placeInPartition(hologram);
+        placeInGrid(hologram);
+    }
+
+    /**
+     * Queues a destroyed hologram to be unregistered by the next update, even if its world has no players.
+     *
+     * @param hologram the destroyed hologram.
+     */
+    void markDestroyed(@NotNull Hologram hologram) {
+        destroyedHolograms.add(hologram);
+    }
+
+    /**
+     * Unregisters the holograms destroyed since the last update.
+     */
+    void unregisterDestroyed() {
+        Hologram hologram;
+        while ((hologram = destroyedHolograms.poll()) != null) {
+            // the hologram may have been recycled and registered again since.
+            if (hologram.isDestroyed())
+                unregisterFromRegistry(hologram);
+        }
+    }
+
+    /**
+     * Releases the partition of a world, unregistering all of its holograms.
+     *
+     * @param worldId the unique id of the world.
+     */
+    void releasePartition(@NotNull UUID worldId) {
+        final Set<Hologram> partition = worldPartitions.get(worldId);
+        if (partition == null) return;
+
+        for (Hologram hologram : new ArrayList<>(partition))
+            unregisterFromRegistry(hologram);
+
+        worldPartitions.remove(worldId);
+        chunkGrids.remove(worldId);
+    }
+
+    /**
+     * Indexes a line by its entity identify, growing the index when needed.
+     *
+     * @param line the line to be indexed.
+     */
+    void indexLine(@NotNull AbstractHologramLine line) {
+        final int index = EntityIdAllocator.indexOf(line.getEntityId());
+
+        AtomicReferenceArray<AbstractHologramLine> linesById = this.linesById;
+        if (index >= linesById.length()) {
+            int length = linesById.length();
+            while (length <= index)
+                length <<= 1;
+
+            final AtomicReferenceArray<AbstractHologramLine> grown = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < linesById.length(); i++)
+                grown.set(i, linesById.get(i));
+
+            this.linesById = linesById = grown;
+        }
+
+        linesById.set(index, line);
+    }
+
+    /**
+     * Removes a line from the index, if the identify was not reused by another line yet.
+     *
+     * @param line the line to be removed.
+     */
+    void unindexLine(@NotNull AbstractHologramLine line) {
+        final AtomicReferenceArray<AbstractHologramLine> linesById = this.linesById;
+        final int index = EntityIdAllocator.indexOf(line.getEntityId());
+        if (index < linesById.length())
+            linesById.compareAndSet(index, line, null);
+    }
+
+    /**
+     * Indexes a hologram in the chunk grid of its world, moving it if its location changed.
+     *
+     * @param hologram the hologram to be indexed.
+     */
+    void placeInGrid(@NotNull Hologram hologram) {
+        if (hologram instanceof PrivateHologram) return;
+
+        final UUID worldId = hologram.isSpawned() ? getWorldId(hologram) : null;
+        final long cell = worldId == null ? 0 : HologramChunkGrid.cellOf(hologram.getLocation());
+        if (Objects.equals(worldId, hologram.getGridWorldId()) && cell == hologram.getGridCell()) return;
+
+        removeFromGrid(hologram);
+        if (worldId == null) return;
+
+        chunkGrids.compute(worldId, ($, grid) -> {
+            if (grid == null)
+                grid = new HologramChunkGrid();
+
+            grid.add(cell, hologram);
+            return grid;
+        });
+        hologram.setGridPosition(worldId, cell);
+    }
+
+    /**
+     * Removes a hologram from the chunk grid of its world.
+     *
+     * @param hologram the hologram to be removed.
+     */
+    void removeFromGrid(@NotNull Hologram hologram) {
+        final UUID worldId = hologram.getGridWorldId();
+        if (worldId == null) return;
+
+        chunkGrids.computeIfPresent(worldId, ($, grid) -> {
+            grid.remove(hologram.getGridCell(), hologram);
+            return grid.isEmpty() ? null : grid;
+        });
+
+        hologram.setGridPosition(null, 0);
+    }
+
+    /**
+     * Shows or hides the holograms near a location for a player.
+     *
+     * @param player the player.
+     * @param around the location around which holograms are checked.
+     * @param at the location of the player.
+     */
+    void updateVisibility(@NotNull Player player, @NotNull Location around, @NotNull Location at) {
+        final World world = around.getWorld();
+        if (world == null) return;
+
+        final Set<PrivateHologram> holograms = privateHolograms.get(player.getUniqueId());
+        if (holograms != null)
+            for (PrivateHologram hologram : holograms)
+                hologram.updateVisibility(player, at);
+
+        final HologramChunkGrid grid = chunkGrids.get(world.getUID());
+        if (grid == null) return;
+
+        grid.forEachNear(around, chunkRadius(world), hologram -> hologram.updateVisibility(player, at));
+    }
+
+    /**
+     * Ranks the holograms near a player again under the viewer budget, before their visibility is updated.
+     *
+     * @param player the player.
+     * @param at the location of the player.
+     * @param force whether the holograms are ranked even if the player barely moved since the last ranking.
+     */
+    void rankBudget(@NotNull Player player, @NotNull Location at, boolean force) {
+        if (!viewerBudget.isLimited()) return;
+
+        final World world = at.getWorld();
+        if (world == null) return;
+
+        final List<Hologram> nearby = new ArrayList<>();
+        final HologramChunkGrid grid = chunkGrids.get(world.getUID());
+        if (grid != null)
+            grid.forEachNear(at, chunkRadius(world), nearby::add);
+
+        // private holograms are kept out of the grid, they compete for the budget of their audience too.
+        final Set<PrivateHologram> holograms = privateHolograms.get(player.getUniqueId());
+        if (holograms != null)
+            nearby.addAll(holograms);
+
+        viewerBudget.rank(player, at, nearby, force);
+    }
+
+    /**
+     * Moves a player to a location, ranking and showing or hiding the holograms around it.
+     */
+    private void refresh(Player player, Location at, boolean force) {
+        rankBudget(player, at, force);
+        updateVisibility(player, at, at);
+    }
+
+    /**
+     * Gets how many chunks around a location hold holograms that can be seen from it,
+     * one more chunk, so holograms that just left the range are hidden.
+     */
+    private static int chunkRadius(World world) {
+        return (int) Math.ceil(Math.sqrt(Hologram.getViewDistanceSquared(world)) / 16) + 1;
+    }
+
+    /**
+     * Moves a hologram to the partition of its world, or to the unplaced holograms when it has no world.
+     */
+    private void placeInPartition(Hologram hologram) {
+        synchronized (hologram) {
+            final UUID worldId = getWorldId(hologram);
+            if (worldId != null && worldId.equals(hologram.getPartitionWorldId())) return;
+
+            removeFromPartition(hologram);
+            if (worldId == null) {
+                unplacedHolograms.add(hologram);
+                return;
+            }
+
+            worldPartitions.compute(worldId, ($, partition) -> {
+                if (partition == null)
+                    partition = ConcurrentHashMap.newKeySet();
+
+                partition.add(hologram);
+                return partition;
+            });
+            hologram.setPartitionWorldId(worldId);
+        }
+    }
+
+    private void removeFromPartition(Hologram hologram) {
+        synchronized (hologram) {
+            final UUID worldId = hologram.getPartitionWorldId();
+            if (worldId == null) {
+                unplacedHolograms.remove(hologram);
+                return;
+            }
+
+            worldPartitions.computeIfPresent(worldId, ($, partition) -> {
+                partition.remove(hologram);
+                return partition.isEmpty() ? null : partition;
+            });
+            hologram.setPartitionWorldId(null);
+        }
+    }
+
+    @Nullable
+    private static UUID getWorldId(@NotNull Hologram hologram) {
+        final Location location = hologram.getLocation();
+        if (location == null || location.getWorld() == null)
+            return null;
+
+        return location.getWorld().getUID();
+    }
+
+    private void start(@NotNull Plugin owner) {
+        this.plugin = owner;
+        this.scheduler = HologramScheduler.create(owner);
+
+        this.attachment = HologramHubService.join(hubMember);
+
+        this.listener = new EngineListener();
+        Bukkit.getPluginManager().registerEvents(listener, owner);
+        Bukkit.getServicesManager().register(HologramEngine.class, this, owner, ServicePriority.Normal);
+    }
+
+    private void stop() {
+        attachment.detach();
+        attachment = null;
+
+        HandlerList.unregisterAll(listener);
+        Bukkit.getServicesManager().unregister(HologramEngine.class, this);
+    }
+
+    /**
+     * Closes the registries of a disabled plugin and hands this engine
+     * off if the disabled one was running it.
+     */
+    private void handleDisable(Plugin disabled) {
+        for (HologramRegistry registry : new ArrayList<>(registries))
+            if (registry.getPlugin().equals(disabled))
+                registry.close();
+
+        if (!disabled.equals(plugin)) return;
+
+        synchronized (HologramEngine.class) {
+            if (attachment == null) return;
+
+            handOff(disabled);
+        }
+    }
+
+    /**
+     * Stops this engine and moves the remaining registries to a new engine run by one of their plugins.<p></p>
+     *
+     * The new engine is created from the classes of this engine, which is only safe if they were not
+     * defined by the disabled plugin, as the class loader of a disabled plugin is closed and cannot load
+     * the classes it has not loaded yet. Otherwise the remaining registries are closed.
+     *
+     * @param disabled the disabled plugin that was running this engine.
+     */
+    private void handOff(Plugin disabled) {
+        stop();
+
+        final List<HologramRegistry> remaining = new ArrayList<>(registries);
+        final Plugin successorPlugin = remaining.stream()
+              .map(HologramRegistry::getPlugin)
+              .filter(Plugin::isEnabled)
+              .findFirst()
+              .orElse(null);
+
+        if (successorPlugin == null) {
+            remaining.forEach(HologramRegistry::close);
+            return;
+        }
+
+        if (HologramEngine.class.getClassLoader() == disabled.getClass().getClassLoader()) {
+            Bukkit.getLogger().warning("The hologram engine of " + disabled.getName() + " cannot be handed off to "
+                  + successorPlugin.getName() + ", the framework must be relocated when shaded.");
+
+            remaining.forEach(HologramRegistry::close);
+            return;
+        }
+
+        final HologramEngine successor = new HologramEngine(delay, period);
+        successor.visibilitySweepInterval = visibilitySweepInterval;
+        successor.viewerBudget.setSettings(viewerBudget.getSettings());
+        successor.interactDispatcher.setSettings(interactDispatcher.getSettings());
+        successor.start(successorPlugin);
+
+        for (HologramRegistry registry : remaining)
+            registry.moveTo(successor);
+    }
+
+    /**
+     * The link of this engine to the {@link HologramHub}, which runs its update loops and passes it the clicks.
+     */
+    private final class HubMember implements HologramHub.Member {
+
+        private long ticks;
+
+        @NotNull
+        @Override
+        public Plugin getPlugin() {
+            return plugin;
+        }
+
+        @Override
+        public int getEntityIdRange() {
+            return EntityIdRanges.rangeOf(EntityIdAllocator.getFirstId());
+        }
+
+        @Override
+        public void tick() {
+            frameClock.run();
+
+            final long elapsed = ticks++ - Math.max(0, delay);
+            if (elapsed >= 0 && elapsed % Math.max(1, period) == 0)
+                autoUpdateTask.run();
+        }
+
+        @Override
+        public void click(@NotNull Player player, int entityId, boolean attack) {
+            handleClick(player, entityId, attack ? HologramInteractAction.LEFT_CLICK : HologramInteractAction.RIGHT_CLICK);
+        }
+
+        @Override
+        public void detached() {
+            synchronized (HologramEngine.class) {
+                // engines of disabled plugins are handed off by their own disable event.
+                if (attachment != null && plugin.isEnabled())
+                    attachment = HologramHubService.join(this);
+            }
+        }
+
+    }
+
+    final class EngineListener implements Listener {
+
+        @EventHandler
+        public void onJoin(PlayerJoinEvent event) {
+            final Player player = event.getPlayer();
+            refresh(player, player.getLocation(), true);
+        }
+
+        @EventHandler
+        public void onWorldChange(PlayerChangedWorldEvent event) {
+            final Player player = event.getPlayer();
+
+            // the client drops every entity of the previous world.
+            for (Hologram hologram : getHolograms(event.getFrom()))
+                hologram.forgetViewer(player);
+
+            refresh(player, player.getLocation(), true);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onMove(PlayerMoveEvent event) {
+            if (event instanceof PlayerTeleportEvent) return;
+
+            final Location from = event.getFrom();
+            final Location to = event.getTo();
+            if (to == null || !Objects.equals(from.getWorld(), to.getWorld())) return;
+
+            if (from.getBlockX() == to.getBlockX()
+                  && from.getBlockY() == to.getBlockY()
+                  && from.getBlockZ() == to.getBlockZ())
+                return;
+
+            refresh(event.getPlayer(), to, false);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onTeleport(PlayerTeleportEvent event) {
+            final Location from = event.getFrom();
+            final Location to = event.getTo();
+            if (to == null || !Objects.equals(from.getWorld(), to.getWorld())) return;
+
+            rankBudget(event.getPlayer(), to, true);
+            updateVisibility(event.getPlayer(), from, to);
+            updateVisibility(event.getPlayer(), to, to);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onRespawn(PlayerRespawnEvent event) {
+            final Player player = event.getPlayer();
+
+            // the client drops every entity on respawn, the new location is only applied after the event.
+            scheduler.runFor(player, () -> {
+                for (Hologram hologram : getHolograms())
+                    hologram.forgetViewer(player);
+
+                refresh(player, player.getLocation(), true);
+            });
+        }
+
+        @EventHandler
+        public void onQuit(PlayerQuitEvent event) {
+            final Player player = event.getPlayer();
+
+            for (Hologram hologram : getHolograms())
+                hologram.invalidatePlayer(player);
+
+            final Set<PrivateHologram> holograms = privateHolograms.remove(player.getUniqueId());
+            if (holograms != null)
+                holograms.forEach(hologram -> hologram.forgetAudience(player.getUniqueId()));
+
+            interactDispatcher.invalidatePlayer(player);
+            viewerBudget.invalidatePlayer(player);
+        }
+
+        @EventHandler(ignoreCancelled = true)
+        public void onWorldUnload(WorldUnloadEvent event) {
+            releasePartition(event.getWorld().getUID());
+        }
+
+        @EventHandler
+        public void onPluginDisable(PluginDisableEvent event) {
+            handleDisable(event.getPlugin());
+        }
+
+    }
+
+}
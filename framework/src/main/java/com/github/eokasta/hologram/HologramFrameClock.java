@@ -0,0 +1,73 @@
+package com.github.eokasta.hologram;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is the shared clock of the {@link AnimatedHologramLine}s of the engine,
+ * the hub runs it every tick and it lets each line send its frame changes to all its viewers at once.
+ *
+ * @see AnimatedHologramLine
+ */
+@RequiredArgsConstructor
+public class HologramFrameClock implements Runnable {
+
+    private final HologramEngine engine;
+    private final Set<AnimatedHologramLine> lines = ConcurrentHashMap.newKeySet();
+
+    @Getter
+    private long tick;
+
+    @Override
+    public void run() {
+        tick++;
+
+        for (AnimatedHologramLine line : lines)
+            line.tick(tick);
+    }
+
+    /**
+     * Adds the animated lines of a hologram to this clock.
+     *
+     * @param hologram the hologram.
+     */
+    void add(@NotNull Hologram hologram) {
+        for (AbstractHologramLine line : hologram.getLines())
+            addLine(line);
+    }
+
+    /**
+     * Adds a line to this clock if it is animated.
+     *
+     * @param line the line.
+     */
+    void addLine(@NotNull AbstractHologramLine line) {
+        if (line instanceof AnimatedHologramLine)
+            lines.add((AnimatedHologramLine) line);
+    }
+
+    /**
+     * Removes a line from this clock.
+     *
+     * @param line the line.
+     */
+    void removeLine(@NotNull AbstractHologramLine line) {
+        if (line instanceof AnimatedHologramLine)
+            lines.remove(line);
+    }
+
+    /**
+     * Removes the animated lines of a hologram from this clock.
+     *
+     * @param hologram the hologram.
+     */
+    void remove(@NotNull Hologram hologram) {
+        for (AbstractHologramLine line : hologram.getLines())
+            removeLine(line);
+    }
+
+}
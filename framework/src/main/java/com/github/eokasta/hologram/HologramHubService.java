@@ -0,0 +1,168 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramClickListener;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import com.github.eokasta.hologram.shared.EntityIdRanges;
+import com.github.eokasta.hologram.shared.HologramHub;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.bukkit.plugin.ServicePriority;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+
+/**
+ * This class is the {@link HologramHub} created by this copy of the framework.<p></p>
+ *
+ * It runs a single tick timer and a single click listener for the members of every copy,
+ * a click is passed to the member that owns the entity id range of the clicked entity.
+ * Every change to the hubs of the server is made under the lock of {@link HologramHub},
+ * which is the same class for all copies.
+ */
+final class HologramHubService implements HologramHub, Listener {
+
+    private final Plugin plugin;
+    private final AtomicReferenceArray<Member> members = new AtomicReferenceArray<>(EntityIdRanges.RANGE_COUNT);
+    private final HologramClickListener clickListener = this::click;
+
+    private HologramScheduler.Task task;
+    private int memberCount;
+
+    private HologramHubService(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Attaches a member to the hub of the server, creating and publishing a hub if there is none yet.
+     *
+     * @param member the member to be attached.
+     * @return the attachment of the member.
+     */
+    @NotNull
+    static Attachment join(@NotNull Member member) {
+        synchronized (HologramHub.class) {
+            final RegisteredServiceProvider<HologramHub> registration =
+                  Bukkit.getServicesManager().getRegistration(HologramHub.class);
+
+            if (registration != null) {
+                if (registration.getPlugin().isEnabled())
+                    return registration.getProvider().attach(member);
+
+                // the disable event of the running plugin was not handled yet, that hub detaches its members then.
+                Bukkit.getServicesManager().unregister(HologramHub.class, registration.getProvider());
+            }
+
+            final HologramHubService hub = new HologramHubService(member.getPlugin());
+            hub.start();
+            return hub.attach(member);
+        }
+    }
+
+    @NotNull
+    @Override
+    public Attachment attach(@NotNull Member member) {
+        final int range = member.getEntityIdRange();
+
+        synchronized (HologramHub.class) {
+            if (task == null)
+                throw new IllegalStateException("Hologram hub of " + plugin.getName() + " was stopped.");
+
+            final Member previous = members.get(range);
+            if (previous == member) return () -> detach(member);
+
+            if (previous != null)
+                throw new IllegalStateException("Entity id range " + range + " is already attached by "
+                      + previous.getPlugin().getName() + ".");
+
+            members.set(range, member);
+            memberCount++;
+        }
+
+        return () -> detach(member);
+    }
+
+    @NotNull
+    @Override
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    private void detach(Member member) {
+        synchronized (HologramHub.class) {
+            if (!members.compareAndSet(member.getEntityIdRange(), member, null)) return;
+
+            if (--memberCount == 0 && task != null)
+                stop();
+        }
+    }
+
+    private void start() {
+        this.task = HologramScheduler.create(plugin).runTimer(this::tick, 1L, 1L);
+        HologramProtocol.registerInteractListener(plugin, clickListener);
+
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        Bukkit.getServicesManager().register(HologramHub.class, this, plugin, ServicePriority.Normal);
+    }
+
+    private void stop() {
+        task.cancel();
+        task = null;
+
+        HologramProtocol.unregisterInteractListener(clickListener);
+        HandlerList.unregisterAll(this);
+        Bukkit.getServicesManager().unregister(HologramHub.class, this);
+    }
+
+    private void tick() {
+        for (int range = 0; range < members.length(); range++) {
+            final Member member = members.get(range);
+            if (member == null) continue;
+
+            // a failing copy must not stop the holograms of the others.
+            try {
+                member.tick();
+            } catch (final RuntimeException e) {
+                member.getPlugin().getLogger().log(Level.SEVERE, "Failed to update the holograms.", e);
+            }
+        }
+    }
+
+    private void click(Player player, int entityId, HologramInteractAction action) {
+        final int range = EntityIdRanges.rangeOf(entityId);
+        if (range < 0) return;
+
+        final Member member = members.get(range);
+        if (member != null)
+            member.click(player, entityId, action == HologramInteractAction.LEFT_CLICK);
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (!event.getPlugin().equals(plugin)) return;
+
+        final List<Member> detached = new ArrayList<>();
+        synchronized (HologramHub.class) {
+            if (task == null) return;
+
+            stop();
+            for (int range = 0; range < members.length(); range++) {
+                final Member member = members.getAndSet(range, null);
+                if (member != null)
+                    detached.add(member);
+            }
+            memberCount = 0;
+        }
+
+        detached.forEach(Member::detached);
+    }
+
+}
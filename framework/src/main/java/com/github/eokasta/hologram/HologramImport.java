@@ -0,0 +1,182 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.store.HologramDefinition;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class is responsible for streaming {@link HologramDefinition}s into a {@link HologramRegistry}.<p></p>
+ *
+ * Each tick it registers and spawns holograms until the tick budget is spent. Definitions are
+ * read ahead into a window and the ones closest to online players are spawned first.
+ *
+ * @see HologramRegistry#importHolograms(Iterator, HologramImportSettings)
+ */
+public class HologramImport implements Runnable {
+
+    private final HologramRegistry registry;
+    private final Iterator<HologramDefinition> definitions;
+    private final HologramImportSettings settings;
+
+    private final PriorityQueue<Candidate> window =
+          new PriorityQueue<>(Comparator.comparingDouble(Candidate::getDistanceSquared));
+    private final Map<String, Hologram> holograms = new LinkedHashMap<>();
+
+    @Getter
+    private final CompletableFuture<Map<String, Hologram>> future = new CompletableFuture<>();
+
+    @Getter
+    private int skipped;
+    private HologramScheduler.Task task;
+
+    HologramImport(
+          @NotNull HologramRegistry registry,
+          @NotNull Iterator<HologramDefinition> definitions,
+          @NotNull HologramImportSettings settings
+    ) {
+        this.registry = registry;
+        this.definitions = definitions;
+        this.settings = settings;
+    }
+
+    /**
+     * Gets how many holograms were imported so far.
+     *
+     * @return the amount of imported holograms.
+     */
+    public int getImported() {
+        return holograms.size();
+    }
+
+    /**
+     * Checks if the import is finished, successfully or not.
+     *
+     * @return <b>true</b> if the import is finished or <b>false</b> if not.
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Cancels the import, the holograms already imported are kept.
+     */
+    public void cancel() {
+        stop();
+        future.cancel(false);
+    }
+
+    @Override
+    public void run() {
+        if (future.isDone()) {
+            stop();
+            return;
+        }
+
+        final long deadline = System.nanoTime() + settings.getTickBudgetNanos();
+        final Map<UUID, List<Location>> playerLocations = getPlayerLocations();
+        boolean progressed = false;
+
+        try {
+            do {
+                fillWindow(playerLocations);
+
+                final Candidate candidate = window.poll();
+                if (candidate == null) {
+                    stop();
+                    notifyProgress();
+                    future.complete(Collections.unmodifiableMap(holograms));
+                    return;
+                }
+
+                final Hologram hologram = candidate.definition.toHologram();
+                registry.registerHologram(hologram);
+                hologram.spawn(candidate.location);
+
+                holograms.put(candidate.definition.getId(), hologram);
+                progressed = true;
+            } while (System.nanoTime() < deadline);
+        } catch (Throwable throwable) {
+            stop();
+            future.completeExceptionally(throwable);
+            return;
+        }
+
+        if (progressed)
+            notifyProgress();
+    }
+
+    /**
+     * Starts the import, running it every tick.
+     */
+    void initialize() {
+        this.task = registry.getScheduler().runTimer(this, 0L, 1L);
+    }
+
+    private void fillWindow(Map<UUID, List<Location>> playerLocations) {
+        while (window.size() < settings.getWindowSize() && definitions.hasNext()) {
+            final HologramDefinition definition = definitions.next();
+            final Location location = definition.getLocation();
+            if (location == null) {
+                skipped++;
+                continue;
+            }
+
+            final World world = location.getWorld();
+            final List<Location> nearby = playerLocations.getOrDefault(world.getUID(), Collections.emptyList());
+
+            double distanceSquared = Double.MAX_VALUE;
+            for (Location playerLocation : nearby)
+                distanceSquared = Math.min(distanceSquared, location.distanceSquared(playerLocation));
+
+            window.add(new Candidate(definition, location, distanceSquared));
+        }
+    }
+
+    private void notifyProgress() {
+        if (settings.getProgressListener() != null)
+            settings.getProgressListener().accept(this);
+    }
+
+    private void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private static Map<UUID, List<Location>> getPlayerLocations() {
+        final Map<UUID, List<Location>> locations = new HashMap<>();
+        for (Player player : Bukkit.getOnlinePlayers())
+            locations.computeIfAbsent(player.getWorld().getUID(), $ -> new ArrayList<>()).add(player.getLocation());
+
+        return locations;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Candidate {
+
+        private final HologramDefinition definition;
+        private final Location location;
+        private final double distanceSquared;
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.eokasta.hologram;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Settings of a streaming {@link HologramImport}.
+ *
+ * @see HologramRegistry#importHolograms(java.util.Iterator, HologramImportSettings)
+ */
+@Builder
+@Getter
+public class HologramImportSettings {
+
+    /**
+     * The maximum time spent registering and spawning holograms in a tick.
+     */
+    @Builder.Default
+    private final long tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * How many definitions are read ahead to pick the ones closest to online players.
+     */
+    @Builder.Default
+    private final int windowSize = 512;
+
+    /**
+     * Called at the end of every tick in which the import made progress.
+     */
+    private final Consumer<HologramImport> progressListener;
+
+    HologramImportSettings(long tickBudgetNanos, int windowSize, Consumer<HologramImport> progressListener) {
+        if (tickBudgetNanos <= 0)
+            throw new IllegalArgumentException("Import tick budget must be positive.");
+
+        if (windowSize <= 0)
+            throw new IllegalArgumentException("Import window size must be positive.");
+
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.windowSize = windowSize;
+        this.progressListener = progressListener;
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.github.eokasta.hologram;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class is responsible for dispatching the interactions of players with holograms.<p></p>
+ *
+ * Clicks are filtered per player before any action runs: repeated clicks on each line
+ * are debounced and the clicks per second are limited, so spam-clicking clients
+ * cannot flood the actions. The state of each player is only locked by that player.
+ *
+ * @see HologramInteractSettings
+ */
+public class HologramInteractDispatcher {
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HologramEngine engine;
+    private final Map<UUID, ClickState> clickStates = new ConcurrentHashMap<>();
+    private final Queue<HologramInteractContext> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    @Getter
+    @Setter
+    @NonNull
+    private volatile HologramInteractSettings settings = HologramInteractSettings.builder().build();
+
+    public HologramInteractDispatcher(@NotNull HologramEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Dispatches a click of a player on a hologram line.
+     *
+     * @param context the context of the click.
+     * @return <b>true</b> if the click was accepted or <b>false</b> if it was filtered out.
+     */
+    public boolean dispatch(@NotNull HologramInteractContext context) {
+        final HologramInteractHandler handler = context.getHandler().getHologram().getInteractHandler();
+        if (handler == null || handler.getAction(context.getAction()) == null) return false;
+
+        final HologramInteractSettings settings = this.settings;
+        final ClickState state = clickStates.computeIfAbsent(context.getPlayer().getUniqueId(), $ -> new ClickState());
+        if (!state.tryClick(context.getHandler().getEntityId(), System.nanoTime(), settings)) return false;
+
+        switch (settings.getDispatchMode()) {
+            case MAIN_THREAD:
+                // on region-threaded servers the action runs on the thread that owns the player.
+                if (engine.getScheduler().isRegionized()) {
+                    engine.getScheduler().runFor(context.getPlayer(), () -> call(context));
+                    break;
+                }
+
+                pending.add(context);
+                if (drainScheduled.compareAndSet(false, true))
+                    engine.getScheduler().run(this::drain);
+                break;
+            case ASYNC:
+                settings.getExecutor().execute(() -> call(context));
+                break;
+            default:
+                call(context);
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all click state of a player.
+     *
+     * @param player the player to be invalidated.
+     */
+    public void invalidatePlayer(@NotNull Player player) {
+        clickStates.remove(player.getUniqueId());
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+
+        HologramInteractContext context;
+        while ((context = pending.poll()) != null)
+            call(context);
+    }
+
+    private static void call(HologramInteractContext context) {
+        final HologramInteractHandler handler = context.getHandler().getHologram().getInteractHandler();
+        if (handler != null)
+            handler.call(context.getAction(), context);
+    }
+
+    private static final class ClickState {
+
+        /**
+         * Past this many remembered lines, the clicks older than the debounce time are forgotten.
+         */
+        private static final int PRUNE_SIZE = 8;
+
+        private final Map<Integer, Long> lastClicks = new HashMap<>();
+        private boolean windowStarted;
+        private long windowStart;
+        private int windowClicks;
+
+        synchronized boolean tryClick(int entityId, long now, HologramInteractSettings settings) {
+            final Long lastClick = lastClicks.get(entityId);
+            if (lastClick != null && now - lastClick < settings.getDebounceNanos())
+                return false;
+
+            // nano times can be negative, so the window starts at the first click instead of zero.
+            if (!windowStarted || now - windowStart >= SECOND_NANOS) {
+                windowStarted = true;
+                windowStart = now;
+                windowClicks = 0;
+            }
+
+            if (windowClicks >= settings.getMaxClicksPerSecond())
+                return false;
+
+            windowClicks++;
+            if (lastClicks.size() >= PRUNE_SIZE)
+                lastClicks.values().removeIf(click -> now - click >= settings.getDebounceNanos());
+
+            lastClicks.put(entityId, now);
+            return true;
+        }
+
+    }
+
+}
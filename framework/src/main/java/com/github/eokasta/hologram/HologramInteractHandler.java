@@ -2,34 +2,96 @@ package com.github.eokasta.hologram;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Consumer;
 
 /**
+ * This class holds the actions of a hologram.<p></p>
+ *
+ * Actions are kept in an immutable snapshot that is replaced on every change,
+ * so interactions read them without any lock from the network threads. The holograms
+ * using this handler are told when it gains its first action or loses its last one,
+ * since only holograms without actions can be rendered by entities that cannot be clicked.
  *
  * @author Lucas Monteiro
  */
 public class HologramInteractHandler {
 
-    private final Map<HologramInteractAction, Consumer<HologramInteractContext>> actions = new HashMap<>();
+    private volatile Map<HologramInteractAction, Consumer<HologramInteractContext>> actions = Collections.emptyMap();
+    private final Set<Hologram> holograms = Collections.newSetFromMap(new WeakHashMap<>());
 
-    public synchronized void call(@NotNull HologramInteractAction action, @NotNull HologramInteractContext context) {
+    public void call(@NotNull HologramInteractAction action, @NotNull HologramInteractContext context) {
         final Consumer<HologramInteractContext> consumer = actions.get(action);
         if (consumer != null)
             consumer.accept(context);
     }
 
-    public synchronized void addAction(@NotNull HologramInteractAction action, @NotNull Consumer<HologramInteractContext> consumer) {
-        actions.put(action, consumer);
+    public void addAction(@NotNull HologramInteractAction action, @NotNull Consumer<HologramInteractContext> consumer) {
+        final boolean first;
+        synchronized (this) {
+            first = actions.isEmpty();
+
+            final Map<HologramInteractAction, Consumer<HologramInteractContext>> snapshot = copyActions();
+            snapshot.put(action, consumer);
+            actions = Collections.unmodifiableMap(snapshot);
+        }
+
+        if (first)
+            checkRenderers();
+    }
+
+    public void removeAction(@NotNull HologramInteractAction action) {
+        synchronized (this) {
+            if (!actions.containsKey(action)) return;
+
+            final Map<HologramInteractAction, Consumer<HologramInteractContext>> snapshot = copyActions();
+            snapshot.remove(action);
+            actions = snapshot.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(snapshot);
+        }
+
+        if (!hasActions())
+            checkRenderers();
     }
 
-    public synchronized void removeAction(@NotNull HologramInteractAction action) {
-        actions.remove(action);
+    public boolean hasActions() {
+        return !actions.isEmpty();
     }
 
-    public synchronized Consumer<HologramInteractContext> getAction(HologramInteractAction action) {
+    public Consumer<HologramInteractContext> getAction(HologramInteractAction action) {
         return actions.get(action);
     }
 
+    synchronized void attach(@NotNull Hologram hologram) {
+        holograms.add(hologram);
+    }
+
+    synchronized void detach(@NotNull Hologram hologram) {
+        holograms.remove(hologram);
+    }
+
+    /**
+     * Lets the holograms switch their renderer, outside of the lock of this handler.
+     */
+    private void checkRenderers() {
+        final List<Hologram> holograms;
+        synchronized (this) {
+            holograms = new ArrayList<>(this.holograms);
+        }
+
+        holograms.forEach(Hologram::checkRenderer);
+    }
+
+    private Map<HologramInteractAction, Consumer<HologramInteractContext>> copyActions() {
+        final Map<HologramInteractAction, Consumer<HologramInteractContext>> snapshot =
+              new EnumMap<>(HologramInteractAction.class);
+        snapshot.putAll(actions);
+        return snapshot;
+    }
+
 }
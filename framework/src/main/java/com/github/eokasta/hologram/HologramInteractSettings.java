@@ -0,0 +1,62 @@
+package com.github.eokasta.hologram;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of the {@link HologramInteractDispatcher} of the engine.
+ *
+ * @see HologramInteractDispatcher#setSettings(HologramInteractSettings)
+ */
+@Builder
+@Getter
+public class HologramInteractSettings {
+
+    /**
+     * Repeated clicks of a player on the same line within this time are ignored.
+     */
+    @Builder.Default
+    private final long debounceNanos = TimeUnit.MILLISECONDS.toNanos(150);
+
+    /**
+     * The maximum amount of clicks of a player dispatched per second, on any line.
+     */
+    @Builder.Default
+    private final int maxClicksPerSecond = 10;
+
+    /**
+     * Where the actions are run.
+     */
+    @Builder.Default
+    private final DispatchMode dispatchMode = DispatchMode.INLINE;
+
+    /**
+     * The executor of the {@link DispatchMode#ASYNC} mode.
+     */
+    @Builder.Default
+    private final Executor executor = ForkJoinPool.commonPool();
+
+    public enum DispatchMode {
+
+        /**
+         * Actions run on the network thread that received the click.
+         */
+        INLINE,
+
+        /**
+         * Actions are queued and run together on the main thread in the next tick.
+         */
+        MAIN_THREAD,
+
+        /**
+         * Actions run on the executor of the settings.
+         */
+        ASYNC;
+
+    }
+
+}
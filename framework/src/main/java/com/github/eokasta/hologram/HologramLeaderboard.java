@@ -0,0 +1,223 @@
+package com.github.eokasta.hologram;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is responsible for showing the top entries of a score set as rows of a hologram.<p></p>
+ *
+ * The ranking is kept sorted incrementally: a score change moves only its entry and re-renders only
+ * the rows between its previous and new rank, and only the rows whose text changed are sent to the
+ * viewers, on their next update. The rank of a player is found by a binary search on the ranking.
+ * Scores can be set from any thread, the ranking is guarded by the lock of the leaderboard.
+ *
+ * <pre>
+ * final HologramLeaderboard leaderboard = new HologramLeaderboard(hologram, 10,
+ *       (rank, entry) -&gt; entry == null ? "#" + rank + " ---" : "#" + rank + " " + entry.getName() + " " + entry.getScore());
+ * leaderboard.setScore(player.getUniqueId(), player.getName(), kills);
+ * </pre>
+ *
+ * @see LeaderboardHologramLine
+ */
+public class HologramLeaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator
+          .comparingDouble(Entry::getScore).reversed()
+          .thenComparing(Entry::getId);
+
+    @Getter
+    private final Hologram hologram;
+
+    private final RowFormatter formatter;
+    private final List<LeaderboardHologramLine> rows;
+
+    private final List<Entry> ranking = new ArrayList<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a leaderboard below the current lines of a hologram.
+     *
+     * @param hologram the hologram that receives the rows.
+     * @param size the amount of rows.
+     * @param formatter the formatter of the rows.
+     */
+    public HologramLeaderboard(@NotNull Hologram hologram, int size, @NotNull RowFormatter formatter) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Leaderboard size must be positive.");
+
+        this.hologram = hologram;
+        this.formatter = formatter;
+        this.rows = new ArrayList<>(size);
+
+        // the first rank is inserted first, so the next ranks go below it.
+        for (int row = 0; row < size; row++) {
+            final LeaderboardHologramLine line = new LeaderboardHologramLine(hologram);
+            line.setText(formatter.format(row + 1, null));
+            rows.add(line);
+            hologram.insertLine(0, line);
+        }
+    }
+
+    /**
+     * Adds a line below the leaderboard showing the rank of each viewer.
+     *
+     * @param formatter the formatter of the line, the rank is <b>0</b> and the entry <b>null</b> for unranked viewers.
+     * @return the added line.
+     */
+    @NotNull
+    public AbstractHologramLine addViewerRankLine(@NotNull RowFormatter formatter) {
+        final TextHologramLine line = new TextHologramLine(hologram);
+        line.setText("");
+        line.setFunction(($, player) -> {
+            synchronized (this) {
+                final Entry entry = entries.get(player.getUniqueId());
+                return entry == null ? formatter.format(0, null) : formatter.format(getRank(entry), entry);
+            }
+        });
+
+        hologram.insertLine(0, line);
+        return line;
+    }
+
+    /**
+     * Sets the score of an entry, moving it in the ranking.
+     *
+     * @param id the unique id of the entry.
+     * @param name the name shown by the rows.
+     * @param score the new score.
+     */
+    public synchronized void setScore(@NotNull UUID id, @NotNull String name, double score) {
+        final Entry previous = entries.get(id);
+        if (previous != null && previous.score == score && previous.name.equals(name)) return;
+
+        final int from = previous == null ? ranking.size() : removeFromRanking(previous);
+        final Entry entry = new Entry(id, name, score);
+        final int to = insertionIndex(entry);
+
+        ranking.add(to, entry);
+        entries.put(id, entry);
+
+        renderRows(Math.min(from, to), Math.max(from, to));
+    }
+
+    /**
+     * Removes an entry from the ranking.
+     *
+     * @param id the unique id of the entry.
+     */
+    public synchronized void removeScore(@NotNull UUID id) {
+        final Entry entry = entries.remove(id);
+        if (entry == null) return;
+
+        renderRows(removeFromRanking(entry), ranking.size());
+    }
+
+    /**
+     * Gets the rank of an entry.
+     *
+     * @param id the unique id of the entry.
+     * @return the rank, from <b>1</b>, or <b>0</b> if there is no such entry.
+     */
+    public synchronized int getRank(@NotNull UUID id) {
+        final Entry entry = entries.get(id);
+        return entry == null ? 0 : getRank(entry);
+    }
+
+    /**
+     * Gets the rank of a player.
+     *
+     * @param player the player.
+     * @return the rank, from <b>1</b>, or <b>0</b> if the player has no score.
+     */
+    public int getRank(@NotNull Player player) {
+        return getRank(player.getUniqueId());
+    }
+
+    /**
+     * Gets an entry by its rank.
+     *
+     * @param rank the rank, from <b>1</b>.
+     * @return the entry or <b>null</b> if the ranking is shorter.
+     */
+    @Nullable
+    public synchronized Entry getEntry(int rank) {
+        return rank >= 1 && rank <= ranking.size() ? ranking.get(rank - 1) : null;
+    }
+
+    /**
+     * Gets a copy of the whole ranking, from the first rank.
+     *
+     * @return unmodifiable ranking.
+     */
+    @NotNull
+    public synchronized List<Entry> getRanking() {
+        return Collections.unmodifiableList(new ArrayList<>(ranking));
+    }
+
+    private int getRank(Entry entry) {
+        return Collections.binarySearch(ranking, entry, ORDER) + 1;
+    }
+
+    private int insertionIndex(Entry entry) {
+        final int index = Collections.binarySearch(ranking, entry, ORDER);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private int removeFromRanking(Entry entry) {
+        final int index = Collections.binarySearch(ranking, entry, ORDER);
+        ranking.remove(index);
+        return index;
+    }
+
+    /**
+     * Renders the rows between two indexes of the ranking, rows whose text did not change are kept.
+     */
+    private void renderRows(int from, int to) {
+        final int last = Math.min(to, rows.size() - 1);
+        for (int row = from; row <= last; row++)
+            rows.get(row).setText(formatter.format(row + 1, row < ranking.size() ? ranking.get(row) : null));
+    }
+
+    /**
+     * This interface formats a row of the leaderboard.
+     */
+    @FunctionalInterface
+    public interface RowFormatter {
+
+        /**
+         * Formats a row.
+         *
+         * @param rank the rank of the row, from <b>1</b>.
+         * @param entry the entry at the rank or <b>null</b> if the ranking is shorter.
+         * @return the text of the row.
+         */
+        @NotNull
+        String format(int rank, @Nullable Entry entry);
+
+    }
+
+    /**
+     * This class is an entry of the ranking, replaced whenever its score changes.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Entry {
+
+        private final UUID id;
+        private final String name;
+        private final double score;
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramPacket;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds the lines affected by a change to the lines of a hologram.<p></p>
+ *
+ * The packets of the moved lines are built once and shared by every viewer.
+ *
+ * @see HologramRenderer#applyChanges(org.bukkit.entity.Player, HologramLineChanges)
+ */
+@Getter
+final class HologramLineChanges {
+
+    private final List<AbstractHologramLine> addedLines = new ArrayList<>();
+    private final List<AbstractHologramLine> removedLines = new ArrayList<>();
+    private final Map<AbstractHologramLine, HologramPacket> movePackets = new IdentityHashMap<>();
+
+    void added(@NotNull AbstractHologramLine line) {
+        addedLines.add(line);
+    }
+
+    void removed(@NotNull AbstractHologramLine line) {
+        removedLines.add(line);
+    }
+
+    void moved(@NotNull AbstractHologramLine line, @NotNull Location from, @NotNull Location to) {
+        movePackets.put(line, HologramProtocol.createMovePacket(line.getEntityId(), from, to));
+    }
+
+    boolean isAdded(@NotNull AbstractHologramLine line) {
+        return addedLines.contains(line);
+    }
+
+    boolean isMoved(@NotNull AbstractHologramLine line) {
+        return movePackets.containsKey(line);
+    }
+
+}
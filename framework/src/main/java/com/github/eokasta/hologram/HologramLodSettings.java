@@ -0,0 +1,65 @@
+package com.github.eokasta.hologram;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Settings of the level of detail of holograms, which reduces how often
+ * viewers far from a hologram receive its updates.<p></p>
+ *
+ * Intervals are counted in hologram updates, an interval of <b>1</b> means every update.
+ *
+ * @see HologramRegistry#setLodSettings(HologramLodSettings)
+ * @see Hologram#setLodSettings(HologramLodSettings)
+ */
+@Builder
+@Getter
+public class HologramLodSettings {
+
+    /**
+     * Viewers within this distance receive every update.
+     */
+    @Builder.Default
+    private final double nearDistance = 16.0;
+
+    /**
+     * Viewers within this distance, but not near, receive updates every {@link #midInterval}.
+     */
+    @Builder.Default
+    private final double midDistance = 40.0;
+
+    @Builder.Default
+    private final int midInterval = 2;
+
+    /**
+     * Viewers beyond the mid distance receive updates every {@link #farInterval},
+     * without evaluating the dynamic functions of the lines.
+     */
+    @Builder.Default
+    private final int farInterval = 5;
+
+    /**
+     * Gets the tier of a viewer.
+     *
+     * @param distanceSquared the squared distance between the viewer and the hologram.
+     * @return the tier of the viewer.
+     */
+    @NotNull
+    public Tier getTier(double distanceSquared) {
+        if (distanceSquared <= nearDistance * nearDistance)
+            return Tier.NEAR;
+
+        if (distanceSquared <= midDistance * midDistance)
+            return Tier.MID;
+
+        return Tier.FAR;
+    }
+
+    public enum Tier {
+
+        NEAR, MID, FAR;
+
+    }
+
+}
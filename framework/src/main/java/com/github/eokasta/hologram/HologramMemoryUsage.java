@@ -0,0 +1,154 @@
+package com.github.eokasta.hologram;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is responsible for adding up the estimated heap retained by holograms.<p></p>
+ *
+ * The sizes assume a 64-bit JVM with compressed references and are meant to find where the heap
+ * is going, such as holograms with too many lines or lines that keep state for many viewers, not to
+ * match a heap dump exactly. Objects shared with the server, such as players and worlds, are not counted.
+ *
+ * @see Hologram#getMemoryUsage()
+ * @see HologramRegistry#getMemoryUsage()
+ * @see HologramEngine#getMemoryUsage()
+ */
+@Getter
+public class HologramMemoryUsage {
+
+    /**
+     * The header of an object.
+     */
+    public static final long OBJECT_BYTES = 16;
+
+    /**
+     * A compressed reference to an object.
+     */
+    public static final long REFERENCE_BYTES = 4;
+
+    /**
+     * A node of a hash map or hash set and its slot in the table.
+     */
+    public static final long ENTRY_BYTES = 32 + REFERENCE_BYTES;
+
+    /**
+     * A {@link org.bukkit.Location} with its fields.
+     */
+    public static final long LOCATION_BYTES = OBJECT_BYTES + 5 * 8 + REFERENCE_BYTES;
+
+    private int holograms;
+    private long hologramBytes;
+
+    private int lines;
+    private long lineBytes;
+
+    private int viewerStates;
+    private long viewerStateBytes;
+
+    /**
+     * Adds a hologram, without its lines and viewer states.
+     *
+     * @param bytes the estimated bytes of the hologram.
+     */
+    public void addHologram(long bytes) {
+        this.holograms++;
+        this.hologramBytes += bytes;
+    }
+
+    /**
+     * Adds a line, without its viewer states.
+     *
+     * @param bytes the estimated bytes of the line.
+     */
+    public void addLine(long bytes) {
+        this.lines++;
+        this.lineBytes += bytes;
+    }
+
+    /**
+     * Adds the state kept for each viewer, such as the last content sent to them.
+     *
+     * @param count the amount of states.
+     * @param bytesPerState the estimated bytes of each state.
+     */
+    public void addViewerStates(int count, long bytesPerState) {
+        this.viewerStates += count;
+        this.viewerStateBytes += count * bytesPerState;
+    }
+
+    /**
+     * Adds another usage to this one.
+     *
+     * @param usage the other usage.
+     */
+    public void add(@NotNull HologramMemoryUsage usage) {
+        this.holograms += usage.holograms;
+        this.hologramBytes += usage.hologramBytes;
+        this.lines += usage.lines;
+        this.lineBytes += usage.lineBytes;
+        this.viewerStates += usage.viewerStates;
+        this.viewerStateBytes += usage.viewerStateBytes;
+    }
+
+    /**
+     * Gets the estimated bytes of the holograms, their lines and viewer states.
+     *
+     * @return the total bytes.
+     */
+    public long getTotalBytes() {
+        return hologramBytes + lineBytes + viewerStateBytes;
+    }
+
+    /**
+     * Gets the average bytes of a hologram, including its lines and viewer states.
+     *
+     * @return the bytes per hologram or <b>0</b> if there is no hologram.
+     */
+    public long getBytesPerHologram() {
+        return holograms == 0 ? 0 : getTotalBytes() / holograms;
+    }
+
+    /**
+     * Gets the average bytes of a line, without its viewer states.
+     *
+     * @return the bytes per line or <b>0</b> if there is no line.
+     */
+    public long getBytesPerLine() {
+        return lines == 0 ? 0 : lineBytes / lines;
+    }
+
+    /**
+     * Gets the average bytes of a viewer state.
+     *
+     * @return the bytes per viewer state or <b>0</b> if there is no viewer state.
+     */
+    public long getBytesPerViewerState() {
+        return viewerStates == 0 ? 0 : viewerStateBytes / viewerStates;
+    }
+
+    /**
+     * Estimates the bytes of a string.
+     *
+     * @param text the string.
+     * @return the estimated bytes or <b>0</b> if the string is null.
+     */
+    public static long estimateString(@Nullable String text) {
+        if (text == null) return 0;
+
+        // the string and its array, with two bytes per char in the worst case.
+        return OBJECT_BYTES + 8 + OBJECT_BYTES + 4 + 2L * text.length();
+    }
+
+    @Override
+    public String toString() {
+        return "HologramMemoryUsage{" +
+              "holograms=" + holograms + " (" + hologramBytes + " bytes)" +
+              ", lines=" + lines + " (" + lineBytes + " bytes)" +
+              ", viewerStates=" + viewerStates + " (" + viewerStateBytes + " bytes)" +
+              ", total=" + getTotalBytes() + " bytes" +
+              '}';
+    }
+
+}
@@ -1,40 +1,69 @@
 package com.github.eokasta.hologram;
 
-import com.github.eokasta.hologram.protocol.HologramProtocol;
-import com.github.eokasta.hologram.protocol.PlayerEntityUsePacketListener;
+import com.github.eokasta.hologram.store.HologramDefinition;
 import lombok.Getter;
-import org.bukkit.Bukkit;
+import lombok.NonNull;
+import lombok.Setter;
 import org.bukkit.World;
-import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerChangedWorldEvent;
-import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * This class is responsible for the holograms of one plugin.<p></p>
+ *
+ * All registries of the server share one {@link HologramEngine}, which runs the update loop,
+ * the listeners and the interaction packets once for every plugin. The holograms of a registry
+ * are destroyed when its plugin is disabled.
+ *
+ * @see HologramEngine
+ */
 public class HologramRegistry implements Iterable<Hologram> {
 
+    static final HologramLodSettings DEFAULT_LOD_SETTINGS = HologramLodSettings.builder().build();
+
     @Getter
     private final Plugin plugin;
-    private final Set<Hologram> registeredHolograms = new HashSet<>();
 
-    public HologramRegistry(@NotNull Plugin plugin, long delay, long period) {
-        this.plugin = plugin;
+    /**
+     * The engine of this registry, it is replaced when the plugin running the engine is disabled.
+     */
+    @Getter
+    private volatile HologramEngine engine;
 
-        new AutoUpdateHologramTask(this).initialize(delay, period);
+    private final Set<Hologram> registeredHolograms = ConcurrentHashMap.newKeySet();
 
-        HologramProtocol.registerPacketListener(new PlayerEntityUsePacketListener(this));
+    /**
+     * The level of detail of the holograms that have no settings of their own.
+     */
+    @Getter
+    @Setter
+    @NonNull
+    private HologramLodSettings lodSettings = DEFAULT_LOD_SETTINGS;
 
-        Bukkit.getPluginManager().registerEvents(new PlayerHologramListener(), plugin);
+    /**
+     * Creates the registry of a plugin.<p></p>
+     *
+     * The delay and period are only used if this is the first registry of the server,
+     * otherwise the update loop of the running {@link HologramEngine} is kept.
+     *
+     * @param plugin the plugin that owns the registry.
+     * @param delay the delay to start the update loop.
+     * @param period the period between each update.
+     */
+    public HologramRegistry(@NotNull Plugin plugin, long delay, long period) {
+        this.plugin = plugin;
+        this.engine = HologramEngine.get(plugin, delay, period);
+        this.engine.addRegistry(this);
     }
 
     public HologramRegistry(@NotNull Plugin plugin) {
@@ -46,61 +75,193 @@ public class HologramRegistry implements Iterable<Hologram> {
         return Collections.unmodifiableSet(registeredHolograms);
     }
 
+    /**
+     * Gets the estimated heap retained by the holograms of this registry.
+     *
+     * @return the memory usage of this registry.
+     * @see HologramEngine#getMemoryUsage()
+     */
+    @NotNull
+    public HologramMemoryUsage getMemoryUsage() {
+        final HologramMemoryUsage usage = new HologramMemoryUsage();
+        for (Hologram hologram : registeredHolograms)
+            hologram.estimateMemory(usage);
+
+        return usage;
+    }
+
+    /**
+     * Gets the registered holograms located in a world.
+     *
+     * @param world the world of the holograms.
+     * @return unmodifiable holograms of this registry from the world partition.
+     */
+    @NotNull
+    public Collection<Hologram> getHolograms(@NotNull World world) {
+        final Collection<Hologram> holograms = engine.getHolograms(world);
+        if (holograms.isEmpty())
+            return holograms;
+
+        return Collections.unmodifiableSet(holograms.stream()
+              .filter(hologram -> hologram.getRegistry() == this)
+              .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Gets a line of the registered holograms by its entity identify, it can
+     * be called from any thread and does not iterate the holograms.
+     *
+     * @param entityId the entity identify of the line.
+     * @return the line or <b>null</b> if no hologram of this registry has it.
+     */
     @Nullable
     public AbstractHologramLine getHologramLine(int entityId) {
-        for (Hologram hologram : getHolograms())
-            for (AbstractHologramLine line : hologram.getLines())
-                if (line.getEntityId() == entityId) return line;
-
-        return null;
+        final AbstractHologramLine line = engine.getHologramLine(entityId);
+        return line != null && line.getHologram().getRegistry() == this ? line : null;
     }
 
     public void registerHologram(@NotNull Hologram hologram) {
-        this.registeredHolograms.add(hologram);
+        if (hologram.getRegistry() != null && hologram.getRegistry() != this)
+            throw new IllegalStateException("Hologram is already registered by another registry.");
+
+        if (!this.registeredHolograms.add(hologram)) return;
+
+        hologram.setRegistry(this);
+        engine.register(hologram);
     }
 
     public void unregisterHologram(@NotNull Hologram hologram) {
-        this.registeredHolograms.remove(hologram);
+        if (!this.registeredHolograms.remove(hologram)) return;
+
+        engine.unregister(hologram);
+        hologram.setRegistry(null);
+    }
+
+    /**
+     * Destroys and unregisters all holograms of this registry and detaches it from the engine,
+     * it is called when the plugin is disabled.
+     */
+    public void close() {
+        for (Hologram hologram : new ArrayList<>(registeredHolograms)) {
+            if (hologram.isSpawned())
+                hologram.destroy();
+
+            unregisterHologram(hologram);
+        }
+
+        engine.removeRegistry(this);
+    }
+
+    /**
+     * Moves the holograms of this registry to the engine that replaced the current one.
+     *
+     * @param successor the new engine.
+     */
+    void moveTo(@NotNull HologramEngine successor) {
+        final HologramEngine previous = this.engine;
+        previous.removeRegistry(this);
+        for (Hologram hologram : registeredHolograms)
+            previous.unregister(hologram);
+
+        this.engine = successor;
+        successor.addRegistry(this);
+        for (Hologram hologram : registeredHolograms) {
+            successor.register(hologram);
+
+            if (hologram.isDestroyed())
+                successor.markDestroyed(hologram);
+        }
     }
 
     @NotNull
-    @Override
-    public Iterator<Hologram> iterator() {
-        return getHolograms().iterator();
+    public HologramFrameClock getFrameClock() {
+        return engine.getFrameClock();
     }
 
-    final class PlayerHologramListener implements Listener {
+    @NotNull
+    public HologramInteractDispatcher getInteractDispatcher() {
+        return engine.getInteractDispatcher();
+    }
 
-        @EventHandler
-        public void onJoin(PlayerJoinEvent event) {
-            final Player player = event.getPlayer();
+    /**
+     * Gets the scheduler that runs the hologram updates, it is shared by all plugins.
+     *
+     * @return the scheduler of the engine.
+     */
+    @NotNull
+    public HologramScheduler getScheduler() {
+        return engine.getScheduler();
+    }
 
-            for (Hologram hologram : getHolograms()) {
-                if (!hologram.canSee(player)) continue;
+    /**
+     * Gets the per-player budget of holograms, it is shared by all plugins.
+     *
+     * @return the budget settings.
+     */
+    @NotNull
+    public HologramBudgetSettings getBudgetSettings() {
+        return engine.getViewerBudget().getSettings();
+    }
 
-                hologram.show(player);
-            }
-        }
+    /**
+     * Sets the per-player budget of holograms, it is applied on the next update.
+     *
+     * @param budgetSettings the budget settings.
+     */
+    public void setBudgetSettings(@NotNull HologramBudgetSettings budgetSettings) {
+        engine.getViewerBudget().setSettings(budgetSettings);
+    }
 
-        @EventHandler
-        public void onWorldChange(PlayerChangedWorldEvent event) {
-            final Player player = event.getPlayer();
+    public int getVisibilitySweepInterval() {
+        return engine.getVisibilitySweepInterval();
+    }
 
-            for (Hologram hologram : getHolograms()) {
-                if (!hologram.canSee(player)) continue;
+    public void setVisibilitySweepInterval(int visibilitySweepInterval) {
+        engine.setVisibilitySweepInterval(visibilitySweepInterval);
+    }
 
-                hologram.show(player);
-            }
-        }
+    /**
+     * Streams hologram definitions into this registry, registering and spawning
+     * them a few per tick until the tick budget of the settings is spent.
+     *
+     * @param definitions the definitions to be imported.
+     * @param settings the import settings.
+     * @return the running {@link HologramImport}.
+     */
+    @NotNull
+    public HologramImport importHolograms(
+          @NotNull Iterator<HologramDefinition> definitions,
+          @NotNull HologramImportSettings settings
+    ) {
+        final HologramImport hologramImport = new HologramImport(this, definitions, settings);
+        hologramImport.initialize();
 
-        @EventHandler
-        public void onQuit(PlayerQuitEvent event) {
-            final Player player = event.getPlayer();
+        return hologramImport;
+    }
 
-            for (Hologram hologram : getHolograms())
-                hologram.invalidatePlayer(player);
-        }
+    /**
+     * Streams hologram definitions into this registry, the stream is closed when the import finishes.
+     *
+     * @param definitions the definitions to be imported.
+     * @param settings the import settings.
+     * @return the running {@link HologramImport}.
+     * @see HologramRegistry#importHolograms(Iterator, HologramImportSettings)
+     */
+    @NotNull
+    public HologramImport importHolograms(
+          @NotNull Stream<HologramDefinition> definitions,
+          @NotNull HologramImportSettings settings
+    ) {
+        final HologramImport hologramImport = importHolograms(definitions.iterator(), settings);
+        hologramImport.getFuture().whenComplete(($, throwable) -> definitions.close());
 
+        return hologramImport;
+    }
+
+    @NotNull
+    @Override
+    public Iterator<Hologram> iterator() {
+        return getHolograms().iterator();
     }
 
 }
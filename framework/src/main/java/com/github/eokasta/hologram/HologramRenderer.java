@@ -0,0 +1,120 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * This interface is responsible for turning a {@link Hologram} into client-side entities.<p></p>
+ *
+ * Servers on 1.19.4 or above render plain text holograms with a single text display
+ * entity, everything else falls back to one armor stand per line.
+ *
+ * @see ArmorStandHologramRenderer
+ * @see TextDisplayHologramRenderer
+ */
+public interface HologramRenderer {
+
+    /**
+     * Spawns the hologram entities to the player.
+     *
+     * @param player player who will see the hologram.
+     */
+    void show(@NotNull Player player);
+
+    /**
+     * Destroys the hologram entities of the player.
+     *
+     * @param player player who will no longer see the hologram.
+     */
+    void hide(@NotNull Player player);
+
+    /**
+     * Refreshes the content of the hologram entities for the player.
+     *
+     * @param player player who will receive the update.
+     */
+    void update(@NotNull Player player);
+
+    /**
+     * Refreshes the content of the hologram entities for the player without evaluating
+     * dynamic functions, used for viewers with a reduced level of detail.
+     *
+     * @param player player who will receive the update.
+     */
+    void refresh(@NotNull Player player);
+
+    /**
+     * Moves the hologram entities of the player to the current hologram location.
+     *
+     * @param player player who will receive the packets.
+     */
+    void teleport(@NotNull Player player);
+
+    /**
+     * Sends the interpolation duration of the hologram to a player, renderers whose entities
+     * the client cannot interpolate ignore it.
+     *
+     * @param player player who will receive the packet.
+     * @see Hologram#setInterpolationTicks(int)
+     */
+    default void updateInterpolation(@NotNull Player player) {
+
+    }
+
+    /**
+     * Applies a change to the lines of the hologram, after the lines were laid out again.
+     *
+     * @param player player who will receive the packets.
+     * @param changes the affected lines.
+     */
+    void applyChanges(@NotNull Player player, @NotNull HologramLineChanges changes);
+
+    /**
+     * Removes any state kept for the player.
+     *
+     * @param player the player who will be invalidated.
+     */
+    default void invalidatePlayer(@NotNull Player player) {
+        invalidatePlayer(player.getUniqueId());
+    }
+
+    /**
+     * Removes any state kept for a player by unique id, such as a viewer whose player was already collected.
+     *
+     * @param uniqueId the unique id of the player who will be invalidated.
+     */
+    void invalidatePlayer(@NotNull UUID uniqueId);
+
+    /**
+     * Adds the state kept for each viewer by this renderer to a memory usage.
+     *
+     * @param usage the memory usage.
+     */
+    default void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+
+    }
+
+    /**
+     * Releases the entity identifiers owned by this renderer, it must be hidden
+     * from all players and cannot be used afterwards.
+     */
+    void release();
+
+    /**
+     * Creates the best renderer supported by the server for the hologram.
+     *
+     * @param hologram the hologram to be rendered.
+     * @return a new {@link HologramRenderer} instance.
+     */
+    @NotNull
+    static HologramRenderer create(@NotNull Hologram hologram) {
+        if (HologramProtocol.isDisplayEntitySupported() && TextDisplayHologramRenderer.isCompatible(hologram))
+            return new TextDisplayHologramRenderer(hologram);
+
+        return new ArmorStandHologramRenderer(hologram);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.github.eokasta.hologram;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This interface is responsible for running the work of the {@link HologramEngine} on the right threads.<p></p>
+ *
+ * On Bukkit every task runs on the main thread. On region-threaded servers, such as Folia, the work of
+ * a chunk runs on the thread of the region that owns it and the work of a player on the thread that owns
+ * the player, so the holograms of different regions are updated on different cores.
+ *
+ * @see BukkitHologramScheduler
+ * @see RegionizedHologramScheduler
+ */
+public interface HologramScheduler {
+
+    /**
+     * Runs a task periodically on the global thread, which is the main thread on Bukkit.
+     *
+     * @param task the task.
+     * @param delay the delay to start, in ticks.
+     * @param period the period between each run, in ticks.
+     * @return the running task.
+     */
+    @NotNull
+    Task runTimer(@NotNull Runnable task, long delay, long period);
+
+    /**
+     * Runs a task on the global thread on the next tick.
+     *
+     * @param task the task.
+     */
+    void run(@NotNull Runnable task);
+
+    /**
+     * Runs a task on the thread that owns a chunk, right away if the current thread already owns it.
+     *
+     * @param world the world of the chunk.
+     * @param chunkX the x of the chunk.
+     * @param chunkZ the z of the chunk.
+     * @param task the task.
+     */
+    void runAt(@NotNull World world, int chunkX, int chunkZ, @NotNull Runnable task);
+
+    /**
+     * Runs a task on the thread that owns a player on the next tick, it is dropped if the player left.
+     *
+     * @param player the player.
+     * @param task the task.
+     */
+    void runFor(@NotNull Player player, @NotNull Runnable task);
+
+    /**
+     * Checks if the work is spread across region threads.
+     *
+     * @return <b>true</b> on region-threaded servers.
+     */
+    boolean isRegionized();
+
+    /**
+     * Creates the scheduler supported by the server.
+     *
+     * @param plugin the plugin that owns the tasks.
+     * @return a {@link RegionizedHologramScheduler} on region-threaded servers, otherwise a {@link BukkitHologramScheduler}.
+     */
+    @NotNull
+    static HologramScheduler create(@NotNull Plugin plugin) {
+        return RegionizedHologramScheduler.isSupported() ?
+              new RegionizedHologramScheduler(plugin) :
+              new BukkitHologramScheduler(plugin);
+    }
+
+    /**
+     * This interface is a task started by a {@link HologramScheduler}.
+     */
+    @FunctionalInterface
+    interface Task {
+
+        /**
+         * Cancels the task.
+         */
+        void cancel();
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.github.eokasta.hologram;
 
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 /**
@@ -9,6 +10,7 @@ import lombok.Getter;
  */
 @Builder
 @Getter
+@EqualsAndHashCode
 public class HologramSettings {
 
     private final boolean visibleCustomName;
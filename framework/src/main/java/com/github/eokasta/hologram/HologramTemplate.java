@@ -0,0 +1,333 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramText;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * This class is a text with placeholders compiled once, such as <b>"&eCoins: %coins% &7| Rank: %rank%"</b>.<p></p>
+ *
+ * The text is split into literal and placeholder segments with their color and decorations already
+ * parsed into chat component JSON, so rendering a player only resolves the placeholders and joins
+ * strings. Placeholder values are plain text and keep the formatting of the position they are in.
+ * Unknown placeholders are kept as literal text. A template is immutable and can be shared by many lines.
+ *
+ * @see TemplateHologramLine
+ */
+public final class HologramTemplate {
+
+    private static final String[] COLOR_NAMES = {
+          "black", "dark_blue", "dark_green", "dark_aqua", "dark_red", "dark_purple", "gold", "gray",
+          "dark_gray", "blue", "green", "aqua", "red", "light_purple", "yellow", "white"
+    };
+
+    private final String text;
+    private final Segment[] segments;
+    private final List<Function<Player, ?>> resolvers;
+    private final int legacyLength, jsonLength;
+
+    private HologramTemplate(String text, List<Segment> segments) {
+        this.text = text;
+        this.segments = segments.toArray(new Segment[0]);
+
+        final List<Function<Player, ?>> resolvers = new ArrayList<>();
+        int legacyLength = 0, jsonLength = 16;
+        for (Segment segment : this.segments) {
+            if (segment.resolver != null)
+                resolvers.add(segment.resolver);
+
+            legacyLength += segment.legacy.length() + 8;
+            jsonLength += segment.jsonPrefix.length() + segment.jsonSuffix.length() + 8;
+        }
+
+        this.resolvers = resolvers;
+        this.legacyLength = legacyLength;
+        this.jsonLength = jsonLength;
+    }
+
+    /**
+     * Compiles a text with placeholders.
+     *
+     * @param text the text, colors can use <b>&</b> or <b>§</b>.
+     * @param placeholders the resolvers of the placeholders, keyed by name without the <b>%</b>.
+     * @return the compiled {@link HologramTemplate}.
+     */
+    @NotNull
+    public static HologramTemplate compile(
+          @NotNull String text,
+          @NotNull Map<String, ? extends Function<Player, ?>> placeholders
+    ) {
+        final String translated = ChatColor.translateAlternateColorCodes('&', text);
+        final List<Segment> segments = new ArrayList<>();
+        final Format format = new Format();
+        final StringBuilder literal = new StringBuilder();
+        String literalPrefix = format.toLegacy(), literalJson = format.toJson();
+
+        for (int i = 0; i < translated.length(); i++) {
+            final char current = translated.charAt(i);
+
+            if (current == ChatColor.COLOR_CHAR && i + 1 < translated.length()) {
+                final String before = format.toLegacy();
+                if (!format.apply(Character.toLowerCase(translated.charAt(i + 1)))) {
+                    literal.append(current);
+                    continue;
+                }
+
+                i++;
+                if (format.toLegacy().equals(before)) continue;
+
+                if (literal.length() > 0)
+                    segments.add(Segment.literal(literalPrefix, literal.toString(), literalJson));
+
+                literal.setLength(0);
+                literalPrefix = format.toLegacy();
+                literalJson = format.toJson();
+                continue;
+            }
+
+            if (current == '%') {
+                final int end = translated.indexOf('%', i + 1);
+                final Function<Player, ?> resolver = end < 0 ? null : placeholders.get(translated.substring(i + 1, end));
+                if (resolver != null) {
+                    if (literal.length() > 0)
+                        segments.add(Segment.literal(literalPrefix, literal.toString(), literalJson));
+
+                    literal.setLength(0);
+                    segments.add(Segment.placeholder(format.toLegacy(), format.toJson(), resolver));
+                    literalPrefix = format.toLegacy();
+                    literalJson = format.toJson();
+                    i = end;
+                    continue;
+                }
+            }
+
+            literal.append(current);
+        }
+
+        if (literal.length() > 0)
+            segments.add(Segment.literal(literalPrefix, literal.toString(), literalJson));
+
+        return new HologramTemplate(text, segments);
+    }
+
+    /**
+     * Compiles a text without placeholders.
+     *
+     * @param text the text, colors can use <b>&</b> or <b>§</b>.
+     * @return the compiled {@link HologramTemplate}.
+     */
+    @NotNull
+    public static HologramTemplate compile(@NotNull String text) {
+        return compile(text, Collections.emptyMap());
+    }
+
+    /**
+     * Gets the text this template was compiled from.
+     *
+     * @return the source text.
+     */
+    @NotNull
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets how many placeholders this template has, which is the size of the values of a player.
+     *
+     * @return the amount of placeholders.
+     */
+    public int getPlaceholderCount() {
+        return resolvers.size();
+    }
+
+    /**
+     * Resolves the placeholders for a player.
+     *
+     * @param player the player.
+     * @param values the array that receives the values, in the order of the placeholders.
+     */
+    void resolve(@NotNull Player player, @NotNull String[] values) {
+        for (int i = 0; i < resolvers.size(); i++)
+            values[i] = String.valueOf(resolvers.get(i).apply(player));
+    }
+
+    /**
+     * Renders this template with resolved values.
+     *
+     * @param values the values of the placeholders, in order.
+     * @return the rendered text.
+     */
+    @NotNull
+    HologramText render(@NotNull String[] values) {
+        final StringBuilder legacy = new StringBuilder(legacyLength);
+        final StringBuilder json = new StringBuilder(jsonLength).append("{\"text\":\"\",\"extra\":[");
+
+        int value = 0;
+        for (int i = 0; i < segments.length; i++) {
+            final Segment segment = segments[i];
+            final String text = segment.resolver != null ? Objects.requireNonNull(values[value++]) : segment.legacy;
+
+            legacy.append(segment.legacyPrefix).append(text);
+
+            if (i > 0) json.append(',');
+            json.append(segment.jsonPrefix);
+            if (segment.resolver != null)
+                appendEscaped(json, text);
+            json.append(segment.jsonSuffix);
+        }
+
+        if (segments.length == 0)
+            json.append("{\"text\":\"\"}");
+
+        return new HologramText(legacy.toString(), json.append("]}").toString());
+    }
+
+    private static void appendEscaped(StringBuilder json, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            final char current = text.charAt(i);
+            switch (current) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                default:
+                    if (current < 0x20)
+                        json.append(String.format("\\u%04x", (int) current));
+                    else
+                        json.append(current);
+            }
+        }
+    }
+
+    private static final class Segment {
+
+        private final String legacyPrefix, legacy, jsonPrefix, jsonSuffix;
+        private final Function<Player, ?> resolver;
+
+        private Segment(
+              String legacyPrefix,
+              String legacy,
+              String jsonPrefix,
+              String jsonSuffix,
+              Function<Player, ?> resolver
+        ) {
+            this.legacyPrefix = legacyPrefix;
+            this.legacy = legacy;
+            this.jsonPrefix = jsonPrefix;
+            this.jsonSuffix = jsonSuffix;
+            this.resolver = resolver;
+        }
+
+        static Segment literal(String legacyPrefix, String text, String formatJson) {
+            final StringBuilder escaped = new StringBuilder(text.length() + 16).append("{\"text\":\"");
+            appendEscaped(escaped, text);
+            return new Segment(legacyPrefix, text, escaped.append('"').append(formatJson).append('}').toString(), "", null);
+        }
+
+        static Segment placeholder(String legacyPrefix, String formatJson, Function<Player, ?> resolver) {
+            return new Segment(legacyPrefix, "", "{\"text\":\"", "\"" + formatJson + "}", resolver);
+        }
+
+    }
+
+    /**
+     * The formatting state while a text is parsed, a color resets the decorations like in the legacy chat.
+     */
+    private static final class Format {
+
+        private int color = -1;
+        private boolean obfuscated, bold, strikethrough, underlined, italic;
+
+        /**
+         * Applies a format code.
+         *
+         * @return <b>false</b> if the code is unknown.
+         */
+        boolean apply(char code) {
+            final int color = Character.digit(code, 16);
+            if (color >= 0) {
+                reset();
+                this.color = color;
+                return true;
+            }
+
+            switch (code) {
+                case 'k':
+                    obfuscated = true;
+                    return true;
+                case 'l':
+                    bold = true;
+                    return true;
+                case 'm':
+                    strikethrough = true;
+                    return true;
+                case 'n':
+                    underlined = true;
+                    return true;
+                case 'o':
+                    italic = true;
+                    return true;
+                case 'r':
+                    reset();
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Writes this format as legacy color codes, a color already resets the decorations.
+         */
+        String toLegacy() {
+            if (color < 0 && !obfuscated && !bold && !strikethrough && !underlined && !italic)
+                return "";
+
+            final StringBuilder legacy = new StringBuilder();
+            if (color >= 0)
+                legacy.append(ChatColor.COLOR_CHAR).append(Character.forDigit(color, 16));
+            else
+                legacy.append(ChatColor.RESET);
+
+            if (obfuscated) legacy.append(ChatColor.COLOR_CHAR).append('k');
+            if (bold) legacy.append(ChatColor.COLOR_CHAR).append('l');
+            if (strikethrough) legacy.append(ChatColor.COLOR_CHAR).append('m');
+            if (underlined) legacy.append(ChatColor.COLOR_CHAR).append('n');
+            if (italic) legacy.append(ChatColor.COLOR_CHAR).append('o');
+
+            return legacy.toString();
+        }
+
+        /**
+         * Writes this format as the properties of a chat component, decorations are
+         * always written so they do not inherit from the parent component.
+         */
+        String toJson() {
+            return (color >= 0 ? ",\"color\":\"" + COLOR_NAMES[color] + "\"" : ",\"color\":\"white\"")
+                  + ",\"obfuscated\":" + obfuscated
+                  + ",\"bold\":" + bold
+                  + ",\"strikethrough\":" + strikethrough
+                  + ",\"underlined\":" + underlined
+                  + ",\"italic\":" + italic;
+        }
+
+        private void reset() {
+            color = -1;
+            obfuscated = bold = strikethrough = underlined = italic = false;
+        }
+
+    }
+
+}
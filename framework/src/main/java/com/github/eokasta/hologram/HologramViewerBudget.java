@@ -0,0 +1,215 @@
+package com.github.eokasta.hologram;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * This class keeps the holograms each player is allowed to see under the {@link HologramBudgetSettings}.<p></p>
+ *
+ * The allowed holograms of a player are ranked again only when the player moves or teleports,
+ * from the holograms of the chunk grid around the player and the private holograms of the player,
+ * with a heap bounded by the budget, so each ranking costs <i>O(n log k)</i> for <i>n</i> nearby
+ * holograms and a budget of <i>k</i>. Players who barely moved since their last ranking are not ranked
+ * again, and holograms spawned next to a player who stands still are admitted while the budget of the
+ * player is not full.
+ * Nothing is computed while the budget is unlimited.
+ *
+ * @see HologramBudgetSettings
+ */
+class HologramViewerBudget {
+
+    /**
+     * How far a player moves before the holograms around it are ranked again, squared.
+     */
+    private static final double RANK_DISTANCE_SQUARED = 4 * 4;
+
+    /**
+     * Orders candidates from the worst to the best, so the head of the heap is the next to be dropped.
+     */
+    private static final Comparator<Candidate> WORST_FIRST = Comparator
+          .<Candidate>comparingInt(candidate -> candidate.hologram.getPriority())
+          .thenComparing(Comparator.<Candidate>comparingDouble(candidate -> candidate.distanceSquared).reversed());
+
+    private final Map<UUID, Allowance> allowances = new HashMap<>();
+
+    @Getter
+    @NonNull
+    private HologramBudgetSettings settings = HologramBudgetSettings.builder().build();
+
+    /**
+     * Sets the budget settings, the holograms of each player are ranked again on their next movement.
+     *
+     * @param settings the new settings.
+     */
+    synchronized void setSettings(@NonNull HologramBudgetSettings settings) {
+        this.settings = settings;
+        allowances.clear();
+    }
+
+    /**
+     * Checks if players need to be ranked.
+     *
+     * @return <b>true</b> if the budget is limited.
+     */
+    boolean isLimited() {
+        return settings.isLimited();
+    }
+
+    /**
+     * Selects the holograms around a player that the player is allowed to see.
+     *
+     * @param player the player.
+     * @param at the location of the player, which can be ahead of {@link Player#getLocation()}.
+     * @param nearby the holograms around the location.
+     * @param force whether the holograms are ranked even if the player barely moved, such as after a teleport.
+     */
+    synchronized void rank(
+          @NotNull Player player,
+          @NotNull Location at,
+          @NotNull Collection<Hologram> nearby,
+          boolean force
+    ) {
+        if (!settings.isLimited()) return;
+
+        final Allowance previous = allowances.get(player.getUniqueId());
+        if (!force && previous != null && previous.rankedAt != null
+              && Objects.equals(previous.rankedAt.getWorld(), at.getWorld())
+              && previous.rankedAt.distanceSquared(at) < RANK_DISTANCE_SQUARED)
+            return;
+
+        final int maxHolograms = settings.getMaxHolograms();
+        final PriorityQueue<Candidate> heap = new PriorityQueue<>(Math.min(maxHolograms, nearby.size()) + 1, WORST_FIRST);
+
+        for (Hologram hologram : nearby) {
+            if (!hologram.isSpawned() || !hologram.isVisibleTo(player)) continue;
+
+            final double distanceSquared = hologram.distanceSquared(at);
+            if (distanceSquared > hologram.getViewDistanceSquared()) continue;
+
+            if (heap.size() < maxHolograms) {
+                heap.add(new Candidate(hologram, distanceSquared));
+            } else if (compare(hologram, distanceSquared, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(new Candidate(hologram, distanceSquared));
+            }
+        }
+
+        final Allowance allowance = select(heap);
+        allowance.rankedAt = at.clone();
+        allowances.put(player.getUniqueId(), allowance);
+    }
+
+    /**
+     * Checks if a player is allowed to see a hologram.
+     *
+     * @param player the player.
+     * @param hologram the hologram.
+     * @return <b>true</b> if the budget is unlimited or the hologram was selected for the player.
+     */
+    synchronized boolean isAllowed(@NotNull Player player, @NotNull Hologram hologram) {
+        if (!settings.isLimited()) return true;
+
+        final Allowance allowance = allowances.get(player.getUniqueId());
+        return allowance != null && allowance.holograms.contains(hologram);
+    }
+
+    /**
+     * Allows a hologram for a player if the budget of the player is not full yet,
+     * so new holograms do not wait for the next selection.
+     *
+     * @param player the player.
+     * @param hologram the hologram.
+     * @return <b>true</b> if the hologram is allowed for the player.
+     */
+    synchronized boolean tryAdmit(@NotNull Player player, @NotNull Hologram hologram) {
+        if (!settings.isLimited()) return true;
+
+        final Allowance allowance = allowances.computeIfAbsent(player.getUniqueId(), $ -> new Allowance());
+        if (allowance.holograms.contains(hologram)) return true;
+
+        final int lines = hologram.getLines().size();
+        if (allowance.holograms.size() >= settings.getMaxHolograms() || allowance.lines + lines > settings.getMaxLines())
+            return false;
+
+        allowance.holograms.add(hologram);
+        allowance.lines += lines;
+        return true;
+    }
+
+    /**
+     * Removes the allowed holograms of a player.
+     *
+     * @param player the player to be invalidated.
+     */
+    synchronized void invalidatePlayer(@NotNull Player player) {
+        allowances.remove(player.getUniqueId());
+    }
+
+    /**
+     * Admits the best candidates first until the line budget is spent.
+     */
+    private Allowance select(PriorityQueue<Candidate> heap) {
+        final List<Candidate> candidates = new ArrayList<>(heap);
+        candidates.sort(Collections.reverseOrder(WORST_FIRST));
+
+        final Allowance allowance = new Allowance();
+        for (Candidate candidate : candidates) {
+            final int lines = candidate.hologram.getLines().size();
+            if (allowance.lines + lines > settings.getMaxLines()) continue;
+
+            allowance.holograms.add(candidate.hologram);
+            allowance.lines += lines;
+        }
+
+        return allowance;
+    }
+
+    /**
+     * Compares a hologram with a candidate without allocating a candidate for it.
+     */
+    private static int compare(Hologram hologram, double distanceSquared, Candidate candidate) {
+        final int priority = Integer.compare(hologram.getPriority(), candidate.hologram.getPriority());
+        return priority != 0 ? priority : Double.compare(candidate.distanceSquared, distanceSquared);
+    }
+
+    private static final class Allowance {
+
+        private final Set<Hologram> holograms = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int lines;
+
+        /**
+         * Where the player was when the holograms were ranked, <b>null</b> if they were only admitted.
+         */
+        private Location rankedAt;
+
+    }
+
+    private static final class Candidate {
+
+        private final Hologram hologram;
+        private final double distanceSquared;
+
+        private Candidate(Hologram hologram, double distanceSquared) {
+            this.hologram = hologram;
+            this.distanceSquared = distanceSquared;
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramEquipmentCache;
+import com.github.eokasta.hologram.protocol.HologramPacket;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is responsible for creating a line with a floating item in holograms.<p></p>
+ *
+ * The item is equipped on the head of an invisible armor stand and the equipment
+ * packets of the static item are shared through the {@link HologramEquipmentCache}.
+ *
+ * @see DynamicHologramLine
+ */
+public class ItemHologramLine extends DynamicHologramLine {
+
+    @Getter
+    private volatile ItemStack item;
+
+    private final Map<UUID, ItemStack> sentItems = new ConcurrentHashMap<>();
+    private volatile HologramPacket equipmentPacket;
+
+    public ItemHologramLine(@NotNull Hologram hologram) {
+        super(hologram, HologramSettings.builder()
+                    .visibleArmorStand(false)
+                    .visibleCustomName(false)
+                    .build(),
+              0.6f);
+    }
+
+    /**
+     * Sets the item of this line, the viewers receive the new item on the next update.
+     * It can be called from any thread.
+     *
+     * @param item the item to be shown.
+     */
+    public void setItem(@NotNull ItemStack item) {
+        this.item = item.clone();
+        this.equipmentPacket = null;
+    }
+
+    @Override
+    protected void show(@NotNull Player player) {
+        super.show(player);
+
+        HologramProtocol.sendMetadataCreatePacket(
+              entityId,
+              player,
+              "",
+              settings.isVisibleCustomName(),
+              settings.isVisibleArmorStand(),
+              settings.isSmall(),
+              settings.isArms(),
+              settings.isNoBasePlate(),
+              settings.isMarker()
+        );
+
+        sentItems.remove(player.getUniqueId());
+        this.update(player);
+    }
+
+    @Override
+    protected void hide(@NotNull Player player) {
+        super.hide(player);
+        sentItems.remove(player.getUniqueId());
+    }
+
+    @Override
+    protected void invalidatePlayer(@NotNull UUID uniqueId) {
+        sentItems.remove(uniqueId);
+    }
+
+    @Override
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        // the sent items are shared with the item of the line.
+        usage.addViewerStates(sentItems.size(), HologramMemoryUsage.ENTRY_BYTES);
+    }
+
+    @Override
+    protected void update(@NotNull Player player) {
+        final ItemStack item =
+              Objects.requireNonNull(applyOrGetValue(this.item, player), "Hologram line item cannot be null.");
+
+        final ItemStack sentItem = sentItems.get(player.getUniqueId());
+        if (sentItem != null && (sentItem == item || sentItem.equals(item))) {
+            onUpdate(player);
+            return;
+        }
+
+        sentItems.put(player.getUniqueId(), item);
+        HologramProtocol.sendPacket(getEquipmentPacket(item), player);
+
+        onUpdate(player);
+    }
+
+    private HologramPacket getEquipmentPacket(ItemStack item) {
+        // items of dynamic functions can differ for every player, so they are not cached.
+        if (item != this.item)
+            return HologramProtocol.createEquipmentPacket(entityId, item);
+
+        if (equipmentPacket == null)
+            equipmentPacket = HologramEquipmentCache.getEquipmentPacket(entityId, item);
+
+        return equipmentPacket;
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramPacket;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is responsible for a row of a {@link HologramLeaderboard}.<p></p>
+ *
+ * The row is the same for every viewer, so its metadata is encoded once per text and a viewer
+ * only receives it when the row changed since the last text sent to that viewer. The text, its version
+ * and its packet are published together, so a viewer never records a version it was not sent.
+ *
+ * @see HologramLeaderboard
+ */
+public class LeaderboardHologramLine extends AbstractHologramLine {
+
+    private volatile Row row = new Row(0, "");
+    private final Map<UUID, Integer> sentVersions = new ConcurrentHashMap<>();
+
+    LeaderboardHologramLine(@NotNull Hologram hologram) {
+        super(hologram, HologramSettings.builder()
+              .visibleArmorStand(false)
+              .visibleCustomName(true)
+              .build(), 0.26f);
+    }
+
+    /**
+     * Changes the text of this row, marking it dirty if the text differs.
+     *
+     * @param text the new text.
+     */
+    synchronized void setText(@NotNull String text) {
+        final Row row = this.row;
+        if (text.equals(row.text)) return;
+
+        this.row = new Row(row.version + 1, text);
+    }
+
+    /**
+     * Gets the current text of this row.
+     *
+     * @return the text.
+     */
+    @NotNull
+    public String getText() {
+        return row.text;
+    }
+
+    @Override
+    protected void show(@NotNull Player player) {
+        super.show(player);
+
+        sentVersions.remove(player.getUniqueId());
+        this.update(player);
+    }
+
+    @Override
+    protected void hide(@NotNull Player player) {
+        super.hide(player);
+        sentVersions.remove(player.getUniqueId());
+    }
+
+    @Override
+    protected void invalidatePlayer(@NotNull UUID uniqueId) {
+        sentVersions.remove(uniqueId);
+    }
+
+    @Override
+    protected long estimateBytes() {
+        return super.estimateBytes() + HologramMemoryUsage.estimateString(row.text);
+    }
+
+    @Override
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        usage.addViewerStates(sentVersions.size(), HologramMemoryUsage.ENTRY_BYTES + HologramMemoryUsage.OBJECT_BYTES);
+    }
+
+    @Override
+    protected void update(@NotNull Player player) {
+        final Row row = this.row;
+        final Integer sent = sentVersions.put(player.getUniqueId(), row.version);
+        if (sent == null || sent != row.version)
+            HologramProtocol.sendPacket(getPacket(row), player);
+
+        onUpdate(player);
+    }
+
+    private HologramPacket getPacket(Row row) {
+        HologramPacket packet = row.packet;
+        if (packet != null) return packet;
+
+        // racing viewers encode the same text, so either packet can be kept.
+        packet = HologramProtocol.createMetadataPacket(
+              entityId,
+              row.text,
+              settings.isVisibleCustomName(),
+              settings.isVisibleArmorStand(),
+              settings.isSmall(),
+              settings.isArms(),
+              settings.isNoBasePlate(),
+              settings.isMarker()
+        );
+
+        row.packet = packet;
+        return packet;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Row {
+
+        private final int version;
+        private final String text;
+        private volatile HologramPacket packet;
+
+    }
+
+}
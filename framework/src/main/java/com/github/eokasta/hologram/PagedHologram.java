@@ -0,0 +1,224 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramPacket;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is a hologram with many pages of text, where each viewer sees its own page.<p></p>
+ *
+ * A right click shows the next page and a left click the previous one. The hologram has as many
+ * lines as its largest page and a page switch only sends the metadata of the lines whose text
+ * differs, the entities are never spawned again. The metadata of each line of each page is
+ * encoded once and shared by every viewer of that page.
+ *
+ * @see PagedHologramLine
+ */
+public class PagedHologram extends Hologram {
+
+    private final List<List<String>> pages;
+
+    /**
+     * The metadata packets indexed by row and page, created when first sent.
+     */
+    private final HologramPacket[][] packets;
+
+    private final Map<UUID, Integer> viewerPages = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a paged hologram.
+     *
+     * @param pages the texts of each page, from the top to the bottom.
+     */
+    public PagedHologram(@NotNull List<List<String>> pages) {
+        super(new ArrayList<>());
+        if (pages.isEmpty())
+            throw new IllegalArgumentException("Paged hologram needs at least one page.");
+
+        final List<List<String>> copies = new ArrayList<>(pages.size());
+        int lineCount = 0;
+        for (List<String> page : pages) {
+            copies.add(Collections.unmodifiableList(new ArrayList<>(page)));
+            lineCount = Math.max(lineCount, page.size());
+        }
+
+        this.pages = Collections.unmodifiableList(copies);
+        this.packets = new HologramPacket[lineCount][pages.size()];
+
+        // lines are stored from the bottom to the top.
+        for (int row = lineCount - 1; row >= 0; row--)
+            addLine(new PagedHologramLine(this, row));
+
+        final HologramInteractHandler interactHandler = new HologramInteractHandler();
+        interactHandler.addAction(HologramInteractAction.RIGHT_CLICK, context -> switchPage(context.getPlayer(), 1));
+        interactHandler.addAction(HologramInteractAction.LEFT_CLICK, context -> switchPage(context.getPlayer(), -1));
+        setInteractHandler(interactHandler);
+    }
+
+    /**
+     * Gets the texts of all pages.
+     *
+     * @return unmodifiable pages, each from the top to the bottom.
+     */
+    @NotNull
+    public List<List<String>> getPages() {
+        return pages;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Gets the page a player is seeing.
+     *
+     * @param player the player.
+     * @return the index of the page, from <b>0</b>.
+     */
+    public int getPage(@NotNull Player player) {
+        return viewerPages.getOrDefault(player.getUniqueId(), 0);
+    }
+
+    /**
+     * Shows a page to a player, only the lines whose text differs are sent.
+     *
+     * @param player the player.
+     * @param page the index of the page, from <b>0</b>.
+     */
+    public void setPage(@NotNull Player player, int page) {
+        if (page < 0 || page >= pages.size())
+            throw new IndexOutOfBoundsException("Page: " + page + ", Pages: " + pages.size());
+
+        if (page == 0)
+            viewerPages.remove(player.getUniqueId());
+        else
+            viewerPages.put(player.getUniqueId(), page);
+
+        if (!isViewer(player)) return;
+
+        for (AbstractHologramLine line : getLines())
+            line.update(player);
+    }
+
+    /**
+     * Shows the next page to a player, going back to the first page after the last one.
+     *
+     * @param player the player.
+     */
+    public void nextPage(@NotNull Player player) {
+        setPage(player, Math.floorMod(getPage(player) + 1, pages.size()));
+    }
+
+    /**
+     * Shows the previous page to a player, going to the last page before the first one.
+     *
+     * @param player the player.
+     */
+    public void previousPage(@NotNull Player player) {
+        setPage(player, Math.floorMod(getPage(player) - 1, pages.size()));
+    }
+
+    @Override
+    protected synchronized void invalidatePlayer(@NotNull UUID uniqueId) {
+        super.invalidatePlayer(uniqueId);
+        viewerPages.remove(uniqueId);
+    }
+
+    @Override
+    protected long estimateBytes() {
+        long bytes = super.estimateBytes();
+        for (List<String> page : pages) {
+            bytes += HologramMemoryUsage.OBJECT_BYTES * 3 + page.size() * HologramMemoryUsage.REFERENCE_BYTES;
+            for (String text : page)
+                bytes += HologramMemoryUsage.estimateString(text);
+        }
+
+        return bytes + packets.length * (HologramMemoryUsage.OBJECT_BYTES + 4 + pages.size() * HologramMemoryUsage.REFERENCE_BYTES);
+    }
+
+    @Override
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        super.estimateViewerStates(usage);
+        usage.addViewerStates(viewerPages.size(), HologramMemoryUsage.ENTRY_BYTES + HologramMemoryUsage.OBJECT_BYTES);
+    }
+
+    /**
+     * Gets the text of a row in a page, rows after the end of the page are empty.
+     *
+     * @param row the row, from the top.
+     * @param page the index of the page.
+     * @return the text of the row.
+     */
+    @NotNull
+    String getText(int row, int page) {
+        final List<String> texts = pages.get(page);
+        return row < texts.size() ? texts.get(row) : "";
+    }
+
+    /**
+     * Gets the shared metadata packet of a row in a page, pages with the same text share the same packet.
+     *
+     * @param line the line of the row.
+     * @param page the index of the page.
+     * @return the metadata packet.
+     */
+    @NotNull
+    HologramPacket getPacket(@NotNull PagedHologramLine line, int page) {
+        final HologramPacket[] rowPackets = packets[line.getRow()];
+        HologramPacket packet = rowPackets[page];
+        if (packet != null)
+            return packet;
+
+        final String text = getText(line.getRow(), page);
+        for (int other = 0; other < rowPackets.length && packet == null; other++)
+            if (rowPackets[other] != null && text.equals(getText(line.getRow(), other)))
+                packet = rowPackets[other];
+
+        if (packet == null) {
+            final HologramSettings settings = line.getSettings();
+            packet = HologramProtocol.createMetadataPacket(
+                  line.getEntityId(),
+                  text,
+                  !text.isEmpty() && settings.isVisibleCustomName(),
+                  settings.isVisibleArmorStand(),
+                  settings.isSmall(),
+                  settings.isArms(),
+                  settings.isNoBasePlate(),
+                  settings.isMarker()
+            );
+        }
+
+        return rowPackets[page] = packet;
+    }
+
+    /**
+     * Switches the page of a player on the main thread, clicks may be dispatched from the network threads.
+     */
+    private void switchPage(Player player, int offset) {
+        final Runnable switchPage = () -> {
+            if (offset > 0)
+                nextPage(player);
+            else
+                previousPage(player);
+        };
+
+        if (Bukkit.isPrimaryThread()) {
+            switchPage.run();
+            return;
+        }
+
+        final HologramRegistry registry = getRegistry();
+        if (registry != null && registry.getEngine().getPlugin().isEnabled())
+            registry.getScheduler().runFor(player, switchPage);
+    }
+
+}
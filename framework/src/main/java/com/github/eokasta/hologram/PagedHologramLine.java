@@ -0,0 +1,77 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is responsible for a row of a {@link PagedHologram}, showing
+ * the text of that row in the page each viewer is seeing.
+ *
+ * @see PagedHologram
+ */
+public class PagedHologramLine extends AbstractHologramLine {
+
+    /**
+     * The row of this line, from the top.
+     */
+    @Getter
+    private final int row;
+
+    private final Map<UUID, Integer> sentPages = new ConcurrentHashMap<>();
+
+    PagedHologramLine(@NotNull PagedHologram hologram, int row) {
+        super(hologram, HologramSettings.builder()
+              .visibleArmorStand(false)
+              .visibleCustomName(true)
+              .build(), 0.26f);
+        this.row = row;
+    }
+
+    @Override
+    protected void show(@NotNull Player player) {
+        super.show(player);
+
+        sentPages.remove(player.getUniqueId());
+        this.update(player);
+    }
+
+    @Override
+    protected void hide(@NotNull Player player) {
+        super.hide(player);
+        sentPages.remove(player.getUniqueId());
+    }
+
+    @Override
+    protected void invalidatePlayer(@NotNull UUID uniqueId) {
+        sentPages.remove(uniqueId);
+    }
+
+    @Override
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        usage.addViewerStates(sentPages.size(), HologramMemoryUsage.ENTRY_BYTES + HologramMemoryUsage.OBJECT_BYTES);
+    }
+
+    /**
+     * Sends the text of the page of the player, if it differs from the text the player is seeing.
+     *
+     * @param player player who will receive the update.
+     */
+    @Override
+    protected void update(@NotNull Player player) {
+        final PagedHologram hologram = (PagedHologram) this.hologram;
+        final int page = hologram.getPage(player);
+        final Integer sent = sentPages.put(player.getUniqueId(), page);
+
+        if (sent == null || !hologram.getText(row, sent).equals(hologram.getText(row, page)))
+            HologramProtocol.sendPacket(hologram.getPacket(this, page), player);
+
+        onUpdate(player);
+    }
+
+}
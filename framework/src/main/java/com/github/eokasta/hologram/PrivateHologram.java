@@ -0,0 +1,273 @@
+package com.github.eokasta.hologram;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is a hologram seen only by an explicit set of players, such as quest markers
+ * or damage indicators.<p></p>
+ *
+ * Only the players of its audience are checked on spawn, updates and movements, the other
+ * players of the world are never scanned nor tracked. A private hologram only enters the pool when
+ * its owner calls {@link PrivateHologram#returnToPool()}, which keeps its text lines and entity
+ * identifiers for the next {@link PrivateHologram#create(Player, List)}, so the owner must drop its
+ * reference afterwards. Destroyed private holograms release their entity identifiers as any hologram.
+ * The pool can be accessed from any thread.<p></p>
+ *
+ * The audience is kept by the unique id of each player, so it never keeps players who left alive.
+ *
+ * @see Hologram
+ */
+public class PrivateHologram extends Hologram {
+
+    /**
+     * The maximum amount of destroyed private holograms kept for reuse.
+     */
+    private static final int MAX_POOLED_HOLOGRAMS = 1024;
+
+    private static final Deque<PrivateHologram> POOL = new ConcurrentLinkedDeque<>();
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    private final Set<UUID> audience = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether this hologram is in the pool, waiting to be reused.
+     */
+    private boolean pooled;
+
+    /**
+     * Whether this hologram is being destroyed by {@link PrivateHologram#returnToPool()}.
+     */
+    private boolean returning;
+
+    public PrivateHologram() {
+        super(new ArrayList<>());
+    }
+
+    /**
+     * Creates a private hologram of text lines, reusing a pooled one when possible.
+     *
+     * @param viewer the player who will see the hologram.
+     * @param texts the texts of the lines, from the top to the bottom.
+     * @return a {@link PrivateHologram} ready to be spawned.
+     */
+    @NotNull
+    public static PrivateHologram create(@NotNull Player viewer, @NotNull List<String> texts) {
+        PrivateHologram hologram = POOL.poll();
+        if (hologram == null)
+            hologram = new PrivateHologram();
+        else
+            POOL_SIZE.decrementAndGet();
+
+        hologram.pooled = false;
+        hologram.setTexts(texts);
+        hologram.addViewer(viewer);
+        return hologram;
+    }
+
+    /**
+     * Creates a private hologram of text lines and registers it on a {@link HologramRegistry}.
+     *
+     * @param registry the registry of the hologram.
+     * @param viewer the player who will see the hologram.
+     * @param texts the texts of the lines, from the top to the bottom.
+     * @return a {@link PrivateHologram} ready to be spawned.
+     * @see PrivateHologram#create(Player, List)
+     */
+    @NotNull
+    public static PrivateHologram create(
+          @NotNull HologramRegistry registry,
+          @NotNull Player viewer,
+          @NotNull List<String> texts
+    ) {
+        final PrivateHologram hologram = create(viewer, texts);
+        registry.registerHologram(hologram);
+
+        return hologram;
+    }
+
+    /**
+     * Gets the unique ids of the players allowed to see this hologram.
+     *
+     * @return unmodifiable audience of this hologram.
+     */
+    @NotNull
+    public Set<UUID> getAudience() {
+        return Collections.unmodifiableSet(audience);
+    }
+
+    /**
+     * Allows a player to see this hologram, showing it right away if the player is in range.
+     *
+     * @param player the player.
+     */
+    public void addViewer(@NotNull Player player) {
+        if (!audience.add(player.getUniqueId())) return;
+
+        final HologramRegistry registry = getRegistry();
+        if (registry != null)
+            registry.getEngine().addAudience(this, player.getUniqueId());
+
+        if (isSpawned() && player.getWorld().equals(getLocation().getWorld()))
+            updateVisibility(player, player.getLocation());
+    }
+
+    /**
+     * Removes a player from the audience, hiding this hologram from the player.
+     *
+     * @param player the player.
+     */
+    public void removeViewer(@NotNull Player player) {
+        if (!audience.remove(player.getUniqueId())) return;
+
+        final HologramRegistry registry = getRegistry();
+        if (registry != null)
+            registry.getEngine().removeAudience(this, player.getUniqueId());
+
+        exclude(player);
+    }
+
+    /**
+     * Replaces the lines of this hologram with text lines, reusing the current ones.
+     *
+     * @param texts the texts of the lines, from the top to the bottom.
+     */
+    public void setTexts(@NotNull List<String> texts) {
+        while (getLines().size() > texts.size())
+            removeLine(getLines().size() - 1);
+
+        while (getLines().size() < texts.size())
+            addLine(new TextHologramLine(this));
+
+        // lines are stored from the bottom to the top.
+        for (int i = 0; i < texts.size(); i++) {
+            final int index = texts.size() - 1 - i;
+            final AbstractHologramLine line = getLine(index);
+            if (line == null || line.getClass() != TextHologramLine.class) {
+                final TextHologramLine textLine = new TextHologramLine(this);
+                textLine.setText(texts.get(i));
+                replaceLine(index, textLine);
+                continue;
+            }
+
+            final TextHologramLine textLine = (TextHologramLine) line;
+            textLine.setFunction(null);
+            textLine.setText(texts.get(i));
+        }
+
+        for (Player viewer : resolveViewers())
+            update(viewer);
+    }
+
+    @Override
+    public boolean isVisibleTo(@NotNull Player player) {
+        return audience.contains(player.getUniqueId()) && super.isVisibleTo(player);
+    }
+
+    /**
+     * Removes a player who left from the audience, the engine already dropped its index.
+     *
+     * @param uniqueId the unique id of the player.
+     */
+    void forgetAudience(@NotNull UUID uniqueId) {
+        audience.remove(uniqueId);
+    }
+
+    @NotNull
+    @Override
+    List<Player> getPlayersOnWorld() {
+        final World world = getLocation().getWorld();
+        final List<Player> players = new ArrayList<>(audience.size());
+        for (UUID uniqueId : audience) {
+            final Player player = Bukkit.getPlayer(uniqueId);
+            if (player != null && player.getWorld().equals(world))
+                players.add(player);
+        }
+
+        return players;
+    }
+
+    /**
+     * Destroys and unregisters this hologram and returns it to the pool, so a following
+     * {@link PrivateHologram#create(Player, List)} reuses its lines and entity identifiers.<p></p>
+     *
+     * The caller hands this hologram over to the pool and must not use it anymore. Holograms already
+     * destroyed, with lines other than text lines or that do not fit in the pool are released instead.
+     */
+    public void returnToPool() {
+        checkNotPooled();
+
+        // a destroyed hologram already released its entity identifiers.
+        final boolean poolable = !isDestroyed() && isPoolable();
+        if (!isDestroyed()) {
+            returning = poolable;
+            try {
+                destroy();
+            } finally {
+                returning = false;
+            }
+        }
+
+        final HologramRegistry registry = getRegistry();
+        if (registry != null)
+            registry.unregisterHologram(this);
+
+        if (!poolable) return;
+
+        audience.clear();
+        recycle();
+        pooled = true;
+        POOL.push(this);
+        POOL_SIZE.incrementAndGet();
+    }
+
+    @Override
+    public void spawn(@NotNull Location location) {
+        checkNotPooled();
+        super.spawn(location);
+    }
+
+    @Override
+    public void destroy() {
+        checkNotPooled();
+        super.destroy();
+    }
+
+    /**
+     * Keeps the entity identifiers of a hologram that is being returned to the pool.
+     */
+    @Override
+    void release() {
+        if (!returning)
+            super.release();
+    }
+
+    private void checkNotPooled() {
+        if (pooled)
+            throw new IllegalStateException("Private hologram was returned to the pool.");
+    }
+
+    private boolean isPoolable() {
+        if (POOL_SIZE.get() >= MAX_POOLED_HOLOGRAMS) return false;
+
+        for (AbstractHologramLine line : getLines())
+            if (line.getClass() != TextHologramLine.class)
+                return false;
+
+        return true;
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.github.eokasta.hologram;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+/**
+ * This class runs the hologram tasks on the threads of a region-threaded server, such as Folia.<p></p>
+ *
+ * The schedulers of these servers are not part of the Bukkit API this framework is compiled against,
+ * so they are looked up once by reflection. Plugins still need to declare themselves as supported by
+ * the server, such as <b>folia-supported: true</b> in their plugin.yml.
+ *
+ * @see HologramScheduler
+ */
+public class RegionizedHologramScheduler implements HologramScheduler {
+
+    private static final String REGIONIZED_SERVER = "io.papermc.paper.threadedregions.RegionizedServer";
+
+    private static final Method GET_GLOBAL_SCHEDULER, GET_REGION_SCHEDULER, GET_ENTITY_SCHEDULER;
+    private static final Method GLOBAL_RUN_AT_FIXED_RATE, GLOBAL_EXECUTE, REGION_EXECUTE, ENTITY_EXECUTE;
+    private static final Method TASK_CANCEL, IS_OWNED_BY_CURRENT_REGION;
+
+    static {
+        Method getGlobalScheduler = null, getRegionScheduler = null, getEntityScheduler = null;
+        Method globalRunAtFixedRate = null, globalExecute = null, regionExecute = null, entityExecute = null;
+        Method taskCancel = null, isOwnedByCurrentRegion = null;
+
+        try {
+            Class.forName(REGIONIZED_SERVER);
+
+            getGlobalScheduler = Bukkit.class.getMethod("getGlobalRegionScheduler");
+            getRegionScheduler = Bukkit.class.getMethod("getRegionScheduler");
+            getEntityScheduler = Entity.class.getMethod("getScheduler");
+
+            globalRunAtFixedRate = getGlobalScheduler.getReturnType()
+                  .getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+            globalExecute = getGlobalScheduler.getReturnType().getMethod("execute", Plugin.class, Runnable.class);
+            regionExecute = getRegionScheduler.getReturnType()
+                  .getMethod("execute", Plugin.class, World.class, int.class, int.class, Runnable.class);
+            entityExecute = getEntityScheduler.getReturnType()
+                  .getMethod("execute", Plugin.class, Runnable.class, Runnable.class, long.class);
+            taskCancel = globalRunAtFixedRate.getReturnType().getMethod("cancel");
+            isOwnedByCurrentRegion = Bukkit.class.getMethod("isOwnedByCurrentRegion", World.class, int.class, int.class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            getGlobalScheduler = null;
+        }
+
+        GET_GLOBAL_SCHEDULER = getGlobalScheduler;
+        GET_REGION_SCHEDULER = getRegionScheduler;
+        GET_ENTITY_SCHEDULER = getEntityScheduler;
+        GLOBAL_RUN_AT_FIXED_RATE = globalRunAtFixedRate;
+        GLOBAL_EXECUTE = globalExecute;
+        REGION_EXECUTE = regionExecute;
+        ENTITY_EXECUTE = entityExecute;
+        TASK_CANCEL = taskCancel;
+        IS_OWNED_BY_CURRENT_REGION = isOwnedByCurrentRegion;
+    }
+
+    private final Plugin plugin;
+    private final Object globalScheduler, regionScheduler;
+
+    /**
+     * Creates the scheduler of a plugin.
+     *
+     * @param plugin the plugin that owns the tasks.
+     * @throws IllegalStateException if the server is not region-threaded.
+     */
+    public RegionizedHologramScheduler(@NotNull Plugin plugin) {
+        if (!isSupported())
+            throw new IllegalStateException("The server is not region-threaded.");
+
+        this.plugin = plugin;
+        this.globalScheduler = invoke(GET_GLOBAL_SCHEDULER, null);
+        this.regionScheduler = invoke(GET_REGION_SCHEDULER, null);
+    }
+
+    /**
+     * Checks if the server is region-threaded.
+     *
+     * @return <b>true</b> if the region schedulers were found.
+     */
+    public static boolean isSupported() {
+        return GET_GLOBAL_SCHEDULER != null;
+    }
+
+    @NotNull
+    @Override
+    public Task runTimer(@NotNull Runnable task, long delay, long period) {
+        final Consumer<Object> consumer = $ -> task.run();
+        final Object scheduled = invoke(GLOBAL_RUN_AT_FIXED_RATE, globalScheduler, plugin, consumer, Math.max(1, delay), period);
+
+        return () -> invoke(TASK_CANCEL, scheduled);
+    }
+
+    @Override
+    public void run(@NotNull Runnable task) {
+        invoke(GLOBAL_EXECUTE, globalScheduler, plugin, task);
+    }
+
+    @Override
+    public void runAt(@NotNull World world, int chunkX, int chunkZ, @NotNull Runnable task) {
+        if ((boolean) invoke(IS_OWNED_BY_CURRENT_REGION, null, world, chunkX, chunkZ)) {
+            task.run();
+            return;
+        }
+
+        invoke(REGION_EXECUTE, regionScheduler, plugin, world, chunkX, chunkZ, task);
+    }
+
+    @Override
+    public void runFor(@NotNull Player player, @NotNull Runnable task) {
+        invoke(ENTITY_EXECUTE, invoke(GET_ENTITY_SCHEDULER, player), plugin, task, null, 1L);
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return true;
+    }
+
+    private static Object invoke(Method method, Object target, Object... arguments) {
+        try {
+            return method.invoke(target, arguments);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access the region scheduler.", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("The region scheduler failed.", e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.github.eokasta.hologram;
+
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * This class is responsible for creating a line with a floating player head in holograms.<p></p>
+ *
+ * Setting the owner of a head can look the profile up from the Mojang servers, so heads are
+ * created on a dedicated thread and the line shows a plain head until its owner is resolved.
+ * The heads are cached per owner, up to {@link SkullHologramLine#MAX_HEADS} recently used
+ * owners, so every line of the same owner shares the same item and equipment packet template.
+ *
+ * @see ItemHologramLine
+ */
+public class SkullHologramLine extends ItemHologramLine {
+
+    /**
+     * The maximum amount of cached heads.
+     */
+    public static final int MAX_HEADS = 256;
+
+    private static final Map<String, CompletableFuture<ItemStack>> HEADS =
+          new LinkedHashMap<String, CompletableFuture<ItemStack>>(64, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<ItemStack>> eldest) {
+                  return size() > MAX_HEADS;
+              }
+          };
+
+    private static final Executor RESOLVER = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "Hologram Skull Resolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile ItemStack plainHead;
+
+    @Getter
+    private final String owner;
+
+    public SkullHologramLine(@NotNull Hologram hologram, @NotNull String owner) {
+        super(hologram);
+        this.owner = owner;
+
+        final CompletableFuture<ItemStack> head = getHead(owner);
+        final ItemStack resolved = head.getNow(null);
+        if (resolved != null) {
+            setItem(resolved);
+            return;
+        }
+
+        setItem(getPlainHead());
+        head.thenAccept(this::setItem);
+    }
+
+    private static CompletableFuture<ItemStack> getHead(String owner) {
+        final CompletableFuture<ItemStack> head;
+        synchronized (HEADS) {
+            final CompletableFuture<ItemStack> cached = HEADS.get(owner);
+            if (cached != null) return cached;
+
+            head = CompletableFuture.supplyAsync(() -> createHead(owner), RESOLVER);
+            HEADS.put(owner, head);
+        }
+
+        head.whenComplete(($, throwable) -> {
+            if (throwable == null) return;
+
+            // the owner is looked up again by the next line.
+            synchronized (HEADS) {
+                HEADS.remove(owner, head);
+            }
+
+            Bukkit.getLogger().log(Level.WARNING, "Could not resolve the head of " + owner + ".", throwable);
+        });
+
+        return head;
+    }
+
+    private static ItemStack getPlainHead() {
+        ItemStack head = plainHead;
+        if (head == null)
+            plainHead = head = createHead(null);
+
+        return head;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static ItemStack createHead(@Nullable String owner) {
+        final Material material = Material.matchMaterial("PLAYER_HEAD");
+        final ItemStack head = material != null ?
+              new ItemStack(material) :
+              new ItemStack(Objects.requireNonNull(Material.matchMaterial("SKULL_ITEM"), "Skull material not found."), 1, (short) 3);
+
+        if (owner == null) return head;
+
+        final SkullMeta meta = (SkullMeta) head.getItemMeta();
+        if (meta != null) {
+            meta.setOwner(owner);
+            head.setItemMeta(meta);
+        }
+
+        return head;
+    }
+
+}
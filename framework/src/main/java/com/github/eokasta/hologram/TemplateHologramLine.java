@@ -0,0 +1,118 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is responsible for creating a line of text from a {@link HologramTemplate}.<p></p>
+ *
+ * Only the placeholders are resolved for each viewer and the text is rendered and sent
+ * only when a value changed since the last text sent to that viewer.
+ *
+ * @see HologramTemplate
+ */
+public class TemplateHologramLine extends AbstractHologramLine {
+
+    @Getter
+    private final HologramTemplate template;
+
+    private final Map<UUID, String[]> sentValues = new ConcurrentHashMap<>();
+    private final String[] values;
+
+    public TemplateHologramLine(@NotNull Hologram hologram, @NotNull HologramTemplate template) {
+        this(hologram, HologramSettings.builder()
+              .visibleArmorStand(false)
+              .visibleCustomName(true)
+              .build(), template);
+    }
+
+    public TemplateHologramLine(
+          @NotNull Hologram hologram,
+          @NotNull HologramSettings settings,
+          @NotNull HologramTemplate template
+    ) {
+        super(hologram, settings, 0.26f);
+        this.template = template;
+        this.values = new String[template.getPlaceholderCount()];
+    }
+
+    @Override
+    protected boolean isDynamic() {
+        return template.getPlaceholderCount() > 0;
+    }
+
+    @Override
+    protected void show(@NotNull Player player) {
+        super.show(player);
+
+        sentValues.remove(player.getUniqueId());
+        this.update(player);
+    }
+
+    @Override
+    protected void hide(@NotNull Player player) {
+        super.hide(player);
+        sentValues.remove(player.getUniqueId());
+    }
+
+    @Override
+    protected void invalidatePlayer(@NotNull UUID uniqueId) {
+        sentValues.remove(uniqueId);
+    }
+
+    @Override
+    protected long estimateBytes() {
+        long bytes = super.estimateBytes() + HologramMemoryUsage.OBJECT_BYTES + 4;
+        for (String value : values)
+            bytes += HologramMemoryUsage.REFERENCE_BYTES + HologramMemoryUsage.estimateString(value);
+
+        return bytes;
+    }
+
+    @Override
+    protected void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        for (String[] sent : sentValues.values()) {
+            long bytes = HologramMemoryUsage.ENTRY_BYTES + HologramMemoryUsage.OBJECT_BYTES + 4;
+            for (String value : sent)
+                bytes += HologramMemoryUsage.REFERENCE_BYTES + HologramMemoryUsage.estimateString(value);
+
+            usage.addViewerStates(1, bytes);
+        }
+    }
+
+    @Override
+    protected void update(@NotNull Player player) {
+        template.resolve(player, values);
+
+        String[] sent = sentValues.get(player.getUniqueId());
+        if (sent != null && Arrays.equals(sent, values)) {
+            onUpdate(player);
+            return;
+        }
+
+        if (sent == null)
+            sentValues.put(player.getUniqueId(), sent = new String[values.length]);
+
+        System.arraycopy(values, 0, sent, 0, values.length);
+        HologramProtocol.sendPacket(HologramProtocol.createMetadataPacket(
+              entityId,
+              template.render(values),
+              settings.isVisibleCustomName(),
+              settings.isVisibleArmorStand(),
+              settings.isSmall(),
+              settings.isArms(),
+              settings.isNoBasePlate(),
+              settings.isMarker()
+        ), player);
+
+        onUpdate(player);
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.github.eokasta.hologram;
+
+import com.github.eokasta.hologram.protocol.HologramPacket;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class renders a whole hologram as a single text display entity,
+ * so each viewer receives one spawn and one metadata packet instead of a pair per line.<p></p>
+ *
+ * Text displays cannot be clicked and only render text, so holograms with
+ * interactions or other line types keep using armor stands.<p></p>
+ *
+ * On versions that support it, the client moves the display smoothly between teleports
+ * over the interpolation duration of the hologram.
+ *
+ * @see HologramRenderer
+ */
+class TextDisplayHologramRenderer implements HologramRenderer {
+
+    /**
+     * Heights of the armor stands of the lines, their name tags are drawn above them.
+     */
+    private static final double ARMOR_STAND_HEIGHT = 1.975, SMALL_ARMOR_STAND_HEIGHT = 0.9875;
+
+    /**
+     * A name tag is drawn downwards from half a block above its entity, one text line tall.
+     */
+    private static final double NAME_TAG_OFFSET = 0.5, TEXT_LINE_HEIGHT = 0.25;
+
+    private final Hologram hologram;
+    private final int entityId = EntityIdAllocator.allocate();
+    private final Map<UUID, List<String>> sentTexts = new ConcurrentHashMap<>();
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private List<String> sharedTexts;
+    private HologramPacket sharedPacket;
+
+    /**
+     * The last teleport and interpolation packets, they are the same for every viewer.
+     */
+    private Location teleportLocation;
+    private HologramPacket teleportPacket;
+    private int interpolationTicks = -1;
+    private HologramPacket interpolationPacket;
+
+    TextDisplayHologramRenderer(@NotNull Hologram hologram) {
+        this.hologram = hologram;
+    }
+
+    /**
+     * Checks if all lines of the hologram can be rendered by a text display.
+     *
+     * @param hologram the hologram to be checked.
+     * @return <b>true</b> if the hologram has only text and empty lines and no interactions.
+     */
+    static boolean isCompatible(@NotNull Hologram hologram) {
+        final HologramInteractHandler interactHandler = hologram.getInteractHandler();
+        if (interactHandler != null && interactHandler.hasActions())
+            return false;
+
+        for (AbstractHologramLine line : hologram.getLines())
+            if (line.getClass() != TextHologramLine.class && line.getClass() != EmptyHologramLine.class)
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public void show(@NotNull Player player) {
+        HologramProtocol.sendDisplaySpawnPacket(entityId, getDisplayLocation(), player);
+        sentTexts.remove(player.getUniqueId());
+        update(player);
+
+        // a new display teleports right away until told otherwise.
+        if (hologram.getInterpolationTicks() > 0)
+            updateInterpolation(player);
+    }
+
+    @Override
+    public void hide(@NotNull Player player) {
+        HologramProtocol.sendDestroyPacket(entityId, player);
+        sentTexts.remove(player.getUniqueId());
+    }
+
+    @Override
+    public void update(@NotNull Player player) {
+        final List<String> texts = resolveTexts(player);
+        if (texts.equals(sentTexts.get(player.getUniqueId()))) return;
+
+        final HologramPacket packet = getPacket(texts);
+        if (packet == null) return;
+
+        sentTexts.put(player.getUniqueId(), texts);
+        HologramProtocol.sendPacket(packet, player);
+    }
+
+    @Override
+    public void refresh(@NotNull Player player) {
+        // the lines are sent together, so a single dynamic line keeps the whole text.
+        for (AbstractHologramLine line : hologram.getLines())
+            if (line.isDynamic()) return;
+
+        update(player);
+    }
+
+    @Override
+    public void teleport(@NotNull Player player) {
+        final Location location = getDisplayLocation();
+        if (!location.equals(teleportLocation)) {
+            this.teleportLocation = location;
+            this.teleportPacket = HologramProtocol.getBackend().createTeleportPacket(entityId, location);
+        }
+
+        HologramProtocol.sendPacket(teleportPacket, player);
+    }
+
+    @Override
+    public void updateInterpolation(@NotNull Player player) {
+        if (!HologramProtocol.isDisplayInterpolationSupported()) return;
+
+        final int ticks = hologram.getInterpolationTicks();
+        if (ticks != interpolationTicks) {
+            this.interpolationTicks = ticks;
+            this.interpolationPacket = HologramProtocol.createDisplayInterpolationPacket(entityId, ticks);
+        }
+
+        if (interpolationPacket != null)
+            HologramProtocol.sendPacket(interpolationPacket, player);
+    }
+
+    @Override
+    public void applyChanges(@NotNull Player player, @NotNull HologramLineChanges changes) {
+        // the display sits on the lowest line, which only moves when lines change below it.
+        final List<AbstractHologramLine> lines = hologram.getLines();
+        if (!lines.isEmpty() && (changes.isAdded(lines.get(0)) || changes.isMoved(lines.get(0))))
+            teleport(player);
+
+        update(player);
+    }
+
+    @Override
+    public void release() {
+        if (released.compareAndSet(false, true))
+            EntityIdAllocator.release(entityId);
+    }
+
+    @Override
+    public void invalidatePlayer(@NotNull UUID uniqueId) {
+        sentTexts.remove(uniqueId);
+    }
+
+    @Override
+    public void estimateViewerStates(@NotNull HologramMemoryUsage usage) {
+        // the texts are the ones resolved by the lines, only the lists are kept for each viewer.
+        for (List<String> texts : sentTexts.values())
+            usage.addViewerStates(1, HologramMemoryUsage.ENTRY_BYTES + HologramMemoryUsage.OBJECT_BYTES * 2 + 8
+                  + texts.size() * HologramMemoryUsage.REFERENCE_BYTES);
+    }
+
+    /**
+     * Gets the metadata packet of the texts, viewers that see the same texts share the same packet.
+     */
+    private HologramPacket getPacket(List<String> texts) {
+        if (texts.equals(sharedTexts))
+            return sharedPacket;
+
+        final HologramPacket packet = HologramProtocol.createDisplayMetadataPacket(entityId, texts);
+        this.sharedTexts = texts;
+        this.sharedPacket = packet;
+        return packet;
+    }
+
+    private List<String> resolveTexts(Player player) {
+        final List<AbstractHologramLine> lines = hologram.getLines();
+        final List<String> texts = new ArrayList<>(lines.size());
+
+        // lines are stored from the bottom to the top.
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            final AbstractHologramLine line = lines.get(i);
+            texts.add(line instanceof TextHologramLine ? ((TextHologramLine) line).resolveText(player) : "");
+        }
+
+        return texts;
+    }
+
+    /**
+     * Gets where the bottom of the text goes, which is the bottom of the name tag of the lowest line
+     * as laid out for armor stands, so holograms keep their position between renderers.
+     */
+    private Location getDisplayLocation() {
+        final List<AbstractHologramLine> lines = hologram.getLines();
+        final Location bottom = lines.isEmpty() ? null : lines.get(0).getLocation();
+        if (bottom == null)
+            return hologram.getLocation().clone();
+
+        return bottom.clone().add(0.0, getNameTagBottom(lines.get(0).getSettings()), 0.0);
+    }
+
+    private static double getNameTagBottom(HologramSettings settings) {
+        final double height = settings.isMarker() ? 0.0 : settings.isSmall() ? SMALL_ARMOR_STAND_HEIGHT : ARMOR_STAND_HEIGHT;
+        return height + NAME_TAG_OFFSET - TEXT_LINE_HEIGHT;
+    }
+
+}
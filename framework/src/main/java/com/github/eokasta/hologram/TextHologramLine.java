@@ -21,11 +21,30 @@ public class TextHologramLine extends DynamicHologramLine {
     private String text;
 
     public TextHologramLine(Hologram hologram) {
-        super(hologram, HologramSettings.builder()
-                    .visibleArmorStand(false)
-                    .visibleCustomName(true)
-                    .build(),
-              0.26f);
+        this(hologram, HologramSettings.builder()
+              .visibleArmorStand(false)
+              .visibleCustomName(true)
+              .build());
+    }
+
+    public TextHologramLine(Hologram hologram, HologramSettings settings) {
+        super(hologram, settings, 0.26f);
+    }
+
+    /**
+     * Resolves the text of this line for a player.
+     *
+     * @param player the player who will see the text.
+     * @return the text of the dynamic function or the static text.
+     */
+    @NotNull
+    protected String resolveText(@NotNull Player player) {
+        return Objects.requireNonNull(applyOrGetValue(this.text, player), "Hologram line text cannot be null.");
+    }
+
+    @Override
+    protected long estimateBytes() {
+        return super.estimateBytes() + HologramMemoryUsage.REFERENCE_BYTES + HologramMemoryUsage.estimateString(text);
     }
 
     @Override
@@ -36,8 +55,7 @@ public class TextHologramLine extends DynamicHologramLine {
 
     @Override
     protected void update(@NotNull Player player) {
-        final String text =
-              Objects.requireNonNull(applyOrGetValue(this.text, player), "Hologram line text cannot be null.");
+        final String text = resolveText(player);
 
         HologramProtocol.sendMetadataCreatePacket(
               entityId,
@@ -0,0 +1,27 @@
+package com.github.eokasta.hologram.protocol;
+
+import com.github.eokasta.hologram.HologramInteractAction;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This interface receives the clicks of players on client-side entities read by a {@link PacketBackend}.<p></p>
+ *
+ * Clicks are received on the network thread and only carry the identifier of the clicked
+ * entity, finding the hologram line behind it is up to the listener.
+ *
+ * @see PacketBackend#registerInteractListener(org.bukkit.plugin.Plugin, HologramClickListener)
+ */
+@FunctionalInterface
+public interface HologramClickListener {
+
+    /**
+     * Called when a player clicks a client-side entity.
+     *
+     * @param player the player who clicked.
+     * @param entityId identify of the clicked entity.
+     * @param action the kind of click.
+     */
+    void onClick(@NotNull Player player, int entityId, @NotNull HologramInteractAction action);
+
+}
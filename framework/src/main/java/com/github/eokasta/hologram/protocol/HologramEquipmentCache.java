@@ -0,0 +1,81 @@
+package com.github.eokasta.hologram.protocol;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class caches one equipment packet per {@link ItemStack}.<p></p>
+ *
+ * The item is converted to its NMS form only when the template is created,
+ * packets for each entity are copies of the template, so hundreds
+ * of lines showing the same item share the same converted item.<p></p>
+ *
+ * Only the items of static lines should be cached, the cache keeps the most recently used
+ * templates up to {@link HologramEquipmentCache#MAX_TEMPLATES} and is cleared when the
+ * {@link PacketBackend} changes, since templates can only be copied by the backend that built them.
+ *
+ * @see HologramProtocol#createEquipmentPacket(int, ItemStack)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HologramEquipmentCache {
+
+    /**
+     * The maximum amount of cached templates.
+     */
+    public static final int MAX_TEMPLATES = 512;
+
+    private static final Map<ItemStack, HologramPacket> TEMPLATES =
+          new LinkedHashMap<ItemStack, HologramPacket>(64, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<ItemStack, HologramPacket> eldest) {
+                  return size() > MAX_TEMPLATES;
+              }
+          };
+
+    private static PacketBackend templatesBackend;
+
+    /**
+     * Gets the equipment packet of an entity, converting the item only once.
+     *
+     * @param entityId identify of the entity to be equipped.
+     * @param item the item to be equipped.
+     * @return a packet that can be sent to many players.
+     */
+    @NotNull
+    public static HologramPacket getEquipmentPacket(int entityId, @NotNull ItemStack item) {
+        final PacketBackend backend = HologramProtocol.getBackend();
+
+        HologramPacket template;
+        synchronized (TEMPLATES) {
+            if (templatesBackend != backend) {
+                TEMPLATES.clear();
+                templatesBackend = backend;
+            }
+
+            template = TEMPLATES.get(item);
+            if (template == null) {
+                final ItemStack key = item.clone();
+                template = backend.createEquipmentPacket(0, key);
+                TEMPLATES.put(key, template);
+            }
+        }
+
+        return backend.withEntityId(template, entityId);
+    }
+
+    /**
+     * Clears all cached templates.
+     */
+    public static void invalidateAll() {
+        synchronized (TEMPLATES) {
+            TEMPLATES.clear();
+            templatesBackend = null;
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.github.eokasta.hologram.protocol;
+
+/**
+ * This interface represents a packet built by a {@link PacketBackend}.<p></p>
+ *
+ * Packets are immutable once built, so the same instance can be
+ * sent to as many players as needed without being encoded again.
+ *
+ * @see PacketBackend
+ */
+public interface HologramPacket {
+
+}
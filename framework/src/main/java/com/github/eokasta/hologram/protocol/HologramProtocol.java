@@ -1,11 +1,7 @@
 package com.github.eokasta.hologram.protocol;
 
-import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.events.PacketAdapter;
-import com.comphenix.protocol.events.PacketContainer;
-import com.comphenix.protocol.utility.MinecraftVersion;
-import com.comphenix.protocol.wrappers.WrappedChatComponent;
 import com.comphenix.protocol.wrappers.WrappedDataWatcher;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -15,31 +11,56 @@ import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.UUID;
 
 /**
- * This class is responsible for managing all sending of hologram
- * packets using <a href="https://github.com/dmulloy2/ProtocolLib/">ProtocolLib</a>.
+ * This class is responsible for managing all sending of hologram packets.<p></p>
+ *
+ * Packets are built by a {@link PacketBackend}, by default the one specialized for
+ * the running version using <a href="https://github.com/dmulloy2/ProtocolLib/">ProtocolLib</a>.
  *
  * @author Lucas Monteiro
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class HologramProtocol {
 
-    private static final int DEFAULT_ENTITY_TYPE_ID, LEGACY_ENTITY_TYPE_ID, MINECRAFT_MINOR_VERSION;
-    private static final EntityType ENTITY_TYPE;
+    private static volatile PacketBackend backend;
 
-    static {
-        DEFAULT_ENTITY_TYPE_ID = 1;
-        ENTITY_TYPE = EntityType.ARMOR_STAND;
-        LEGACY_ENTITY_TYPE_ID = ENTITY_TYPE.getTypeId();
-        MINECRAFT_MINOR_VERSION = MinecraftVersion.getCurrentVersion().getMinor();
+    /**
+     * Gets the backend that builds and sends the packets, creating the
+     * default one for the running version if none was set.
+     *
+     * @return the current {@link PacketBackend}.
+     */
+    @NotNull
+    public static PacketBackend getBackend() {
+        PacketBackend current = backend;
+        if (current == null) {
+            synchronized (HologramProtocol.class) {
+                current = backend;
+                if (current == null)
+                    backend = current = ProtocolLibPacketBackend.create();
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Sets the backend that builds and sends the packets, it should be
+     * set before any hologram is created.
+     *
+     * @param packetBackend the new {@link PacketBackend}.
+     */
+    public static void setBackend(@NotNull PacketBackend packetBackend) {
+        backend = packetBackend;
+        HologramEquipmentCache.invalidateAll();
     }
 
     /**
@@ -52,61 +73,43 @@ public final class HologramProtocol {
           int entityId,
           @NotNull Player target
     ) {
-        final PacketContainer packet =
-              ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_DESTROY);
-
-        if (isLegacyMinecraftVersion())
-            packet.getIntegerArrays().write(0, new int[]{entityId});
-        else
-            packet.getIntLists().write(0, Collections.singletonList(entityId));
+        final PacketBackend backend = getBackend();
+        backend.sendPacket(backend.createDestroyPacket(entityId), target);
+    }
 
-        sendPacket(packet, target);
+    /**
+     * Sends a packet to spawn an armor stand.
+     *
+     * @param entityId identify of the entity to be spawned.
+     * @param location location where the entity will be spawned.
+     * @param target player who will receive the packet.
+     */
+    public static void sendSpawnPacket(
+          int entityId,
+          @NotNull Location location,
+          @NotNull Player target
+    ) {
+        final PacketBackend backend = getBackend();
+        backend.sendPacket(backend.createSpawnPacket(entityId, location), target);
     }
 
     /**
-     * Sends a packet to spawn an entity.
+     * Sends a packet to spawn an armor stand.
      *
      * @param entityId identify of the entity to be spawned.
      * @param location location where the entity will be spawned.
      * @param target player who will receive the packet.
-     * @param dataWatcherHolder DataWatcher holder.
+     * @param dataWatcherHolder ignored, the backend shares a single data watcher.
+     * @deprecated use {@link HologramProtocol#sendSpawnPacket(int, Location, Player)}.
      */
+    @Deprecated
     public static void sendSpawnPacket(
           int entityId,
           @NotNull Location location,
           @NotNull Player target,
           @NotNull DataWatcherHolder dataWatcherHolder
     ) {
-        final PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.SPAWN_ENTITY_LIVING);
-
-        if (isLegacyMinecraftVersion()) {
-            packet.getIntegers().write(0, entityId)
-                  .write(1, (int) EntityType.ARMOR_STAND.getTypeId())
-                  .write(2, (int) (location.getX() * 32))
-                  .write(3, (int) (location.getY() * 32))
-                  .write(4, (int) (location.getZ() * 32));
-
-            packet.getBytes().write(0,
-                  (byte) (location.getYaw() * 256.0F / 360.0F));
-
-            packet.getBytes().write(1,
-                  (byte) (location.getPitch() * 256.0F / 360.0F));
-
-            packet.getDataWatcherModifier().write(0, dataWatcherHolder.getDataWatcher());
-        } else {
-            packet.getIntegers().write(0, LEGACY_ENTITY_TYPE_ID);
-
-            packet.getIntegers().write(0, entityId)
-                  .write(1, DEFAULT_ENTITY_TYPE_ID);
-
-            packet.getUUIDs().write(0, UUID.randomUUID());
-
-            packet.getDoubles().write(0, location.getX())
-                  .write(1, location.getY())
-                  .write(2, location.getZ());
-        }
-
-        sendPacket(packet, target);
+        sendSpawnPacket(entityId, location, target);
     }
 
     /**
@@ -133,76 +136,105 @@ public final class HologramProtocol {
           boolean noBasePlate,
           boolean marker
     ) {
-        final PacketContainer packet =
-              ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_METADATA);
-        packet.getIntegers().write(0, entityId);
-
-        final WrappedDataWatcher dataWatcher = new WrappedDataWatcher();
-        byte flags = 0;
-        if (isLegacyMinecraftVersion()) {
-            if (!visibleArmorStand)
-                dataWatcher.setObject(0, (byte) 0x20);
-
-            dataWatcher.setObject(2, customName);
-            dataWatcher.setObject(3, (byte) (visibleCustomName ? 1 : 0));
-
-            if (small)
-                flags |= 0x01;
-
-//            if (gravity)
-//                flags |= 0x02;
-
-            if (arms)
-                flags |= 0x04;
-
-            if (noBasePlate)
-                flags |= 0x08;
-
-            if (marker)
-                flags |= 0x16;
-
-            dataWatcher.setObject(10, flags);
-        } else {
-            if (!visibleArmorStand)
-                dataWatcher.setObject(
-                      new WrappedDataWatcher.WrappedDataWatcherObject(0, WrappedDataWatcher.Registry.get(Byte.class)),
-                      (byte) 0x20
-                );
-
-            if (visibleCustomName) {
-                dataWatcher.setObject(
-                      new WrappedDataWatcher.WrappedDataWatcherObject(2,
-                            WrappedDataWatcher.Registry.getChatComponentSerializer(true)),
-                      Optional.of(WrappedChatComponent.fromChatMessage(customName)[0].getHandle())
-                );
-
-                dataWatcher.setObject(
-                      new WrappedDataWatcher.WrappedDataWatcherObject(3,
-                            WrappedDataWatcher.Registry.get(Boolean.class)),
-                      true
-                );
-            }
-
-            if (small)
-                flags |= 0x01;
-
-            if (arms)
-                flags |= 0x04;
-
-            if (noBasePlate)
-                flags |= 0x08;
+        sendPacket(createMetadataPacket(
+              entityId,
+              customName,
+              visibleCustomName,
+              visibleArmorStand,
+              small,
+              arms,
+              noBasePlate,
+              marker
+        ), target);
+    }
 
-            if (marker)
-                flags |= 0x10;
+    /**
+     * Creates a packet to create/edit an entity's metadata, the packet
+     * can be sent to many players with {@link HologramProtocol#sendPacket(HologramPacket, Player)}.
+     *
+     * @param entityId identify of the entity to be spawned.
+     * @param customName armor stand entity custom name.
+     * @param visibleCustomName whether or not the armor stand will have a visible name.
+     * @param visibleArmorStand whether the armor support will be visible.
+     * @param small whether the armor stand will be small.
+     * @param arms whether the armor stand will have arms.
+     * @param noBasePlate whether the armor stand will have base plate removed.
+     * @param marker whether the armor support will have marker.
+     * @return the metadata packet.
+     */
+    @NotNull
+    public static HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull String customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        return getBackend().createMetadataPacket(
+              entityId,
+              customName,
+              visibleCustomName,
+              visibleArmorStand,
+              small,
+              arms,
+              noBasePlate,
+              marker
+        );
+    }
 
-            dataWatcher.setObject(
-                  new WrappedDataWatcher.WrappedDataWatcherObject(15, WrappedDataWatcher.Registry.get(Byte.class)),
-                  flags
-            );
-        }
+    /**
+     * Creates a packet to create/edit an entity's metadata with a text that has its formatting already parsed.
+     *
+     * @param entityId identify of the entity to be spawned.
+     * @param customName armor stand entity custom name.
+     * @param visibleCustomName whether or not the armor stand will have a visible name.
+     * @param visibleArmorStand whether the armor support will be visible.
+     * @param small whether the armor stand will be small.
+     * @param arms whether the armor stand will have arms.
+     * @param noBasePlate whether the armor stand will have base plate removed.
+     * @param marker whether the armor support will have marker.
+     * @return the metadata packet.
+     * @see HologramProtocol#createMetadataPacket(int, String, boolean, boolean, boolean, boolean, boolean, boolean)
+     */
+    @NotNull
+    public static HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull HologramText customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        return getBackend().createMetadataPacket(
+              entityId,
+              customName,
+              visibleCustomName,
+              visibleArmorStand,
+              small,
+              arms,
+              noBasePlate,
+              marker
+        );
+    }
 
-        packet.getWatchableCollectionModifier().write(0, dataWatcher.getWatchableObjects());
-        sendPacket(packet, target);
+    /**
+     * Creates a packet to equip an item on the head of an entity.<p></p>
+     *
+     * Converting the item to its NMS form is expensive, prefer
+     * {@link HologramEquipmentCache} to share the converted packets.
+     *
+     * @param entityId identify of the entity to be equipped.
+     * @param item the item to be equipped.
+     * @return the equipment packet.
+     */
+    @NotNull
+    public static HologramPacket createEquipmentPacket(int entityId, @NotNull ItemStack item) {
+        return getBackend().createEquipmentPacket(entityId, item);
     }
 
     /**
@@ -217,29 +249,68 @@ public final class HologramProtocol {
           @NotNull Player target,
           @NotNull Location location
     ) {
-        final PacketContainer packet =
-              ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_TELEPORT);
-
-        packet.getIntegers().write(0, entityId);
-
-        if (isLegacyMinecraftVersion()) {
-            packet.getIntegers().write(1, (int) Math.floor(location.getX() * 32));
-            packet.getIntegers().write(2, (int) Math.floor(location.getY() * 32));
-            packet.getIntegers().write(3, (int) Math.floor(location.getZ() * 32));
-        } else {
-            packet.getDoubles().write(0, location.getX());
-            packet.getDoubles().write(1, location.getY());
-            packet.getDoubles().write(2, location.getZ());
-        }
+        final PacketBackend backend = getBackend();
+        backend.sendPacket(backend.createTeleportPacket(entityId, location), target);
+    }
+
+    /**
+     * Creates a packet to move an entity between two locations, the packet
+     * is a relative move when the distance allows it or a teleport otherwise.
+     *
+     * @param entityId identify of the entity.
+     * @param from the location the client currently knows.
+     * @param to the location where the entity will move to.
+     * @return the move packet.
+     */
+    @NotNull
+    public static HologramPacket createMovePacket(int entityId, @NotNull Location from, @NotNull Location to) {
+        final PacketBackend backend = getBackend();
+        final HologramPacket packet = backend.createRelativeMovePacket(entityId, from, to);
+
+        return packet != null ? packet : backend.createTeleportPacket(entityId, to);
+    }
+
+    /**
+     * Sends a packet to spawn a text display entity, nothing is sent if display entities are not supported.
+     *
+     * @param entityId identify of the entity to be spawned.
+     * @param location location where the entity will be spawned.
+     * @param target player who will receive the packet.
+     */
+    public static void sendDisplaySpawnPacket(int entityId, @NotNull Location location, @NotNull Player target) {
+        final PacketBackend backend = getBackend();
+        if (!backend.isDisplayEntitySupported()) return;
 
-        packet.getBytes().write(0,
-              (byte) (location.getYaw() * 256.0F / 360.0F));
-        packet.getBytes().write(1,
-              (byte) (location.getPitch() * 256.0F / 360.0F));
+        final HologramPacket packet = backend.createDisplaySpawnPacket(entityId, location);
+        if (packet != null)
+            backend.sendPacket(packet, target);
+    }
 
-        packet.getBooleans().write(0, false);
+    /**
+     * Creates a packet with the metadata of a text display entity.
+     *
+     * @param entityId identify of the entity.
+     * @param lines the lines of text, from top to bottom, with legacy color codes.
+     * @return the metadata packet or <b>null</b> if display entities are not supported.
+     */
+    @Nullable
+    public static HologramPacket createDisplayMetadataPacket(int entityId, @NotNull List<String> lines) {
+        final PacketBackend backend = getBackend();
+        return backend.isDisplayEntitySupported() ? backend.createDisplayMetadataPacket(entityId, lines) : null;
+    }
 
-        sendPacket(packet, target);
+    /**
+     * Creates a packet with the teleport duration of a display entity.
+     *
+     * @param entityId identify of the entity.
+     * @param ticks the interpolation duration, <b>0</b> teleports the entity right away.
+     * @return the metadata packet or <b>null</b> if display interpolation is not supported.
+     * @see HologramProtocol#isDisplayInterpolationSupported()
+     */
+    @Nullable
+    public static HologramPacket createDisplayInterpolationPacket(int entityId, int ticks) {
+        final PacketBackend backend = getBackend();
+        return backend.isDisplayInterpolationSupported() ? backend.createDisplayInterpolationPacket(entityId, ticks) : null;
     }
 
     /**
@@ -251,13 +322,50 @@ public final class HologramProtocol {
         ProtocolLibrary.getProtocolManager().addPacketListener(packetAdapter);
     }
 
+    /**
+     * Starts passing the clicks of players on client-side entities to a listener.
+     *
+     * @param plugin the plugin that owns the listener.
+     * @param listener the listener of the clicks.
+     */
+    public static void registerInteractListener(@NotNull Plugin plugin, @NotNull HologramClickListener listener) {
+        getBackend().registerInteractListener(plugin, listener);
+    }
+
+    /**
+     * Stops passing clicks to a listener.
+     *
+     * @param listener the listener of the clicks.
+     */
+    public static void unregisterInteractListener(@NotNull HologramClickListener listener) {
+        getBackend().unregisterInteractListener(listener);
+    }
+
     /**
      * Checks if the server is on the legacy version.
      *
      * @return <b>true</b> if the server is running on a legacy version or <b>false</b> if running above 1.9.
      */
     public static boolean isLegacyMinecraftVersion() {
-        return MINECRAFT_MINOR_VERSION < 9;
+        return getBackend().isLegacy();
+    }
+
+    /**
+     * Checks if the server supports display entities.
+     *
+     * @return <b>true</b> if the server is running on 1.19.4 or above.
+     */
+    public static boolean isDisplayEntitySupported() {
+        return getBackend().isDisplayEntitySupported();
+    }
+
+    /**
+     * Checks if the client can interpolate the teleports of display entities.
+     *
+     * @return <b>true</b> if the server is running on 1.20.2 or above.
+     */
+    public static boolean isDisplayInterpolationSupported() {
+        return getBackend().isDisplayInterpolationSupported();
     }
 
     /**
@@ -279,12 +387,8 @@ public final class HologramProtocol {
      * @param packet packet to be sent.
      * @param target player who will receive the packet.
      */
-    private static void sendPacket(PacketContainer packet, Player target) {
-        try {
-            ProtocolLibrary.getProtocolManager().sendServerPacket(target, packet);
-        } catch (final InvocationTargetException e) {
-            e.printStackTrace();
-        }
+    public static void sendPacket(@NotNull HologramPacket packet, @NotNull Player target) {
+        getBackend().sendPacket(packet, target);
     }
 
     /**
@@ -0,0 +1,29 @@
+package com.github.eokasta.hologram.protocol;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a text with its formatting already parsed, so the packets
+ * can use the chat component as it is instead of parsing the color codes again.
+ *
+ * @see com.github.eokasta.hologram.HologramTemplate
+ */
+@Getter
+@RequiredArgsConstructor
+public final class HologramText {
+
+    /**
+     * The text with legacy color codes, used by the servers without chat components.
+     */
+    @NotNull
+    private final String legacyText;
+
+    /**
+     * The same text as a JSON chat component.
+     */
+    @NotNull
+    private final String json;
+
+}
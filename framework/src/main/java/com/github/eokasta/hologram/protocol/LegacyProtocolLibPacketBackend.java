@@ -0,0 +1,155 @@
+package com.github.eokasta.hologram.protocol;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class builds the packets of the legacy versions, below 1.9.
+ *
+ * @see ProtocolLibPacketBackend
+ */
+public class LegacyProtocolLibPacketBackend extends ProtocolLibPacketBackend {
+
+    private static final int HELMET_SLOT = 4;
+
+    /**
+     * The spawn packets of 1.8 need a data watcher of a real armor stand,
+     * it is created once and shared by every spawn packet.
+     */
+    private final DataWatcherHolder dataWatcherHolder = new DataWatcherHolder();
+
+    @Override
+    public boolean isLegacy() {
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createDestroyPacket(int entityId) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+        packet.getIntegerArrays().write(0, new int[]{entityId});
+
+        return wrap(packet);
+    }
+
+    @NotNull
+    @Override
+    @SuppressWarnings("deprecation")
+    public HologramPacket createSpawnPacket(int entityId, @NotNull Location location) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY_LIVING);
+
+        packet.getIntegers().write(0, entityId)
+              .write(1, (int) EntityType.ARMOR_STAND.getTypeId())
+              .write(2, (int) (location.getX() * 32))
+              .write(3, (int) (location.getY() * 32))
+              .write(4, (int) (location.getZ() * 32));
+
+        packet.getBytes().write(0, toAngle(location.getYaw()));
+        packet.getBytes().write(1, toAngle(location.getPitch()));
+
+        packet.getDataWatcherModifier().write(0, dataWatcherHolder.getDataWatcher());
+
+        return wrap(packet);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull String customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+
+        final WrappedDataWatcher dataWatcher = new WrappedDataWatcher();
+        if (!visibleArmorStand)
+            dataWatcher.setObject(0, (byte) 0x20);
+
+        dataWatcher.setObject(2, customName);
+        dataWatcher.setObject(3, (byte) (visibleCustomName ? 1 : 0));
+
+        byte flags = 0;
+        if (small)
+            flags |= 0x01;
+
+        if (arms)
+            flags |= 0x04;
+
+        if (noBasePlate)
+            flags |= 0x08;
+
+        if (marker)
+            flags |= 0x10;
+
+        dataWatcher.setObject(10, flags);
+
+        packet.getWatchableCollectionModifier().write(0, dataWatcher.getWatchableObjects());
+        return wrap(packet);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createTeleportPacket(int entityId, @NotNull Location location) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_TELEPORT);
+
+        packet.getIntegers().write(0, entityId)
+              .write(1, (int) Math.floor(location.getX() * 32))
+              .write(2, (int) Math.floor(location.getY() * 32))
+              .write(3, (int) Math.floor(location.getZ() * 32));
+
+        packet.getBytes().write(0, toAngle(location.getYaw()));
+        packet.getBytes().write(1, toAngle(location.getPitch()));
+        packet.getBooleans().write(0, false);
+
+        return wrap(packet);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createRelativeMovePacket(int entityId, @NotNull Location from, @NotNull Location to) {
+        // deltas of the encoded positions, so repeated moves do not drift on the client.
+        final long x = encode(to.getX()) - encode(from.getX());
+        final long y = encode(to.getY()) - encode(from.getY());
+        final long z = encode(to.getZ()) - encode(from.getZ());
+        if (x != (byte) x || y != (byte) y || z != (byte) z)
+            return null;
+
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.REL_ENTITY_MOVE);
+
+        packet.getIntegers().write(0, entityId);
+        packet.getBytes().write(0, (byte) x)
+              .write(1, (byte) y)
+              .write(2, (byte) z);
+        packet.getBooleans().write(0, false);
+
+        return wrap(packet);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createEquipmentPacket(int entityId, @NotNull ItemStack item) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_EQUIPMENT);
+
+        packet.getIntegers().write(0, entityId).write(1, HELMET_SLOT);
+        packet.getItemModifier().write(0, item);
+
+        return wrap(packet);
+    }
+
+    private static long encode(double coordinate) {
+        return (long) Math.floor(coordinate * 32);
+    }
+
+}
@@ -0,0 +1,433 @@
+package com.github.eokasta.hologram.protocol;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.reflect.StructureModifier;
+import com.comphenix.protocol.utility.MinecraftVersion;
+import com.comphenix.protocol.wrappers.EnumWrappers;
+import com.comphenix.protocol.wrappers.Pair;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * This class builds the packets of the versions from 1.9 onwards.<p></p>
+ *
+ * Every difference between these versions is resolved once in the constructor,
+ * so building a packet never checks the version again.
+ *
+ * @see ProtocolLibPacketBackend
+ */
+public class ModernProtocolLibPacketBackend extends ProtocolLibPacketBackend {
+
+    private static final int ARMOR_STAND_TYPE_ID = 1;
+    private static final byte BILLBOARD_CENTER = 3;
+    private static final int LINE_WIDTH = 1024;
+    private static final int TELEPORT_DURATION_INDEX = 10;
+
+    private final DestroyEncoding destroyEncoding;
+    private final boolean spawnEntityPacket, dataValues, slotStackPairs, displayEntitySupported, teleportDurationSupported;
+    private final int armorStandFlagsIndex;
+    private final int billboardIndex, textIndex, lineWidthIndex, backgroundIndex;
+
+    private Method dataValueModifier;
+    private Constructor<?> dataValueConstructor;
+
+    public ModernProtocolLibPacketBackend(@NotNull MinecraftVersion version) {
+        final int minor = version.getMinor();
+
+        if (minor < 17)
+            destroyEncoding = DestroyEncoding.INT_ARRAY;
+        else if (minor == 17 && version.getBuild() == 0)
+            destroyEncoding = DestroyEncoding.SINGLE_INT;
+        else
+            destroyEncoding = DestroyEncoding.INT_LIST;
+
+        // Armor stand flags moved as the entity classes above it gained fields.
+        if (minor < 10)
+            armorStandFlagsIndex = 10;
+        else if (minor < 14)
+            armorStandFlagsIndex = 11;
+        else if (minor < 15)
+            armorStandFlagsIndex = 13;
+        else if (minor < 17)
+            armorStandFlagsIndex = 14;
+        else
+            armorStandFlagsIndex = 15;
+
+        spawnEntityPacket = minor >= 19;
+        slotStackPairs = minor >= 16;
+        dataValues = version.isAtLeast(new MinecraftVersion("1.19.3"));
+        displayEntitySupported = version.isAtLeast(new MinecraftVersion("1.19.4"));
+
+        // 1.20.2 added the teleport duration, shifting every following index.
+        teleportDurationSupported = version.isAtLeast(new MinecraftVersion("1.20.2"));
+        final int shift = teleportDurationSupported ? 1 : 0;
+        billboardIndex = 14 + shift;
+        textIndex = 22 + shift;
+        lineWidthIndex = 23 + shift;
+        backgroundIndex = 24 + shift;
+    }
+
+    @Override
+    public boolean isLegacy() {
+        return false;
+    }
+
+    @Override
+    public boolean isDisplayEntitySupported() {
+        return displayEntitySupported;
+    }
+
+    @Override
+    public boolean isDisplayInterpolationSupported() {
+        return teleportDurationSupported;
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createDestroyPacket(int entityId) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+
+        switch (destroyEncoding) {
+            case INT_ARRAY:
+                packet.getIntegerArrays().write(0, new int[]{entityId});
+                break;
+            case SINGLE_INT:
+                packet.getIntegers().write(0, entityId);
+                break;
+            default:
+                packet.getIntLists().write(0, Collections.singletonList(entityId));
+        }
+
+        return wrap(packet);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createSpawnPacket(int entityId, @NotNull Location location) {
+        final PacketContainer packet;
+        if (spawnEntityPacket) {
+            packet = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+            packet.getIntegers().write(0, entityId);
+            packet.getEntityTypeModifier().write(0, EntityType.ARMOR_STAND);
+        } else {
+            packet = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY_LIVING);
+            packet.getIntegers().write(0, entityId)
+                  .write(1, ARMOR_STAND_TYPE_ID);
+        }
+
+        packet.getUUIDs().write(0, UUID.randomUUID());
+        packet.getDoubles().write(0, location.getX())
+              .write(1, location.getY())
+              .write(2, location.getZ());
+
+        return wrap(packet);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull String customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        return createMetadataPacket(
+              entityId,
+              visibleCustomName ? WrappedChatComponent.fromChatMessage(customName)[0] : null,
+              visibleArmorStand,
+              small,
+              arms,
+              noBasePlate,
+              marker
+        );
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull HologramText customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        return createMetadataPacket(
+              entityId,
+              visibleCustomName ? WrappedChatComponent.fromJson(customName.getJson()) : null,
+              visibleArmorStand,
+              small,
+              arms,
+              noBasePlate,
+              marker
+        );
+    }
+
+    /**
+     * Creates the metadata of an armor stand, the custom name is visible when it is not <b>null</b>.
+     */
+    private HologramPacket createMetadataPacket(
+          int entityId,
+          WrappedChatComponent customName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+
+        byte flags = 0;
+        if (small)
+            flags |= 0x01;
+
+        if (arms)
+            flags |= 0x04;
+
+        if (noBasePlate)
+            flags |= 0x08;
+
+        if (marker)
+            flags |= 0x10;
+
+        if (dataValues) {
+            final List<Object> values = new ArrayList<>(4);
+            if (!visibleArmorStand)
+                values.add(createDataValue(0, WrappedDataWatcher.Registry.get(Byte.class), (byte) 0x20));
+
+            if (customName != null) {
+                values.add(createDataValue(2,
+                      WrappedDataWatcher.Registry.getChatComponentSerializer(true),
+                      Optional.of(customName.getHandle())));
+                values.add(createDataValue(3, WrappedDataWatcher.Registry.get(Boolean.class), true));
+            }
+
+            values.add(createDataValue(armorStandFlagsIndex, WrappedDataWatcher.Registry.get(Byte.class), flags));
+            writeDataValues(packet, values);
+            return wrap(packet);
+        }
+
+        final WrappedDataWatcher dataWatcher = new WrappedDataWatcher();
+        if (!visibleArmorStand)
+            dataWatcher.setObject(
+                  new WrappedDataWatcher.WrappedDataWatcherObject(0, WrappedDataWatcher.Registry.get(Byte.class)),
+                  (byte) 0x20
+            );
+
+        if (customName != null) {
+            dataWatcher.setObject(
+                  new WrappedDataWatcher.WrappedDataWatcherObject(2,
+                        WrappedDataWatcher.Registry.getChatComponentSerializer(true)),
+                  Optional.of(customName.getHandle())
+            );
+
+            dataWatcher.setObject(
+                  new WrappedDataWatcher.WrappedDataWatcherObject(3,
+                        WrappedDataWatcher.Registry.get(Boolean.class)),
+                  true
+            );
+        }
+
+        dataWatcher.setObject(
+              new WrappedDataWatcher.WrappedDataWatcherObject(armorStandFlagsIndex,
+                    WrappedDataWatcher.Registry.get(Byte.class)),
+              flags
+        );
+
+        packet.getWatchableCollectionModifier().write(0, dataWatcher.getWatchableObjects());
+        return wrap(packet);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createTeleportPacket(int entityId, @NotNull Location location) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_TELEPORT);
+
+        packet.getIntegers().write(0, entityId);
+        packet.getDoubles().write(0, location.getX())
+              .write(1, location.getY())
+              .write(2, location.getZ());
+
+        packet.getBytes().write(0, toAngle(location.getYaw()));
+        packet.getBytes().write(1, toAngle(location.getPitch()));
+        packet.getBooleans().write(0, false);
+
+        return wrap(packet);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createRelativeMovePacket(int entityId, @NotNull Location from, @NotNull Location to) {
+        // deltas of the encoded positions, so repeated moves do not drift on the client.
+        final long x = encode(to.getX()) - encode(from.getX());
+        final long y = encode(to.getY()) - encode(from.getY());
+        final long z = encode(to.getZ()) - encode(from.getZ());
+        if (x != (short) x || y != (short) y || z != (short) z)
+            return null;
+
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.REL_ENTITY_MOVE);
+
+        packet.getIntegers().write(0, entityId);
+        packet.getShorts().write(0, (short) x)
+              .write(1, (short) y)
+              .write(2, (short) z);
+        packet.getBooleans().write(0, false);
+
+        return wrap(packet);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createEquipmentPacket(int entityId, @NotNull ItemStack item) {
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_EQUIPMENT);
+        packet.getIntegers().write(0, entityId);
+
+        if (slotStackPairs) {
+            packet.getSlotStackPairLists().write(0,
+                  Collections.singletonList(new Pair<>(EnumWrappers.ItemSlot.HEAD, item)));
+        } else {
+            packet.getItemSlots().write(0, EnumWrappers.ItemSlot.HEAD);
+            packet.getItemModifier().write(0, item);
+        }
+
+        return wrap(packet);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplaySpawnPacket(int entityId, @NotNull Location location) {
+        if (!displayEntitySupported)
+            return null;
+
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+
+        packet.getIntegers().write(0, entityId);
+        packet.getUUIDs().write(0, UUID.randomUUID());
+        packet.getEntityTypeModifier().write(0, DisplayEntityTypeHolder.TEXT_DISPLAY);
+        packet.getDoubles().write(0, location.getX())
+              .write(1, location.getY())
+              .write(2, location.getZ());
+
+        return wrap(packet);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplayMetadataPacket(int entityId, @NotNull List<String> lines) {
+        if (!displayEntitySupported)
+            return null;
+
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+
+        final List<Object> values = new ArrayList<>(4);
+        values.add(createDataValue(billboardIndex, WrappedDataWatcher.Registry.get(Byte.class), BILLBOARD_CENTER));
+        values.add(createDataValue(textIndex,
+              WrappedDataWatcher.Registry.getChatComponentSerializer(false),
+              WrappedChatComponent.fromJson(toJson(lines)).getHandle()));
+        values.add(createDataValue(lineWidthIndex, WrappedDataWatcher.Registry.get(Integer.class), LINE_WIDTH));
+        values.add(createDataValue(backgroundIndex, WrappedDataWatcher.Registry.get(Integer.class), 0));
+
+        writeDataValues(packet, values);
+        return wrap(packet);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplayInterpolationPacket(int entityId, int ticks) {
+        if (!teleportDurationSupported)
+            return null;
+
+        final PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+
+        writeDataValues(packet, Collections.singletonList(
+              createDataValue(TELEPORT_DURATION_INDEX, WrappedDataWatcher.Registry.get(Integer.class), ticks)));
+        return wrap(packet);
+    }
+
+    /**
+     * Joins the lines into a single chat component, converting each line on its own
+     * so the colors of one line do not leak to the next one.
+     */
+    private static String toJson(List<String> lines) {
+        final StringBuilder json = new StringBuilder("{\"text\":\"\",\"extra\":[");
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0)
+                json.append(",{\"text\":\"\\n\"},");
+
+            final String line = lines.get(i);
+            json.append(line.isEmpty() ? "{\"text\":\"\"}" : WrappedChatComponent.fromChatMessage(line)[0].getJson());
+        }
+
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Data values only exist in ProtocolLib from version 5, so they are resolved by reflection.
+     */
+    private Object createDataValue(int index, WrappedDataWatcher.Serializer serializer, Object value) {
+        try {
+            if (dataValueConstructor == null)
+                dataValueConstructor = Class.forName("com.comphenix.protocol.wrappers.WrappedDataValue")
+                      .getConstructor(int.class, WrappedDataWatcher.Serializer.class, Object.class);
+
+            return dataValueConstructor.newInstance(index, serializer, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("This version needs ProtocolLib 5 or above.", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeDataValues(PacketContainer packet, List<Object> values) {
+        try {
+            if (dataValueModifier == null)
+                dataValueModifier = PacketContainer.class.getMethod("getDataValueCollectionModifier");
+
+            ((StructureModifier<List<Object>>) dataValueModifier.invoke(packet)).write(0, values);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("This version needs ProtocolLib 5 or above.", e);
+        }
+    }
+
+    private static long encode(double coordinate) {
+        return (long) (coordinate * 4096);
+    }
+
+    private enum DestroyEncoding {
+
+        INT_ARRAY, SINGLE_INT, INT_LIST;
+
+    }
+
+    /**
+     * Holds the text display type, which does not exist in the API of older versions.
+     */
+    private static final class DisplayEntityTypeHolder {
+
+        private static final EntityType TEXT_DISPLAY = EntityType.valueOf("TEXT_DISPLAY");
+
+    }
+
+}
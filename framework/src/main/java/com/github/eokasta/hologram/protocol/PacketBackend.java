@@ -0,0 +1,225 @@
+package com.github.eokasta.hologram.protocol;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * This interface is responsible for building and sending all hologram packets.<p></p>
+ *
+ * The backend is chosen once, when the first packet is built, so implementations
+ * should be specialized for the running version instead of checking it on every packet.
+ *
+ * @see HologramProtocol#setBackend(PacketBackend)
+ * @see ProtocolLibPacketBackend
+ * @see WirePacketBackend
+ */
+public interface PacketBackend {
+
+    /**
+     * Checks if the server is on the legacy version.
+     *
+     * @return <b>true</b> if the server is running on a legacy version or <b>false</b> if running above 1.9.
+     */
+    boolean isLegacy();
+
+    /**
+     * Checks if the server supports display entities.
+     *
+     * @return <b>true</b> if the server is running on 1.19.4 or above.
+     */
+    boolean isDisplayEntitySupported();
+
+    /**
+     * Checks if the client can interpolate the teleports of display entities.
+     *
+     * @return <b>true</b> if the server is running on 1.20.2 or above.
+     */
+    boolean isDisplayInterpolationSupported();
+
+    /**
+     * Creates a packet to destroy an entity.
+     *
+     * @param entityId identify of the entity to be destroyed.
+     * @return the destroy packet.
+     */
+    @NotNull
+    HologramPacket createDestroyPacket(int entityId);
+
+    /**
+     * Creates a packet to spawn an armor stand.
+     *
+     * @param entityId identify of the entity to be spawned.
+     * @param location location where the entity will be spawned.
+     * @return the spawn packet.
+     */
+    @NotNull
+    HologramPacket createSpawnPacket(int entityId, @NotNull Location location);
+
+    /**
+     * Creates a packet to create/edit an armor stand's metadata.
+     *
+     * @param entityId identify of the entity.
+     * @param customName armor stand entity custom name.
+     * @param visibleCustomName whether or not the armor stand will have a visible name.
+     * @param visibleArmorStand whether the armor support will be visible.
+     * @param small whether the armor stand will be small.
+     * @param arms whether the armor stand will have arms.
+     * @param noBasePlate whether the armor stand will have base plate removed.
+     * @param marker whether the armor support will have marker.
+     * @return the metadata packet.
+     */
+    @NotNull
+    HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull String customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    );
+
+    /**
+     * Creates a packet to create/edit an entity's metadata with a text that has its formatting already parsed.<p></p>
+     *
+     * Backends without chat components use the legacy text.
+     *
+     * @param entityId identify of the entity.
+     * @param customName armor stand entity custom name.
+     * @param visibleCustomName whether or not the armor stand will have a visible name.
+     * @param visibleArmorStand whether the armor support will be visible.
+     * @param small whether the armor stand will be small.
+     * @param arms whether the armor stand will have arms.
+     * @param noBasePlate whether the armor stand will have base plate removed.
+     * @param marker whether the armor support will have marker.
+     * @return the metadata packet.
+     */
+    @NotNull
+    default HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull HologramText customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        return createMetadataPacket(
+              entityId,
+              customName.getLegacyText(),
+              visibleCustomName,
+              visibleArmorStand,
+              small,
+              arms,
+              noBasePlate,
+              marker
+        );
+    }
+
+    /**
+     * Creates a packet to teleport an entity.
+     *
+     * @param entityId identify of the entity.
+     * @param location the location where the entity will teleport to.
+     * @return the teleport packet.
+     */
+    @NotNull
+    HologramPacket createTeleportPacket(int entityId, @NotNull Location location);
+
+    /**
+     * Creates a packet to move an entity relative to the position the client knows.
+     *
+     * @param entityId identify of the entity.
+     * @param from the location the client currently knows.
+     * @param to the location where the entity will move to.
+     * @return the move packet or <b>null</b> if the distance is too large for a relative move.
+     */
+    @Nullable
+    HologramPacket createRelativeMovePacket(int entityId, @NotNull Location from, @NotNull Location to);
+
+    /**
+     * Creates a packet to equip an item on the head of an entity.
+     *
+     * @param entityId identify of the entity to be equipped.
+     * @param item the item to be equipped.
+     * @return the equipment packet.
+     */
+    @NotNull
+    HologramPacket createEquipmentPacket(int entityId, @NotNull ItemStack item);
+
+    /**
+     * Copies a packet to another entity, sharing all of its already encoded content.
+     *
+     * @param packet the packet to be copied.
+     * @param entityId identify of the new entity.
+     * @return the copied packet.
+     */
+    @NotNull
+    HologramPacket withEntityId(@NotNull HologramPacket packet, int entityId);
+
+    /**
+     * Creates a packet to spawn a text display entity.
+     *
+     * @param entityId identify of the entity to be spawned.
+     * @param location location where the entity will be spawned.
+     * @return the spawn packet or <b>null</b> if display entities are not supported.
+     * @see PacketBackend#isDisplayEntitySupported()
+     */
+    @Nullable
+    HologramPacket createDisplaySpawnPacket(int entityId, @NotNull Location location);
+
+    /**
+     * Creates a packet with the metadata of a text display entity.
+     *
+     * @param entityId identify of the entity.
+     * @param lines the lines of text, from top to bottom, with legacy color codes.
+     * @return the metadata packet or <b>null</b> if display entities are not supported.
+     * @see PacketBackend#isDisplayEntitySupported()
+     */
+    @Nullable
+    HologramPacket createDisplayMetadataPacket(int entityId, @NotNull List<String> lines);
+
+    /**
+     * Creates a packet with the teleport duration of a display entity, the client then moves
+     * the entity to each teleported location smoothly over this many ticks.
+     *
+     * @param entityId identify of the entity.
+     * @param ticks the interpolation duration, <b>0</b> teleports the entity right away.
+     * @return the metadata packet or <b>null</b> if display interpolation is not supported.
+     * @see PacketBackend#isDisplayInterpolationSupported()
+     */
+    @Nullable
+    HologramPacket createDisplayInterpolationPacket(int entityId, int ticks);
+
+    /**
+     * Sends a packet to a player.
+     *
+     * @param packet packet to be sent.
+     * @param target player who will receive the packet.
+     */
+    void sendPacket(@NotNull HologramPacket packet, @NotNull Player target);
+
+    /**
+     * Starts passing the clicks of players on client-side entities to a listener.
+     *
+     * @param plugin the plugin that owns the listener.
+     * @param listener the listener of the clicks.
+     */
+    void registerInteractListener(@NotNull Plugin plugin, @NotNull HologramClickListener listener);
+
+    /**
+     * Stops passing clicks to a listener.
+     *
+     * @param listener the listener of the clicks.
+     */
+    void unregisterInteractListener(@NotNull HologramClickListener listener);
+
+}
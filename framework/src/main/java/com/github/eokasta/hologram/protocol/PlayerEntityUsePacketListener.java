@@ -6,10 +6,8 @@ import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.events.PacketEvent;
 import com.comphenix.protocol.wrappers.EnumWrappers;
 import com.comphenix.protocol.wrappers.WrappedEnumEntityUseAction;
-import com.github.eokasta.hologram.AbstractHologramLine;
 import com.github.eokasta.hologram.HologramInteractAction;
-import com.github.eokasta.hologram.HologramInteractContext;
-import com.github.eokasta.hologram.HologramRegistry;
+import org.bukkit.plugin.Plugin;
 
 /**
  * This class is responsible for listening and filtering
@@ -19,20 +17,20 @@ import com.github.eokasta.hologram.HologramRegistry;
  */
 public class PlayerEntityUsePacketListener extends PacketAdapter {
 
-    private final HologramRegistry registry;
+    private final HologramClickListener listener;
 
-    public PlayerEntityUsePacketListener(HologramRegistry registry) {
-        super(registry.getPlugin(), PacketType.Play.Client.USE_ENTITY);
-        this.registry = registry;
+    public PlayerEntityUsePacketListener(Plugin plugin, HologramClickListener listener) {
+        super(plugin, PacketType.Play.Client.USE_ENTITY);
+        this.listener = listener;
     }
 
     @Override
     public void onPacketReceiving(PacketEvent event) {
         final PacketContainer packet = event.getPacket();
         final int entityId = packet.getIntegers().read(0);
-        final AbstractHologramLine hologramLine = registry.getHologramLine(entityId);
-        if (hologramLine == null) return;
 
+        // the identifiers of holograms are negative, real entities are never clicked here.
+        if (entityId >= 0) return;
 
         final HologramInteractAction action;
         if (HologramProtocol.isLegacyMinecraftVersion()) {
@@ -47,8 +45,7 @@ public class PlayerEntityUsePacketListener extends PacketAdapter {
                   HologramInteractAction.RIGHT_CLICK;
         }
 
-        final HologramInteractContext context = new HologramInteractContext(event.getPlayer(), hologramLine, action);
-        hologramLine.getHologram().getInteractHandler().call(action, context);
+        listener.onClick(event.getPlayer(), entityId, action);
     }
 
 }
@@ -0,0 +1,53 @@
+package com.github.eokasta.hologram.protocol;
+
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.injector.netty.WirePacket;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class holds a {@link PacketContainer} built by a {@link ProtocolLibPacketBackend}.<p></p>
+ *
+ * The container is not changed after it is wrapped, so its encoded bytes can be kept and sent
+ * again to every player that receives the same packet.
+ *
+ * @see HologramPacket
+ * @see WirePacketBackend
+ */
+@Getter
+@RequiredArgsConstructor
+public final class ProtocolLibPacket implements HologramPacket {
+
+    private final PacketContainer container;
+
+    @Getter(AccessLevel.NONE)
+    private volatile WirePacket wirePacket;
+
+    @Getter(AccessLevel.NONE)
+    private volatile boolean unencodable;
+
+    /**
+     * Gets the encoded bytes of the container, encoding them on the first call.
+     *
+     * @return the encoded packet or <b>null</b> if the container cannot be encoded outside of the pipeline.
+     */
+    @Nullable
+    WirePacket getWirePacket() {
+        WirePacket wirePacket = this.wirePacket;
+        if (wirePacket != null || unencodable) return wirePacket;
+
+        try {
+            // racing threads encode the same bytes, so either result can be kept.
+            wirePacket = WirePacket.fromPacket(container);
+        } catch (final RuntimeException e) {
+            unencodable = true;
+            return null;
+        }
+
+        this.wirePacket = wirePacket;
+        return wirePacket;
+    }
+
+}
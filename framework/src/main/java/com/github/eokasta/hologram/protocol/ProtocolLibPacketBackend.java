@@ -0,0 +1,132 @@
+package com.github.eokasta.hologram.protocol;
+
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.utility.MinecraftVersion;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is the base of the backends that build packets using
+ * <a href="https://github.com/dmulloy2/ProtocolLib/">ProtocolLib</a>.<p></p>
+ *
+ * Packets are sent through the ProtocolLib listeners of other plugins, so plugins that filter
+ * or translate outgoing packets, such as anti-cheats or multi-version proxies, see the holograms too.
+ * {@link WirePacketBackend} sends them already encoded instead, skipping those listeners.
+ *
+ * @see LegacyProtocolLibPacketBackend
+ * @see ModernProtocolLibPacketBackend
+ */
+public abstract class ProtocolLibPacketBackend implements PacketBackend {
+
+    protected final ProtocolManager protocolManager = ProtocolLibrary.getProtocolManager();
+    private final Map<HologramClickListener, PlayerEntityUsePacketListener> interactListeners = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the backend specialized for the running version.
+     *
+     * @return a new {@link ProtocolLibPacketBackend} instance.
+     */
+    @NotNull
+    public static ProtocolLibPacketBackend create() {
+        final MinecraftVersion version = MinecraftVersion.getCurrentVersion();
+        if (version.getMinor() < 9)
+            return new LegacyProtocolLibPacketBackend();
+
+        return new ModernProtocolLibPacketBackend(version);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket withEntityId(@NotNull HologramPacket packet, int entityId) {
+        final PacketContainer container = ((ProtocolLibPacket) packet).getContainer().shallowClone();
+        container.getIntegers().write(0, entityId);
+
+        return new ProtocolLibPacket(container);
+    }
+
+    @Override
+    public boolean isDisplayEntitySupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isDisplayInterpolationSupported() {
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplaySpawnPacket(int entityId, @NotNull Location location) {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplayMetadataPacket(int entityId, @NotNull List<String> lines) {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplayInterpolationPacket(int entityId, int ticks) {
+        return null;
+    }
+
+    @Override
+    public void sendPacket(@NotNull HologramPacket packet, @NotNull Player target) {
+        try {
+            protocolManager.sendServerPacket(target, ((ProtocolLibPacket) packet).getContainer());
+        } catch (final InvocationTargetException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void registerInteractListener(@NotNull Plugin plugin, @NotNull HologramClickListener listener) {
+        final PlayerEntityUsePacketListener adapter = new PlayerEntityUsePacketListener(plugin, listener);
+        final PlayerEntityUsePacketListener previous = interactListeners.put(listener, adapter);
+        if (previous != null)
+            protocolManager.removePacketListener(previous);
+
+        protocolManager.addPacketListener(adapter);
+    }
+
+    @Override
+    public void unregisterInteractListener(@NotNull HologramClickListener listener) {
+        final PlayerEntityUsePacketListener adapter = interactListeners.remove(listener);
+        if (adapter != null)
+            protocolManager.removePacketListener(adapter);
+    }
+
+    /**
+     * Wraps a container into a {@link HologramPacket}.
+     *
+     * @param container the container to be wrapped.
+     * @return the wrapped packet.
+     */
+    @NotNull
+    protected static HologramPacket wrap(@NotNull PacketContainer container) {
+        return new ProtocolLibPacket(container);
+    }
+
+    /**
+     * Converts an angle to the byte representation used by the protocol.
+     *
+     * @param angle the angle in degrees.
+     * @return the angle in steps of 1/256 of a full turn.
+     */
+    protected static byte toAngle(float angle) {
+        return (byte) (angle * 256.0F / 360.0F);
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.github.eokasta.hologram.protocol;
+
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.injector.netty.WirePacket;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+/**
+ * This class is a {@link PacketBackend} that writes pre-serialized packets straight to the Netty channel of players.<p></p>
+ *
+ * Packets are built by a {@link ProtocolLibPacketBackend} and encoded once, the first time they are sent,
+ * then the same bytes are written for every player that receives them. Encoding is what dominates the
+ * cost of sending a packet shared by many players, such as the metadata of a line seen by a crowd.<p></p>
+ *
+ * The bytes skip the ProtocolLib listeners of other plugins, so this backend is opt-in:
+ * use it only when no plugin needs to see or translate the hologram packets.
+ * Packets that cannot be encoded outside of the pipeline are sent by the wrapped backend.
+ *
+ * <pre>{@code
+ * HologramProtocol.setBackend(new WirePacketBackend(ProtocolLibPacketBackend.create()));
+ * }</pre>
+ *
+ * @see HologramProtocol#setBackend(PacketBackend)
+ */
+public class WirePacketBackend implements PacketBackend {
+
+    private final ProtocolManager protocolManager = ProtocolLibrary.getProtocolManager();
+    private final ProtocolLibPacketBackend backend;
+
+    public WirePacketBackend(@NotNull ProtocolLibPacketBackend backend) {
+        this.backend = backend;
+    }
+
+    @Override
+    public boolean isLegacy() {
+        return backend.isLegacy();
+    }
+
+    @Override
+    public boolean isDisplayEntitySupported() {
+        return backend.isDisplayEntitySupported();
+    }
+
+    @Override
+    public boolean isDisplayInterpolationSupported() {
+        return backend.isDisplayInterpolationSupported();
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createDestroyPacket(int entityId) {
+        return backend.createDestroyPacket(entityId);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createSpawnPacket(int entityId, @NotNull Location location) {
+        return backend.createSpawnPacket(entityId, location);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull String customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        return backend.createMetadataPacket(
+              entityId,
+              customName,
+              visibleCustomName,
+              visibleArmorStand,
+              small,
+              arms,
+              noBasePlate,
+              marker
+        );
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull HologramText customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        return backend.createMetadataPacket(
+              entityId,
+              customName,
+              visibleCustomName,
+              visibleArmorStand,
+              small,
+              arms,
+              noBasePlate,
+              marker
+        );
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createTeleportPacket(int entityId, @NotNull Location location) {
+        return backend.createTeleportPacket(entityId, location);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createRelativeMovePacket(int entityId, @NotNull Location from, @NotNull Location to) {
+        return backend.createRelativeMovePacket(entityId, from, to);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createEquipmentPacket(int entityId, @NotNull ItemStack item) {
+        return backend.createEquipmentPacket(entityId, item);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket withEntityId(@NotNull HologramPacket packet, int entityId) {
+        return backend.withEntityId(packet, entityId);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplaySpawnPacket(int entityId, @NotNull Location location) {
+        return backend.createDisplaySpawnPacket(entityId, location);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplayMetadataPacket(int entityId, @NotNull List<String> lines) {
+        return backend.createDisplayMetadataPacket(entityId, lines);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplayInterpolationPacket(int entityId, int ticks) {
+        return backend.createDisplayInterpolationPacket(entityId, ticks);
+    }
+
+    @Override
+    public void sendPacket(@NotNull HologramPacket packet, @NotNull Player target) {
+        final WirePacket wirePacket = ((ProtocolLibPacket) packet).getWirePacket();
+        if (wirePacket == null) {
+            backend.sendPacket(packet, target);
+            return;
+        }
+
+        try {
+            protocolManager.sendWirePacket(target, wirePacket);
+        } catch (final InvocationTargetException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void registerInteractListener(@NotNull Plugin plugin, @NotNull HologramClickListener listener) {
+        backend.registerInteractListener(plugin, listener);
+    }
+
+    @Override
+    public void unregisterInteractListener(@NotNull HologramClickListener listener) {
+        backend.unregisterInteractListener(listener);
+    }
+
+}
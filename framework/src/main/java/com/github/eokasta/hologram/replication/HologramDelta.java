@@ -0,0 +1,89 @@
+package com.github.eokasta.hologram.replication;
+
+import com.github.eokasta.hologram.store.HologramDefinition;
+import com.github.eokasta.hologram.store.HologramLineDefinition;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is a change of one replicated hologram.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class HologramDelta {
+
+    private final Type type;
+    private final String id;
+    @Nullable
+    private final HologramDefinition definition;
+    private final int line;
+    @Nullable
+    private final String text;
+
+    @NotNull
+    static HologramDelta define(@NotNull HologramDefinition definition) {
+        return new HologramDelta(Type.DEFINE, definition.getId(), definition, 0, null);
+    }
+
+    @NotNull
+    static HologramDelta remove(@NotNull String id) {
+        return new HologramDelta(Type.REMOVE, id, null, 0, null);
+    }
+
+    @NotNull
+    static HologramDelta text(@NotNull String id, int line, @NotNull String text) {
+        return new HologramDelta(Type.TEXT, id, null, line, text);
+    }
+
+    /**
+     * Applies this text delta to a definition.
+     *
+     * @param definition the definition of the hologram.
+     * @return a new definition with the text of the line replaced.
+     * @throws IndexOutOfBoundsException if the definition has no such line.
+     */
+    @NotNull
+    HologramDefinition applyText(@NotNull HologramDefinition definition) {
+        final List<HologramLineDefinition> lines = new ArrayList<>(definition.getLines());
+        final HologramLineDefinition previous = lines.get(line);
+        lines.set(line, new HologramLineDefinition(HologramLineDefinition.Type.TEXT, previous.getSettings(), text, null));
+
+        return new HologramDefinition(
+              definition.getId(),
+              definition.getWorldName(),
+              definition.getX(),
+              definition.getY(),
+              definition.getZ(),
+              definition.getYaw(),
+              definition.getPitch(),
+              Collections.unmodifiableList(lines)
+        );
+    }
+
+    enum Type {
+
+        /**
+         * The whole definition of a hologram, which replaces the previous one.
+         */
+        DEFINE,
+
+        /**
+         * The removal of a hologram.
+         */
+        REMOVE,
+
+        /**
+         * The new text of a line, indexed like {@link HologramDefinition#getLines()}.
+         */
+        TEXT
+
+    }
+
+}
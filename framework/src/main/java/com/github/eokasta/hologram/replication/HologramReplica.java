@@ -0,0 +1,333 @@
+package com.github.eokasta.hologram.replication;
+
+import com.github.eokasta.hologram.AbstractHologramLine;
+import com.github.eokasta.hologram.Hologram;
+import com.github.eokasta.hologram.HologramRegistry;
+import com.github.eokasta.hologram.HologramScheduler;
+import com.github.eokasta.hologram.TextHologramLine;
+import com.github.eokasta.hologram.store.HologramDefinition;
+import com.github.eokasta.hologram.store.HologramLineDefinition;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * This class is responsible for applying the holograms of a {@link HologramReplicationPublisher}
+ * to a {@link HologramRegistry}.<p></p>
+ *
+ * Messages are received on any thread and applied in order on the global thread of the {@link HologramScheduler}. A replica starts
+ * with a resync and asks for a new one whenever a batch is missing or the publisher restarted,
+ * a resync that is not answered is requested again until a snapshot arrives.
+ * Definitions that only changed texts are applied to the spawned holograms without respawning them.
+ *
+ * @see HologramReplicationPublisher
+ */
+public class HologramReplica implements AutoCloseable {
+
+    /**
+     * How long a resync request is waited for before it is sent again.
+     */
+    private static final long RESYNC_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * How often the pending resync is checked, in ticks.
+     */
+    private static final long RESYNC_CHECK_PERIOD = 20;
+
+    @Getter
+    private final String nodeId;
+
+    @Getter
+    private final HologramRegistry registry;
+
+    private final ReplicationTransport transport;
+    private final HologramScheduler scheduler;
+    private final HologramScheduler.Task resyncTask;
+
+    private final Queue<ReplicationMessage> received = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final Map<String, HologramDefinition> definitions = new HashMap<>();
+    private final Map<String, Hologram> holograms = new HashMap<>();
+
+    @Getter
+    private long epoch, sequence;
+
+    private boolean resyncing;
+    private long resyncRequestedAt;
+
+    public HologramReplica(@NotNull HologramRegistry registry, @NotNull ReplicationTransport transport) {
+        this(registry, transport, UUID.randomUUID().toString());
+    }
+
+    public HologramReplica(
+          @NotNull HologramRegistry registry,
+          @NotNull ReplicationTransport transport,
+          @NotNull String nodeId
+    ) {
+        this.registry = registry;
+        this.transport = transport;
+        this.nodeId = nodeId;
+        this.scheduler = HologramScheduler.create(registry.getPlugin());
+
+        transport.subscribe(this::receive);
+        requestResync();
+
+        this.resyncTask = scheduler.runTimer(this::checkResync, RESYNC_CHECK_PERIOD, RESYNC_CHECK_PERIOD);
+    }
+
+    /**
+     * Gets a replicated hologram.
+     *
+     * @param id the id of the hologram.
+     * @return the hologram or <b>null</b> if it was not replicated.
+     */
+    @Nullable
+    public Hologram getHologram(@NotNull String id) {
+        return holograms.get(id);
+    }
+
+    /**
+     * Gets the replicated holograms.
+     *
+     * @return unmodifiable holograms.
+     */
+    @NotNull
+    public Collection<Hologram> getHolograms() {
+        return Collections.unmodifiableCollection(holograms.values());
+    }
+
+    /**
+     * Stops receiving messages and removes the replicated holograms.
+     */
+    @Override
+    public void close() {
+        resyncTask.cancel();
+        transport.close();
+        received.clear();
+
+        for (String id : new ArrayList<>(holograms.keySet()))
+            removeHologram(id);
+    }
+
+    private void receive(byte[] bytes) {
+        final ReplicationMessage message;
+        try {
+            message = ReplicationMessage.decode(bytes);
+        } catch (RuntimeException e) {
+            Bukkit.getLogger().log(Level.WARNING, "Could not decode a hologram replication message.", e);
+            return;
+        }
+
+        if (message.getKind() == ReplicationMessage.RESYNC_REQUEST) return;
+        if (message.getKind() == ReplicationMessage.SNAPSHOT
+              && !nodeId.equals(message.getNodeId())
+              && !ReplicationMessage.BROADCAST.equals(message.getNodeId()))
+            return;
+
+        received.add(message);
+        if (!scheduler.isRegionized() && Bukkit.isPrimaryThread()) {
+            drain();
+            return;
+        }
+
+        if (drainScheduled.compareAndSet(false, true) && registry.getPlugin().isEnabled())
+            scheduler.run(this::drain);
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+
+        ReplicationMessage message;
+        while ((message = received.poll()) != null) {
+            if (message.getKind() == ReplicationMessage.SNAPSHOT)
+                applySnapshot(message);
+            else
+                applyBatch(message);
+        }
+    }
+
+    private void applySnapshot(ReplicationMessage message) {
+        this.epoch = message.getEpoch();
+        this.sequence = message.getSequence();
+        this.resyncing = false;
+
+        final Set<String> ids = new HashSet<>();
+        for (HologramDefinition definition : message.getDefinitions()) {
+            ids.add(definition.getId());
+            define(definition);
+        }
+
+        for (String id : new ArrayList<>(holograms.keySet()))
+            if (!ids.contains(id))
+                removeHologram(id);
+    }
+
+    private void applyBatch(ReplicationMessage message) {
+        // batches older than the snapshot are already part of it.
+        if (resyncing) return;
+
+        if (message.getEpoch() != epoch) {
+            requestResync();
+            return;
+        }
+
+        if (message.getSequence() <= sequence) return;
+
+        if (message.getSequence() != sequence + 1) {
+            requestResync();
+            return;
+        }
+
+        for (HologramDelta delta : message.getDeltas()) {
+            switch (delta.getType()) {
+                case DEFINE:
+                    define(Objects.requireNonNull(delta.getDefinition()));
+                    break;
+                case REMOVE:
+                    removeHologram(delta.getId());
+                    break;
+                default:
+                    if (!applyText(delta)) {
+                        requestResync();
+                        return;
+                    }
+            }
+        }
+
+        this.sequence = message.getSequence();
+    }
+
+    /**
+     * Requests the resync again when its snapshot did not arrive in time, such as when the publisher was down.
+     */
+    private void checkResync() {
+        if (resyncing && System.nanoTime() - resyncRequestedAt >= RESYNC_TIMEOUT_NANOS)
+            requestResync();
+    }
+
+    private void requestResync() {
+        this.resyncing = true;
+        this.resyncRequestedAt = System.nanoTime();
+        transport.publish(ReplicationMessage.encodeResyncRequest(epoch, nodeId));
+    }
+
+    private void define(HologramDefinition definition) {
+        final HologramDefinition previous = definitions.get(definition.getId());
+        if (definition.equals(previous)) return;
+
+        final Hologram current = holograms.get(definition.getId());
+        if (current != null && previous != null && hasSameLayout(previous, definition)) {
+            for (int line = 0; line < definition.getLines().size(); line++) {
+                final String text = definition.getLines().get(line).getText();
+                if (!Objects.equals(text, previous.getLines().get(line).getText()))
+                    setText(current, line, Objects.requireNonNull(text));
+            }
+
+            definitions.put(definition.getId(), definition);
+            refresh(current);
+            return;
+        }
+
+        removeHologram(definition.getId());
+
+        final Hologram hologram = definition.toHologram();
+        registry.registerHologram(hologram);
+
+        final Location location = definition.getLocation();
+        if (location != null)
+            hologram.spawn(location);
+
+        definitions.put(definition.getId(), definition);
+        holograms.put(definition.getId(), hologram);
+    }
+
+    private boolean applyText(HologramDelta delta) {
+        final HologramDefinition definition = definitions.get(delta.getId());
+        final Hologram hologram = holograms.get(delta.getId());
+        if (definition == null || hologram == null || delta.getLine() >= definition.getLines().size())
+            return false;
+
+        definitions.put(delta.getId(), delta.applyText(definition));
+        setText(hologram, delta.getLine(), Objects.requireNonNull(delta.getText()));
+        refresh(hologram);
+        return true;
+    }
+
+    private void removeHologram(String id) {
+        definitions.remove(id);
+
+        final Hologram hologram = holograms.remove(id);
+        if (hologram == null) return;
+
+        if (hologram.isSpawned())
+            hologram.destroy();
+
+        registry.unregisterHologram(hologram);
+    }
+
+    private static void setText(Hologram hologram, int index, String text) {
+        final AbstractHologramLine line = hologram.getLine(index);
+        if (line instanceof TextHologramLine) {
+            ((TextHologramLine) line).setText(text);
+            return;
+        }
+
+        final TextHologramLine textLine = new TextHologramLine(hologram, Objects.requireNonNull(line).getSettings());
+        textLine.setText(text);
+        hologram.replaceLine(index, textLine);
+    }
+
+    private static void refresh(Hologram hologram) {
+        for (Player viewer : hologram.getViewers())
+            hologram.update(viewer);
+    }
+
+    /**
+     * Checks if two definitions only differ by the texts of their lines.
+     */
+    private static boolean hasSameLayout(HologramDefinition previous, HologramDefinition definition) {
+        if (!previous.getWorldName().equals(definition.getWorldName())
+              || previous.getX() != definition.getX()
+              || previous.getY() != definition.getY()
+              || previous.getZ() != definition.getZ()
+              || previous.getYaw() != definition.getYaw()
+              || previous.getPitch() != definition.getPitch())
+            return false;
+
+        final List<HologramLineDefinition> previousLines = previous.getLines();
+        final List<HologramLineDefinition> lines = definition.getLines();
+        if (previousLines.size() != lines.size()) return false;
+
+        for (int i = 0; i < lines.size(); i++) {
+            final HologramLineDefinition previousLine = previousLines.get(i);
+            final HologramLineDefinition line = lines.get(i);
+            if (previousLine.getType() != line.getType()
+                  || !previousLine.getSettings().equals(line.getSettings())
+                  || !Objects.equals(previousLine.getItem(), line.getItem()))
+                return false;
+        }
+
+        return true;
+    }
+
+}
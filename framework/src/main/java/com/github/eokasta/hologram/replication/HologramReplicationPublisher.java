@@ -0,0 +1,191 @@
+package com.github.eokasta.hologram.replication;
+
+import com.github.eokasta.hologram.HologramScheduler;
+import com.github.eokasta.hologram.store.HologramDefinition;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+
+/**
+ * This class is responsible for publishing holograms to the other servers of a {@link ReplicationTransport}.<p></p>
+ *
+ * Changes are queued and published together by {@link HologramReplicationPublisher#flush()}, which coalesces
+ * them first: a definition replaces the queued changes of its hologram and a text replaces the previous text
+ * of its line. Each batch has a sequence number, so a {@link HologramReplica} that misses one asks for a
+ * snapshot of every current definition instead. The first flush publishes a snapshot to every replica,
+ * so replicas that started before this publisher are synchronized without waiting for a missing batch.
+ *
+ * @see HologramReplica
+ */
+public class HologramReplicationPublisher implements AutoCloseable {
+
+    private final ReplicationTransport transport;
+
+    /**
+     * The identify of this run of the publisher, replicas resync when it changes.
+     */
+    @Getter
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+
+    private final Map<String, HologramDefinition> definitions = new LinkedHashMap<>();
+
+    /**
+     * Queued deltas, keyed by the id of the hologram or by the id and line of a text.
+     */
+    private final Map<Object, HologramDelta> pending = new LinkedHashMap<>();
+
+    @Getter
+    private long sequence;
+
+    /**
+     * Whether the snapshot of this run was already published to every replica.
+     */
+    private boolean announced;
+
+    public HologramReplicationPublisher(@NotNull ReplicationTransport transport) {
+        this.transport = transport;
+        transport.subscribe(this::receive);
+    }
+
+    /**
+     * Gets the current definitions, including the changes not published yet.
+     *
+     * @return unmodifiable definitions.
+     */
+    @NotNull
+    public synchronized Collection<HologramDefinition> getDefinitions() {
+        return Collections.unmodifiableList(new ArrayList<>(definitions.values()));
+    }
+
+    /**
+     * Queues a hologram to be created or replaced on the replicas.
+     *
+     * @param definition the definition of the hologram.
+     */
+    public synchronized void define(@NotNull HologramDefinition definition) {
+        definitions.put(definition.getId(), definition);
+
+        removePending(definition.getId());
+        pending.put(definition.getId(), HologramDelta.define(definition));
+    }
+
+    /**
+     * Queues a hologram to be removed from the replicas.
+     *
+     * @param id the id of the hologram.
+     */
+    public synchronized void remove(@NotNull String id) {
+        if (definitions.remove(id) == null) return;
+
+        removePending(id);
+        pending.put(id, HologramDelta.remove(id));
+    }
+
+    /**
+     * Queues a new text for a line of a hologram.
+     *
+     * @param id the id of the hologram.
+     * @param line the index of the line, like {@link HologramDefinition#getLines()}.
+     * @param text the new text.
+     * @throws IllegalArgumentException if there is no such hologram.
+     * @throws IndexOutOfBoundsException if the hologram has no such line.
+     */
+    public synchronized void setText(@NotNull String id, int line, @NotNull String text) {
+        final HologramDefinition definition = definitions.get(id);
+        if (definition == null)
+            throw new IllegalArgumentException("Hologram " + id + " is not defined.");
+
+        final HologramDelta delta = HologramDelta.text(id, line, text);
+        final HologramDefinition updated = delta.applyText(definition);
+        definitions.put(id, updated);
+
+        // a queued definition already carries the new text.
+        final HologramDelta queued = pending.get(id);
+        if (queued != null && queued.getType() == HologramDelta.Type.DEFINE) {
+            pending.put(id, HologramDelta.define(updated));
+            return;
+        }
+
+        final Object key = new AbstractMap.SimpleImmutableEntry<>(id, line);
+        pending.remove(key);
+        pending.put(key, delta);
+    }
+
+    /**
+     * Publishes the queued changes as one batch, or the snapshot of every definition on the first flush.
+     */
+    public synchronized void flush() {
+        if (!announced) {
+            // the snapshot already carries the queued changes.
+            announced = true;
+            pending.clear();
+            transport.publish(ReplicationMessage.encodeSnapshot(
+                  epoch, sequence, ReplicationMessage.BROADCAST, definitions.values()
+            ));
+            return;
+        }
+
+        if (pending.isEmpty()) return;
+
+        final byte[] message = ReplicationMessage.encodeBatch(epoch, ++sequence, pending.values());
+        pending.clear();
+        transport.publish(message);
+    }
+
+    /**
+     * Flushes the queued changes periodically.
+     *
+     * @param plugin the plugin that owns the task.
+     * @param period the period between each flush.
+     * @return the running task.
+     */
+    @NotNull
+    public HologramScheduler.Task initialize(@NotNull Plugin plugin, long period) {
+        return HologramScheduler.create(plugin).runTimer(this::flush, period, period);
+    }
+
+    @Override
+    public void close() {
+        flush();
+        transport.close();
+    }
+
+    /**
+     * Answers the resync requests of the replicas, the snapshot also contains the
+     * queued changes, which the next batch applies again without any effect.
+     */
+    private void receive(byte[] bytes) {
+        final ReplicationMessage message;
+        try {
+            message = ReplicationMessage.decode(bytes);
+        } catch (RuntimeException e) {
+            Bukkit.getLogger().log(Level.WARNING, "Could not decode a hologram replication message.", e);
+            return;
+        }
+
+        if (message.getKind() != ReplicationMessage.RESYNC_REQUEST) return;
+
+        final byte[] snapshot;
+        synchronized (this) {
+            snapshot = ReplicationMessage.encodeSnapshot(epoch, sequence, message.getNodeId(), definitions.values());
+        }
+
+        transport.publish(snapshot);
+    }
+
+    private void removePending(String id) {
+        pending.keySet().removeIf(key -> key.equals(id)
+              || key instanceof Map.Entry && ((Map.Entry<?, ?>) key).getKey().equals(id));
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.github.eokasta.hologram.replication;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This class is an in-memory channel connecting nodes in the same JVM, used by tests and simulations.<p></p>
+ *
+ * Each node gets its own endpoint from {@link LoopbackReplicationTransport#connect()} and messages are
+ * delivered synchronously, on the publishing thread, to every other endpoint. An endpoint that stops
+ * receiving drops the messages, which simulates a node that falls behind.
+ */
+public class LoopbackReplicationTransport {
+
+    private final List<Endpoint> endpoints = new CopyOnWriteArrayList<>();
+
+    /**
+     * Connects a new node to this channel.
+     *
+     * @return the endpoint of the node.
+     */
+    @NotNull
+    public Endpoint connect() {
+        final Endpoint endpoint = new Endpoint();
+        endpoints.add(endpoint);
+        return endpoint;
+    }
+
+    /**
+     * This class is the endpoint of one node in a {@link LoopbackReplicationTransport}.
+     */
+    public final class Endpoint implements ReplicationTransport {
+
+        private final List<Consumer<byte[]>> listeners = new CopyOnWriteArrayList<>();
+
+        /**
+         * Whether this endpoint receives messages, they are dropped while <b>false</b>.
+         */
+        @Getter
+        @Setter
+        private volatile boolean receiving = true;
+
+        private Endpoint() {
+        }
+
+        @Override
+        public void publish(@NotNull byte[] message) {
+            for (Endpoint endpoint : endpoints)
+                if (endpoint != this)
+                    endpoint.receive(message);
+        }
+
+        @Override
+        public void subscribe(@NotNull Consumer<byte[]> listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void close() {
+            endpoints.remove(this);
+            listeners.clear();
+        }
+
+        private void receive(byte[] message) {
+            if (!receiving) return;
+
+            for (Consumer<byte[]> listener : listeners)
+                listener.accept(message.clone());
+        }
+
+    }
+
+}
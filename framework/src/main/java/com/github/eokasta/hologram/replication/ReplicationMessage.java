@@ -0,0 +1,184 @@
+package com.github.eokasta.hologram.replication;
+
+import com.github.eokasta.hologram.store.HologramDefinition;
+import com.github.eokasta.hologram.store.HologramDefinitionCodec;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is a decoded replication message, with the compact binary encoding of each kind.<p></p>
+ *
+ * Every message starts with its kind and the epoch of the publisher, which changes
+ * whenever the publisher restarts. Deltas reuse the {@link HologramDefinitionCodec} encoding.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ReplicationMessage {
+
+    static final byte BATCH = 1;
+    static final byte RESYNC_REQUEST = 2;
+    static final byte SNAPSHOT = 3;
+
+    /**
+     * The node id of a snapshot for every replica, such as the one published when a publisher starts.
+     */
+    static final String BROADCAST = "";
+
+    private static final HologramDelta.Type[] DELTA_TYPES = HologramDelta.Type.values();
+
+    private final byte kind;
+    private final long epoch;
+    private final long sequence;
+
+    /**
+     * The node that asked for a resync or the node a snapshot is for.
+     */
+    @Nullable
+    private final String nodeId;
+
+    private final List<HologramDelta> deltas;
+    private final List<HologramDefinition> definitions;
+
+    @NotNull
+    static byte[] encodeBatch(long epoch, long sequence, @NotNull Collection<HologramDelta> deltas) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(BATCH);
+            output.writeLong(epoch);
+            output.writeLong(sequence);
+
+            HologramDefinitionCodec.writeVarInt(output, deltas.size());
+            for (HologramDelta delta : deltas) {
+                output.writeByte(delta.getType().ordinal());
+                switch (delta.getType()) {
+                    case DEFINE:
+                        HologramDefinitionCodec.write(output, delta.getDefinition());
+                        break;
+                    case REMOVE:
+                        HologramDefinitionCodec.writeString(output, delta.getId());
+                        break;
+                    default:
+                        HologramDefinitionCodec.writeString(output, delta.getId());
+                        HologramDefinitionCodec.writeVarInt(output, delta.getLine());
+                        HologramDefinitionCodec.writeString(output, delta.getText());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @NotNull
+    static byte[] encodeResyncRequest(long epoch, @NotNull String nodeId) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(RESYNC_REQUEST);
+            output.writeLong(epoch);
+            HologramDefinitionCodec.writeString(output, nodeId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @NotNull
+    static byte[] encodeSnapshot(
+          long epoch,
+          long sequence,
+          @NotNull String nodeId,
+          @NotNull Collection<HologramDefinition> definitions
+    ) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(SNAPSHOT);
+            output.writeLong(epoch);
+            output.writeLong(sequence);
+            HologramDefinitionCodec.writeString(output, nodeId);
+
+            HologramDefinitionCodec.writeVarInt(output, definitions.size());
+            for (HologramDefinition definition : definitions)
+                HologramDefinitionCodec.write(output, definition);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a message.
+     *
+     * @param message the encoded message.
+     * @return the decoded {@link ReplicationMessage}.
+     * @throws IllegalArgumentException if the message is not a replication message.
+     */
+    @NotNull
+    static ReplicationMessage decode(@NotNull byte[] message) {
+        final ByteBuffer buffer = ByteBuffer.wrap(message);
+        final byte kind = buffer.get();
+        final long epoch = buffer.getLong();
+
+        switch (kind) {
+            case BATCH: {
+                final long sequence = buffer.getLong();
+                final int size = HologramDefinitionCodec.readVarInt(buffer);
+                final List<HologramDelta> deltas = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    deltas.add(readDelta(buffer));
+
+                return new ReplicationMessage(kind, epoch, sequence, null, deltas, Collections.emptyList());
+            }
+            case RESYNC_REQUEST:
+                return new ReplicationMessage(
+                      kind,
+                      epoch,
+                      0,
+                      HologramDefinitionCodec.readString(buffer),
+                      Collections.emptyList(),
+                      Collections.emptyList()
+                );
+            case SNAPSHOT: {
+                final long sequence = buffer.getLong();
+                final String nodeId = HologramDefinitionCodec.readString(buffer);
+                final int size = HologramDefinitionCodec.readVarInt(buffer);
+                final List<HologramDefinition> definitions = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    definitions.add(HologramDefinitionCodec.read(buffer));
+
+                return new ReplicationMessage(kind, epoch, sequence, nodeId, Collections.emptyList(), definitions);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown replication message: " + kind);
+        }
+    }
+
+    private static HologramDelta readDelta(ByteBuffer buffer) {
+        switch (DELTA_TYPES[buffer.get()]) {
+            case DEFINE:
+                return HologramDelta.define(HologramDefinitionCodec.read(buffer));
+            case REMOVE:
+                return HologramDelta.remove(HologramDefinitionCodec.readString(buffer));
+            default:
+                final String id = HologramDefinitionCodec.readString(buffer);
+                final int line = HologramDefinitionCodec.readVarInt(buffer);
+                return HologramDelta.text(id, line, HologramDefinitionCodec.readString(buffer));
+        }
+    }
+
+}
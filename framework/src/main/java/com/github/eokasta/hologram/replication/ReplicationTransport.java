@@ -0,0 +1,38 @@
+package com.github.eokasta.hologram.replication;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * This interface is responsible for carrying replication messages between servers,
+ * such as a Redis channel, a message broker or plugin messaging.<p></p>
+ *
+ * A transport broadcasts every message to all other nodes of its channel, keeping the order
+ * in which one node published them. Messages may be lost, nodes that miss one ask for a resync.
+ *
+ * @see LoopbackReplicationTransport
+ */
+public interface ReplicationTransport extends AutoCloseable {
+
+    /**
+     * Publishes a message to all other nodes, it must not block.
+     *
+     * @param message the encoded message.
+     */
+    void publish(@NotNull byte[] message);
+
+    /**
+     * Subscribes to the messages of the other nodes, the listener may be called from any thread.
+     *
+     * @param listener the listener of the received messages.
+     */
+    void subscribe(@NotNull Consumer<byte[]> listener);
+
+    /**
+     * Stops receiving and publishing messages.
+     */
+    @Override
+    void close();
+
+}
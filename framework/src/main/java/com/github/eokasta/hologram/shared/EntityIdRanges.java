@@ -0,0 +1,66 @@
+package com.github.eokasta.hologram.shared;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.BitSet;
+
+/**
+ * This class is responsible for splitting the negative entity identifiers between the copies of the framework.<p></p>
+ *
+ * Every plugin that shades the framework relocates it, so each copy has its own
+ * {@link com.github.eokasta.hologram.EntityIdAllocator} and would hand out the same identifiers.
+ * This package must <b>not</b> be relocated, so all copies share this class and each one takes a
+ * distinct range of {@link EntityIdRanges#RANGE_SIZE} identifiers. A range is kept until the server stops.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EntityIdRanges {
+
+    /**
+     * The amount of identifiers in each range.
+     */
+    public static final int RANGE_SIZE = 1 << 24;
+
+    /**
+     * The amount of ranges below zero.
+     */
+    public static final int RANGE_COUNT = 1 << 7;
+
+    private static final BitSet TAKEN = new BitSet(RANGE_COUNT);
+
+    /**
+     * Takes the next free range.
+     *
+     * @return the index of the range.
+     * @throws IllegalStateException if every range was taken.
+     */
+    public static synchronized int acquire() {
+        final int range = TAKEN.nextClearBit(0);
+        if (range >= RANGE_COUNT)
+            throw new IllegalStateException("All " + RANGE_COUNT + " hologram entity id ranges are taken.");
+
+        TAKEN.set(range);
+        return range;
+    }
+
+    /**
+     * Gets the first identifier of a range.
+     *
+     * @param range the index of the range.
+     * @return the first entity identifier.
+     */
+    public static int getFirstId(int range) {
+        return Integer.MIN_VALUE + range * RANGE_SIZE;
+    }
+
+    /**
+     * Gets the range an identifier belongs to.
+     *
+     * @param entityId the entity identifier.
+     * @return the index of the range, or <b>-1</b> if the identifier is not negative.
+     */
+    public static int rangeOf(int entityId) {
+        return entityId < 0 ? (entityId - Integer.MIN_VALUE) / RANGE_SIZE : -1;
+    }
+
+}
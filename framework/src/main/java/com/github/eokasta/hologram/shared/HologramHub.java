@@ -0,0 +1,96 @@
+package com.github.eokasta.hologram.shared;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This interface is the service that runs the update loop and reads the clicks of every copy of the framework.<p></p>
+ *
+ * Plugins relocate the framework when shading it, so each copy has its own classes and its own engine.
+ * This package is not relocated, so every copy finds the same hub in the services manager under this
+ * interface and attaches its engine as a {@link Member}, instead of starting another tick loop and
+ * another packet listener. Only JDK and Bukkit types cross this interface, as the hub and its members
+ * can come from different class loaders.<p></p>
+ *
+ * The hub is run by the plugin that created it. When that plugin is disabled the hub stops and
+ * every member is {@link Member#detached() detached}, members of enabled plugins then attach to a
+ * new hub created by one of them.
+ *
+ * @see EntityIdRanges
+ */
+public interface HologramHub {
+
+    /**
+     * Attaches a copy of the framework to this hub.
+     *
+     * @param member the member to be attached.
+     * @return the attachment of the member.
+     * @throws IllegalStateException if another member already took the entity id range of this one.
+     */
+    @NotNull
+    Attachment attach(@NotNull Member member);
+
+    /**
+     * Gets the plugin that runs this hub.
+     *
+     * @return the plugin of the hub.
+     */
+    @NotNull
+    Plugin getPlugin();
+
+    /**
+     * This interface is a copy of the framework attached to a hub.
+     */
+    interface Member {
+
+        /**
+         * Gets the plugin that runs the engine of this member.
+         *
+         * @return the plugin of the member.
+         */
+        @NotNull
+        Plugin getPlugin();
+
+        /**
+         * Gets the entity id range of this member, clicks on identifiers of this range are passed to it.
+         *
+         * @return the index of the range.
+         * @see EntityIdRanges#rangeOf(int)
+         */
+        int getEntityIdRange();
+
+        /**
+         * Called by the hub on every tick.
+         */
+        void tick();
+
+        /**
+         * Called by the hub when a player clicks an entity of the range of this member, on the network thread.
+         *
+         * @param player the player who clicked.
+         * @param entityId identify of the clicked entity.
+         * @param attack <b>true</b> for a left click or <b>false</b> for a right click.
+         */
+        void click(@NotNull Player player, int entityId, boolean attack);
+
+        /**
+         * Called when the hub stops while this member is still attached.
+         */
+        void detached();
+
+    }
+
+    /**
+     * This interface is the link between a hub and one of its members.
+     */
+    interface Attachment {
+
+        /**
+         * Detaches the member from the hub, the hub stops once it has no members.
+         */
+        void detach();
+
+    }
+
+}
@@ -0,0 +1,393 @@
+package com.github.eokasta.hologram.store;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This class stores holograms in an append-only binary journal.<p></p>
+ *
+ * Each flush appends only the definitions that changed, the whole file is read
+ * back with a single memory mapping and the journal is compacted once most of it
+ * is made of outdated records. All I/O happens on the store executor, one task at a time
+ * even if the given executor runs tasks in parallel.
+ *
+ * @see HologramDefinitionCodec
+ */
+public class BinaryHologramStore implements HologramStore {
+
+    private static final int MAGIC = 0x484F4C4F;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+    private static final int RECORD_HEADER_SIZE = 5;
+
+    private static final byte OPERATION_PUT = 1;
+    private static final byte OPERATION_DELETE = 2;
+
+    private static final long COMPACTION_THRESHOLD = 1 << 20;
+
+    private final Path file;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Runs the tasks of this store one at a time, the records are not thread-safe.
+     */
+    private final Executor executor;
+
+    /**
+     * Queued changes, a <b>null</b> value means the definition was deleted.
+     */
+    private Map<String, HologramDefinition> pending = new LinkedHashMap<>();
+
+    /**
+     * Encoded definitions as they are in the journal, only accessed by the executor.
+     */
+    private final Map<String, byte[]> records = new HashMap<>();
+    private boolean loaded;
+    private long fileBytes, liveBytes;
+
+    public BinaryHologramStore(@NotNull Path file, @NotNull ExecutorService executor) {
+        this(file, executor, false);
+    }
+
+    public BinaryHologramStore(@NotNull Path file) {
+        this(file, Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "hologram-store");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    private BinaryHologramStore(Path file, ExecutorService executor, boolean ownedExecutor) {
+        this.file = file;
+        this.executor = new SerialExecutor(executor);
+        this.ownedExecutor = ownedExecutor ? executor : null;
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<List<HologramDefinition>> loadAll() {
+        return CompletableFuture.supplyAsync(() -> {
+            ensureLoaded();
+
+            final List<HologramDefinition> definitions = new ArrayList<>(records.size());
+            for (byte[] record : records.values())
+                definitions.add(HologramDefinitionCodec.read(ByteBuffer.wrap(record)));
+
+            return definitions;
+        }, executor);
+    }
+
+    @Override
+    public synchronized void save(@NotNull HologramDefinition definition) {
+        pending.put(definition.getId(), definition);
+    }
+
+    @Override
+    public synchronized void delete(@NotNull String id) {
+        pending.put(id, null);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Void> flush() {
+        final Map<String, HologramDefinition> changes;
+        synchronized (this) {
+            if (pending.isEmpty())
+                return CompletableFuture.completedFuture(null);
+
+            changes = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            try {
+                ensureLoaded();
+                write(changes);
+            } catch (IOException e) {
+                requeue(changes);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                requeue(changes);
+                throw e;
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush().join();
+        } finally {
+            if (ownedExecutor != null)
+                ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Queues the changes of a failed flush again, behind the changes queued since.
+     */
+    private synchronized void requeue(Map<String, HologramDefinition> changes) {
+        final Map<String, HologramDefinition> queued = new LinkedHashMap<>(changes);
+        queued.putAll(pending);
+        pending = queued;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+
+        // a failed read is retried from the start.
+        records.clear();
+        fileBytes = liveBytes = 0;
+
+        try {
+            read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        loaded = true;
+    }
+
+    private void read() throws IOException {
+        if (!Files.exists(file)) return;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE) return;
+
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC)
+                throw new IOException("Invalid hologram store file: " + file);
+
+            final byte version = buffer.get();
+            if (version != VERSION)
+                throw new IOException("Unsupported hologram store version: " + version);
+
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                final int start = buffer.position();
+                final byte operation = buffer.get();
+                final int length = buffer.getInt();
+
+                // a partially written record at the end of the journal is discarded.
+                if (length < 0 || buffer.remaining() < length) {
+                    buffer.position(start);
+                    break;
+                }
+
+                final byte[] record = new byte[length];
+                buffer.get(record);
+
+                if (operation == OPERATION_PUT)
+                    putRecord(HologramDefinitionCodec.readString(ByteBuffer.wrap(record)), record);
+                else if (operation == OPERATION_DELETE)
+                    removeRecord(HologramDefinitionCodec.readString(ByteBuffer.wrap(record)));
+            }
+
+            fileBytes = buffer.position();
+        }
+    }
+
+    /**
+     * Appends the changes to the journal, the records in memory are only
+     * updated once the file was written, so a failed write can be retried.
+     */
+    private void write(Map<String, HologramDefinition> changes) throws IOException {
+        final ByteArrayOutputStream journal = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(journal);
+
+        // the new record of each changed id, a null record means it was deleted.
+        final Map<String, byte[]> written = new LinkedHashMap<>();
+        long writtenLiveBytes = liveBytes;
+
+        for (Map.Entry<String, HologramDefinition> entry : changes.entrySet()) {
+            final String id = entry.getKey();
+            final HologramDefinition definition = entry.getValue();
+            final byte[] previous = records.get(id);
+
+            if (definition == null) {
+                if (previous == null) continue;
+
+                final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+                HologramDefinitionCodec.writeString(new DataOutputStream(payload), id);
+                writeRecord(output, OPERATION_DELETE, payload.toByteArray());
+
+                written.put(id, null);
+                writtenLiveBytes -= RECORD_HEADER_SIZE + previous.length;
+                continue;
+            }
+
+            final byte[] record = encode(definition);
+            if (Arrays.equals(record, previous)) continue;
+
+            writeRecord(output, OPERATION_PUT, record);
+
+            written.put(id, record);
+            writtenLiveBytes += RECORD_HEADER_SIZE + record.length;
+            if (previous != null)
+                writtenLiveBytes -= RECORD_HEADER_SIZE + previous.length;
+        }
+
+        if (journal.size() == 0) return;
+
+        if (fileBytes + journal.size() > COMPACTION_THRESHOLD && fileBytes + journal.size() > writtenLiveBytes * 2) {
+            compact(written, writtenLiveBytes);
+            apply(written);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file,
+              StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = fileBytes;
+            if (position < HEADER_SIZE) {
+                channel.truncate(0);
+                channel.write(header(), 0);
+                position = HEADER_SIZE;
+            } else {
+                // drops what a previous failed write left after the journal.
+                channel.truncate(position);
+            }
+
+            final ByteBuffer buffer = ByteBuffer.wrap(journal.toByteArray());
+            while (buffer.hasRemaining())
+                position += channel.write(buffer, position);
+
+            fileBytes = position;
+        }
+
+        apply(written);
+    }
+
+    /**
+     * Rewrites the journal with only the current records, including the written ones.
+     */
+    private void compact(Map<String, byte[]> written, long writtenLiveBytes) throws IOException {
+        final ByteArrayOutputStream journal =
+              new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE, writtenLiveBytes + HEADER_SIZE));
+        final DataOutputStream output = new DataOutputStream(journal);
+        output.write(header().array());
+
+        for (Map.Entry<String, byte[]> entry : records.entrySet())
+            if (!written.containsKey(entry.getKey()))
+                writeRecord(output, OPERATION_PUT, entry.getValue());
+
+        for (byte[] record : written.values())
+            if (record != null)
+                writeRecord(output, OPERATION_PUT, record);
+
+        final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, journal.toByteArray());
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        fileBytes = journal.size();
+    }
+
+    private void apply(Map<String, byte[]> written) {
+        for (Map.Entry<String, byte[]> entry : written.entrySet()) {
+            if (entry.getValue() == null)
+                removeRecord(entry.getKey());
+            else
+                putRecord(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void putRecord(String id, byte[] record) {
+        final byte[] previous = records.put(id, record);
+        if (previous != null)
+            liveBytes -= RECORD_HEADER_SIZE + previous.length;
+
+        liveBytes += RECORD_HEADER_SIZE + record.length;
+    }
+
+    private byte[] removeRecord(String id) {
+        final byte[] previous = records.remove(id);
+        if (previous != null)
+            liveBytes -= RECORD_HEADER_SIZE + previous.length;
+
+        return previous;
+    }
+
+    private static byte[] encode(HologramDefinition definition) throws IOException {
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream(64);
+        HologramDefinitionCodec.write(new DataOutputStream(payload), definition);
+        return payload.toByteArray();
+    }
+
+    private static void writeRecord(DataOutputStream output, byte operation, byte[] payload) throws IOException {
+        output.writeByte(operation);
+        output.writeInt(payload.length);
+        output.write(payload);
+    }
+
+    /**
+     * This class runs the tasks given to it one after another on another executor.
+     */
+    private static final class SerialExecutor implements Executor {
+
+        private final Executor executor;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private Runnable active;
+
+        private SerialExecutor(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void execute(@NotNull Runnable task) {
+            tasks.add(() -> {
+                try {
+                    task.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+
+            if (active == null)
+                scheduleNext();
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active == null) return;
+
+            try {
+                executor.execute(active);
+            } catch (RejectedExecutionException e) {
+                active = null;
+                tasks.clear();
+                throw e;
+            }
+        }
+
+    }
+
+    private static ByteBuffer header() {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put(VERSION).flip();
+        return header;
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.github.eokasta.hologram.store;
+
+import com.github.eokasta.hologram.AbstractHologramLine;
+import com.github.eokasta.hologram.Hologram;
+import com.github.eokasta.hologram.HologramInteractHandler;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class is the persistent definition of a {@link Hologram}:
+ * its location, lines, line settings and static texts.<p></p>
+ *
+ * Definitions are immutable snapshots, so they can be safely handed to other threads.
+ *
+ * @see HologramStore
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class HologramDefinition {
+
+    private final String id;
+    private final String worldName;
+    private final double x, y, z;
+    private final float yaw, pitch;
+    private final List<HologramLineDefinition> lines;
+
+    /**
+     * Creates the definition of an existing hologram.
+     *
+     * @param id the unique identifier of the hologram in the store.
+     * @param hologram the hologram to be defined, it must have a location.
+     * @return a new {@link HologramDefinition} instance.
+     */
+    @NotNull
+    public static HologramDefinition of(@NotNull String id, @NotNull Hologram hologram) {
+        final Location location =
+              Objects.requireNonNull(hologram.getLocation(), "Hologram location cannot be null.");
+        final World world = Objects.requireNonNull(location.getWorld(), "Hologram world cannot be null.");
+
+        final List<HologramLineDefinition> lines = new ArrayList<>(hologram.getLines().size());
+        for (AbstractHologramLine line : hologram.getLines())
+            lines.add(HologramLineDefinition.of(line));
+
+        return new HologramDefinition(
+              id,
+              world.getName(),
+              location.getX(),
+              location.getY(),
+              location.getZ(),
+              location.getYaw(),
+              location.getPitch(),
+              Collections.unmodifiableList(lines)
+        );
+    }
+
+    /**
+     * Resolves the location of this definition.
+     *
+     * @return the location or <b>null</b> if the world is not loaded.
+     */
+    @Nullable
+    public Location getLocation() {
+        final World world = Bukkit.getWorld(worldName);
+        if (world == null)
+            return null;
+
+        return new Location(world, x, y, z, yaw, pitch);
+    }
+
+    /**
+     * Creates a new hologram from this definition, it still needs to be spawned.
+     *
+     * @return a new {@link Hologram} instance.
+     * @see Hologram#spawn(Location)
+     */
+    @NotNull
+    public Hologram toHologram() {
+        final List<AbstractHologramLine> hologramLines = new ArrayList<>(lines.size());
+        final Hologram hologram = new Hologram(hologramLines);
+        hologram.setInteractHandler(new HologramInteractHandler());
+
+        for (HologramLineDefinition line : lines)
+            hologramLines.add(line.toLine(hologram));
+
+        return hologram;
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.github.eokasta.hologram.store;
+
+import com.github.eokasta.hologram.HologramSettings;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is responsible for the compact binary encoding of {@link HologramDefinition}.<p></p>
+ *
+ * Strings and counts are written as var ints followed by UTF-8 bytes and the
+ * line settings are packed into a single byte, so a definition is usually a few dozen bytes.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HologramDefinitionCodec {
+
+    private static final HologramLineDefinition.Type[] LINE_TYPES = HologramLineDefinition.Type.values();
+
+    /**
+     * Writes a definition.
+     *
+     * @param output the output to write to.
+     * @param definition the definition to be written.
+     * @throws IOException if the output fails.
+     */
+    public static void write(@NotNull DataOutput output, @NotNull HologramDefinition definition) throws IOException {
+        writeString(output, definition.getId());
+        writeString(output, definition.getWorldName());
+        output.writeDouble(definition.getX());
+        output.writeDouble(definition.getY());
+        output.writeDouble(definition.getZ());
+        output.writeFloat(definition.getYaw());
+        output.writeFloat(definition.getPitch());
+
+        writeVarInt(output, definition.getLines().size());
+        for (HologramLineDefinition line : definition.getLines()) {
+            output.writeByte(line.getType().ordinal());
+            output.writeByte(packSettings(line.getSettings()));
+
+            if (line.getType() == HologramLineDefinition.Type.TEXT)
+                writeString(output, line.getText());
+            else if (line.getType() == HologramLineDefinition.Type.ITEM)
+                writeItem(output, line.getItem());
+        }
+    }
+
+    /**
+     * Reads a definition from the current position of the buffer.
+     *
+     * @param buffer the buffer to read from.
+     * @return the read {@link HologramDefinition}.
+     */
+    @NotNull
+    public static HologramDefinition read(@NotNull ByteBuffer buffer) {
+        final String id = readString(buffer);
+        final String worldName = readString(buffer);
+        final double x = buffer.getDouble();
+        final double y = buffer.getDouble();
+        final double z = buffer.getDouble();
+        final float yaw = buffer.getFloat();
+        final float pitch = buffer.getFloat();
+
+        final int size = readVarInt(buffer);
+        final List<HologramLineDefinition> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final HologramLineDefinition.Type type = LINE_TYPES[buffer.get()];
+            final HologramSettings settings = unpackSettings(buffer.get());
+            final String text = type == HologramLineDefinition.Type.TEXT ? readString(buffer) : null;
+            final ItemStack item = type == HologramLineDefinition.Type.ITEM ? readItem(buffer) : null;
+
+            lines.add(new HologramLineDefinition(type, settings, text, item));
+        }
+
+        return new HologramDefinition(id, worldName, x, y, z, yaw, pitch, Collections.unmodifiableList(lines));
+    }
+
+    public static void writeString(@NotNull DataOutput output, @NotNull String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    @NotNull
+    public static String readString(@NotNull ByteBuffer buffer) {
+        final byte[] bytes = new byte[readVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeItem(@NotNull DataOutput output, @NotNull ItemStack item) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream objectOutput = new BukkitObjectOutputStream(bytes)) {
+            objectOutput.writeObject(item);
+        }
+
+        writeVarInt(output, bytes.size());
+        output.write(bytes.toByteArray());
+    }
+
+    @NotNull
+    public static ItemStack readItem(@NotNull ByteBuffer buffer) {
+        final byte[] bytes = new byte[readVarInt(buffer)];
+        buffer.get(bytes);
+
+        try (BukkitObjectInputStream objectInput = new BukkitObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (ItemStack) objectInput.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not read hologram line item.", e);
+        }
+    }
+
+    public static void writeVarInt(@NotNull DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        output.writeByte(value);
+    }
+
+    public static int readVarInt(@NotNull ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            if (shift > 28)
+                throw new IllegalStateException("VarInt is too big.");
+
+            current = buffer.get();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+
+        return value;
+    }
+
+    private static int packSettings(@NotNull HologramSettings settings) {
+        int flags = 0;
+        if (settings.isVisibleCustomName()) flags |= 0x01;
+        if (settings.isVisibleArmorStand()) flags |= 0x02;
+        if (settings.isSmall()) flags |= 0x04;
+        if (settings.isArms()) flags |= 0x08;
+        if (settings.isNoBasePlate()) flags |= 0x10;
+        if (settings.isMarker()) flags |= 0x20;
+
+        return flags;
+    }
+
+    @NotNull
+    private static HologramSettings unpackSettings(int flags) {
+        return HologramSettings.builder()
+              .visibleCustomName((flags & 0x01) != 0)
+              .visibleArmorStand((flags & 0x02) != 0)
+              .small((flags & 0x04) != 0)
+              .arms((flags & 0x08) != 0)
+              .noBasePlate((flags & 0x10) != 0)
+              .marker((flags & 0x20) != 0)
+              .build();
+    }
+
+}
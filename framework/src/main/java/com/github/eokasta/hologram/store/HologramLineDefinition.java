@@ -0,0 +1,83 @@
+package com.github.eokasta.hologram.store;
+
+import com.github.eokasta.hologram.AbstractHologramLine;
+import com.github.eokasta.hologram.EmptyHologramLine;
+import com.github.eokasta.hologram.Hologram;
+import com.github.eokasta.hologram.HologramSettings;
+import com.github.eokasta.hologram.ItemHologramLine;
+import com.github.eokasta.hologram.TextHologramLine;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is the persistent definition of a hologram line.
+ *
+ * @see HologramDefinition
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class HologramLineDefinition {
+
+    private final Type type;
+    private final HologramSettings settings;
+    @Nullable
+    private final String text;
+    @Nullable
+    private final ItemStack item;
+
+    /**
+     * Creates the definition of an existing line.<p></p>
+     *
+     * Only the static text or item of the line is kept, dynamic functions cannot be persisted
+     * and lines without static content are stored as empty lines to keep the layout.
+     *
+     * @param line the line to be defined.
+     * @return a new {@link HologramLineDefinition} instance.
+     */
+    @NotNull
+    public static HologramLineDefinition of(@NotNull AbstractHologramLine line) {
+        if (line instanceof TextHologramLine && ((TextHologramLine) line).getText() != null)
+            return new HologramLineDefinition(Type.TEXT, line.getSettings(), ((TextHologramLine) line).getText(), null);
+
+        // the item is copied, as the stores encode it on their own thread while the line may change it.
+        if (line instanceof ItemHologramLine && ((ItemHologramLine) line).getItem() != null)
+            return new HologramLineDefinition(Type.ITEM, line.getSettings(), null, ((ItemHologramLine) line).getItem().clone());
+
+        return new HologramLineDefinition(Type.EMPTY, line.getSettings(), null, null);
+    }
+
+    /**
+     * Creates a new line for the hologram from this definition.
+     *
+     * @param hologram the hologram that will own the line.
+     * @return a new {@link AbstractHologramLine} instance.
+     */
+    @NotNull
+    public AbstractHologramLine toLine(@NotNull Hologram hologram) {
+        if (type == Type.TEXT) {
+            final TextHologramLine line = new TextHologramLine(hologram, settings);
+            line.setText(text);
+            return line;
+        }
+
+        if (type == Type.ITEM) {
+            final ItemHologramLine line = new ItemHologramLine(hologram);
+            line.setItem(item);
+            return line;
+        }
+
+        return new EmptyHologramLine(hologram);
+    }
+
+    public enum Type {
+
+        EMPTY, TEXT, ITEM;
+
+    }
+
+}
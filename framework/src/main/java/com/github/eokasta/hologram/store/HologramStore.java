@@ -0,0 +1,55 @@
+package com.github.eokasta.hologram.store;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This interface is responsible for persisting {@link HologramDefinition}s.<p></p>
+ *
+ * Saves and deletes are only queued, they are written off the main thread
+ * by {@link HologramStore#flush()} and only definitions that changed since
+ * the last flush are written.
+ *
+ * @see BinaryHologramStore
+ */
+public interface HologramStore extends AutoCloseable {
+
+    /**
+     * Loads all stored definitions asynchronously.
+     *
+     * @return a future completed with the stored definitions.
+     */
+    @NotNull
+    CompletableFuture<List<HologramDefinition>> loadAll();
+
+    /**
+     * Queues a definition to be saved, replacing the stored one with the same id.
+     *
+     * @param definition the definition to be saved.
+     */
+    void save(@NotNull HologramDefinition definition);
+
+    /**
+     * Queues a definition to be deleted.
+     *
+     * @param id the id of the definition.
+     */
+    void delete(@NotNull String id);
+
+    /**
+     * Writes all queued changes asynchronously.
+     *
+     * @return a future completed when the changes are written.
+     */
+    @NotNull
+    CompletableFuture<Void> flush();
+
+    /**
+     * Flushes the queued changes and releases the store resources.
+     */
+    @Override
+    void close();
+
+}
@@ -0,0 +1,76 @@
+package com.github.eokasta.hologram.simulator;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class is responsible for creating fake implementations of the Bukkit interfaces.<p></p>
+ *
+ * Only the methods used by the framework are answered, every other method returns the
+ * default value of its return type, so the fakes keep working when the API grows.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class Fakes {
+
+    /**
+     * Creates a fake implementation of an interface.
+     *
+     * @param type the interface.
+     * @param name the name returned by {@link Object#toString()}.
+     * @param answers the answers keyed by method name, they receive the arguments of the call.
+     * @param <T> the type of the interface.
+     * @return the fake instance.
+     */
+    @NotNull
+    static <T> T create(
+          @NotNull Class<T> type,
+          @NotNull String name,
+          @NotNull Map<String, Function<Object[], Object>> answers
+    ) {
+        final Class<?>[] interfaces = {type};
+        final Object proxy = Proxy.newProxyInstance(type.getClassLoader(), interfaces, (self, method, args) -> {
+            final Object[] arguments = args == null ? new Object[0] : args;
+            if (method.getDeclaringClass() == Object.class)
+                return invokeObjectMethod(self, method, arguments, name);
+
+            final Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null)
+                return answer.apply(arguments);
+
+            return defaultValue(method.getReturnType());
+        });
+
+        return type.cast(proxy);
+    }
+
+    private static Object invokeObjectMethod(Object self, Method method, Object[] arguments, String name) {
+        switch (method.getName()) {
+            case "equals":
+                return self == arguments[0];
+            case "hashCode":
+                return System.identityHashCode(self);
+            default:
+                return name;
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+
+        return 0d;
+    }
+
+}
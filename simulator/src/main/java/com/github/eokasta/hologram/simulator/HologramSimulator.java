@@ -0,0 +1,279 @@
+package com.github.eokasta.hologram.simulator;
+
+import com.github.eokasta.hologram.Hologram;
+import com.github.eokasta.hologram.HologramBudgetSettings;
+import com.github.eokasta.hologram.HologramBuilder;
+import com.github.eokasta.hologram.HologramRegistry;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import com.github.eokasta.hologram.store.BinaryHologramStore;
+import com.github.eokasta.hologram.store.HologramDefinition;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class is responsible for running the framework under a synthetic load, entirely offline.<p></p>
+ *
+ * A {@link HologramRegistry} runs on a {@link SimulatedServer} with synthetic players walking
+ * scripted paths among generated holograms or the holograms of a real map, and the packets
+ * are recorded by a {@link RecordingPacketBackend} instead of being sent.
+ *
+ * <pre>
+ * gradlew :simulator:run --args="--players=200 --holograms=5000 --movement=wander"
+ * gradlew :simulator:run --args="--layout=plugins/Holograms/holograms.bin --players=100"
+ * </pre>
+ *
+ * @see SimulationSettings
+ * @see SimulationReport
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HologramSimulator {
+
+    public static void main(String[] args) {
+        System.out.println(run(parseSettings(args)));
+    }
+
+    /**
+     * Runs a simulation.
+     *
+     * @param settings the settings of the simulation.
+     * @return the report of the measured ticks.
+     */
+    @NotNull
+    public static synchronized SimulationReport run(@NotNull SimulationSettings settings) {
+        final SimulatedServer server = SimulatedServer.get();
+        server.reset(settings.getViewDistance());
+
+        final RecordingPacketBackend backend =
+              new RecordingPacketBackend(settings.isLegacy(), settings.isDisplayEntitySupported());
+        HologramProtocol.setBackend(backend);
+
+        final HologramRegistry registry =
+              new HologramRegistry(server.getPlugin(), settings.getUpdatePeriod(), settings.getUpdatePeriod());
+
+        if (settings.getLodSettings() != null)
+            registry.setLodSettings(settings.getLodSettings());
+
+        if (settings.getBudgetSettings() != null)
+            registry.setBudgetSettings(settings.getBudgetSettings());
+
+        final Random random = new Random(settings.getSeed());
+        final Location center = spawnHolograms(settings, registry, server.getWorld(), random);
+
+        int lines = 0;
+        for (Hologram hologram : registry)
+            lines += hologram.getLines().size();
+
+        for (int i = 0; i < settings.getPlayers(); i++) {
+            final Location origin = center.clone().add(
+                  (random.nextDouble() * 2 - 1) * settings.getRadius(),
+                  0,
+                  (random.nextDouble() * 2 - 1) * settings.getRadius()
+            );
+
+            server.join(new SimulatedPlayer(i, settings.createPath(origin, center, random)));
+        }
+
+        for (int i = 0; i < settings.getWarmupTicks(); i++) {
+            server.tick();
+            backend.reset();
+        }
+
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final boolean cpuTime = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+        final com.sun.management.ThreadMXBean allocations = getAllocationBean(threads);
+        final long threadId = Thread.currentThread().getId();
+
+        final Map<RecordingPacketBackend.Type, long[]> packets = new EnumMap<>(RecordingPacketBackend.Type.class);
+        final long[] tickNanos = new long[settings.getTicks()];
+        final long[] tickAllocatedBytes = allocations == null ? null : new long[settings.getTicks()];
+
+        for (int i = 0; i < settings.getTicks(); i++) {
+            final long allocatedBefore = allocations == null ? 0 : allocations.getThreadAllocatedBytes(threadId);
+            final long before = cpuTime ? threads.getCurrentThreadCpuTime() : System.nanoTime();
+
+            server.tick();
+
+            tickNanos[i] = (cpuTime ? threads.getCurrentThreadCpuTime() : System.nanoTime()) - before;
+            if (allocations != null)
+                tickAllocatedBytes[i] = allocations.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            // the recorded packets are drained every tick so a long run does not hold them all.
+            for (RecordingPacketBackend.Type type : RecordingPacketBackend.Type.values()) {
+                final long[] counter = packets.computeIfAbsent(type, $ -> new long[2]);
+                counter[0] += backend.getCount(type);
+                counter[1] += backend.getBytes(type);
+            }
+
+            backend.reset();
+        }
+
+        final int holograms = registry.getHolograms().size();
+        server.reset(settings.getViewDistance());
+
+        return new SimulationReport(
+              settings,
+              holograms,
+              lines,
+              settings.getPlayers(),
+              packets,
+              tickNanos,
+              tickAllocatedBytes
+        );
+    }
+
+    /**
+     * Spawns the holograms of the simulation.
+     *
+     * @return the center of the simulated area.
+     */
+    private static Location spawnHolograms(
+          SimulationSettings settings,
+          HologramRegistry registry,
+          World world,
+          Random random
+    ) {
+        final List<HologramDefinition> layout = settings.getLayout();
+        if (layout != null && !layout.isEmpty()) {
+            double x = 0, y = 0, z = 0;
+            for (HologramDefinition definition : layout) {
+                final Hologram hologram = definition.toHologram();
+                registry.registerHologram(hologram);
+                hologram.spawn(new Location(
+                      world,
+                      definition.getX(),
+                      definition.getY(),
+                      definition.getZ(),
+                      definition.getYaw(),
+                      definition.getPitch()
+                ));
+
+                x += definition.getX();
+                y += definition.getY();
+                z += definition.getZ();
+            }
+
+            return new Location(world, x / layout.size(), y / layout.size(), z / layout.size());
+        }
+
+        final Location center = new Location(world, 0, 64, 0);
+        final int staticLines = Math.max(0, settings.getLinesPerHologram() - settings.getDynamicLinesPerHologram());
+        for (int i = 0; i < settings.getHolograms(); i++) {
+            final HologramBuilder builder = new HologramBuilder();
+            for (int line = 0; line < staticLines; line++)
+                builder.addLine("Hologram #" + i + " line " + line);
+
+            for (int line = 0; line < settings.getDynamicLinesPerHologram(); line++)
+                builder.addDynamicTextLine(Player::getName);
+
+            builder.build(registry).spawn(center.clone().add(
+                  (random.nextDouble() * 2 - 1) * settings.getRadius(),
+                  random.nextDouble() * 8,
+                  (random.nextDouble() * 2 - 1) * settings.getRadius()
+            ));
+        }
+
+        return center;
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationBean(ThreadMXBean threads) {
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled())
+            return null;
+
+        return allocations;
+    }
+
+    private static SimulationSettings parseSettings(String[] args) {
+        final SimulationSettings.SimulationSettingsBuilder builder = SimulationSettings.builder();
+        int maxHolograms = Integer.MAX_VALUE, maxLines = Integer.MAX_VALUE;
+
+        for (String argument : args) {
+            final int separator = argument.indexOf('=');
+            if (!argument.startsWith("--") || separator < 0)
+                throw new IllegalArgumentException("Arguments must be like --name=value: " + argument);
+
+            final String name = argument.substring(2, separator);
+            final String value = argument.substring(separator + 1);
+            switch (name) {
+                case "players":
+                    builder.players(Integer.parseInt(value));
+                    break;
+                case "holograms":
+                    builder.holograms(Integer.parseInt(value));
+                    break;
+                case "lines":
+                    builder.linesPerHologram(Integer.parseInt(value));
+                    break;
+                case "dynamic-lines":
+                    builder.dynamicLinesPerHologram(Integer.parseInt(value));
+                    break;
+                case "layout":
+                    try (BinaryHologramStore store = new BinaryHologramStore(Paths.get(value))) {
+                        builder.layout(store.loadAll().join());
+                    }
+                    break;
+                case "radius":
+                    builder.radius(Double.parseDouble(value));
+                    break;
+                case "warmup":
+                    builder.warmupTicks(Integer.parseInt(value));
+                    break;
+                case "ticks":
+                    builder.ticks(Integer.parseInt(value));
+                    break;
+                case "period":
+                    builder.updatePeriod(Long.parseLong(value));
+                    break;
+                case "view-distance":
+                    builder.viewDistance(Integer.parseInt(value));
+                    break;
+                case "movement":
+                    builder.movement(SimulationSettings.Movement.valueOf(value.toUpperCase()));
+                    break;
+                case "speed":
+                    builder.speed(Double.parseDouble(value));
+                    break;
+                case "legacy":
+                    builder.legacy(Boolean.parseBoolean(value));
+                    break;
+                case "display":
+                    builder.displayEntitySupported(Boolean.parseBoolean(value));
+                    break;
+                case "max-holograms":
+                    maxHolograms = Integer.parseInt(value);
+                    break;
+                case "max-lines":
+                    maxLines = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    builder.seed(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + argument);
+            }
+        }
+
+        if (maxHolograms != Integer.MAX_VALUE || maxLines != Integer.MAX_VALUE)
+            builder.budgetSettings(HologramBudgetSettings.builder()
+                  .maxHolograms(maxHolograms)
+                  .maxLines(maxLines)
+                  .build());
+
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.github.eokasta.hologram.simulator;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * This interface is the scripted movement of a {@link SimulatedPlayer}.<p></p>
+ *
+ * Paths are queried once per tick, in order, and are deterministic, so the same
+ * settings always replay the same movement.
+ *
+ * @see SimulationSettings.Movement
+ */
+@FunctionalInterface
+public interface MovementPath {
+
+    /**
+     * Gets the location of the player on a tick.
+     *
+     * @param tick the tick of the simulation, starting at <b>0</b>.
+     * @return a new location.
+     */
+    @NotNull
+    Location locationAt(long tick);
+
+    /**
+     * Creates a path that never moves.
+     *
+     * @param origin the location of the player.
+     * @return the path.
+     */
+    @NotNull
+    static MovementPath stationary(@NotNull Location origin) {
+        return $ -> origin.clone();
+    }
+
+    /**
+     * Creates a path that walks in a circle around the origin.
+     *
+     * @param origin the center of the circle.
+     * @param radius the radius of the circle.
+     * @param speed the blocks walked per tick.
+     * @param phase the starting angle in radians.
+     * @return the path.
+     */
+    @NotNull
+    static MovementPath circle(@NotNull Location origin, double radius, double speed, double phase) {
+        final double angularSpeed = speed / radius;
+        return tick -> {
+            final double angle = phase + tick * angularSpeed;
+            return origin.clone().add(Math.cos(angle) * radius, 0, Math.sin(angle) * radius);
+        };
+    }
+
+    /**
+     * Creates a path that walks back and forth between the origin and a target.
+     *
+     * @param origin the start of the path.
+     * @param target the end of the path.
+     * @param speed the blocks walked per tick.
+     * @return the path.
+     */
+    @NotNull
+    static MovementPath patrol(@NotNull Location origin, @NotNull Location target, double speed) {
+        final double length = Math.max(origin.distance(target), speed);
+        final double dx = target.getX() - origin.getX();
+        final double dy = target.getY() - origin.getY();
+        final double dz = target.getZ() - origin.getZ();
+
+        return tick -> {
+            final double walked = (tick * speed) % (length * 2);
+            final double progress = (walked <= length ? walked : length * 2 - walked) / length;
+            return origin.clone().add(dx * progress, dy * progress, dz * progress);
+        };
+    }
+
+    /**
+     * Creates a path that wanders through random waypoints inside a square area.
+     *
+     * @param origin the first waypoint.
+     * @param center the center of the area.
+     * @param radius the half size of the area.
+     * @param speed the blocks walked per tick.
+     * @param seed the seed of the waypoints.
+     * @return the path.
+     */
+    @NotNull
+    static MovementPath wander(
+          @NotNull Location origin,
+          @NotNull Location center,
+          double radius,
+          double speed,
+          long seed
+    ) {
+        return new MovementPath() {
+
+            private final Random random = new Random(seed);
+            private Location from = origin.clone();
+            private Location to = nextWaypoint();
+            private long startTick;
+
+            @NotNull
+            @Override
+            public Location locationAt(long tick) {
+                double length = Math.max(from.distance(to), speed);
+                while ((tick - startTick) * speed >= length) {
+                    startTick += (long) Math.ceil(length / speed);
+                    from = to;
+                    to = nextWaypoint();
+                    length = Math.max(from.distance(to), speed);
+                }
+
+                final double progress = (tick - startTick) * speed / length;
+                return from.clone().add(
+                      (to.getX() - from.getX()) * progress,
+                      0,
+                      (to.getZ() - from.getZ()) * progress
+                );
+            }
+
+            private Location nextWaypoint() {
+                return center.clone().add(
+                      (random.nextDouble() * 2 - 1) * radius,
+                      0,
+                      (random.nextDouble() * 2 - 1) * radius
+                );
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.github.eokasta.hologram.simulator;
+
+import com.github.eokasta.hologram.protocol.HologramClickListener;
+import com.github.eokasta.hologram.protocol.HologramPacket;
+import com.github.eokasta.hologram.protocol.HologramProtocol;
+import com.github.eokasta.hologram.protocol.PacketBackend;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is an in-memory {@link PacketBackend} that only records the sent packets,
+ * so holograms can be exercised and measured without a server or ProtocolLib.<p></p>
+ *
+ * Only the amount and the estimated bytes of each type of packet are kept, not the packets themselves.
+ * Nothing is encoded, the sizes are fixed guesses per type plus the length of the texts, such as
+ * 16 bytes of overhead per name or line, so they are only good enough to compare changes.
+ *
+ * @see HologramProtocol#setBackend(PacketBackend)
+ */
+public class RecordingPacketBackend implements PacketBackend {
+
+    private final boolean legacy, displayEntitySupported;
+    private final Map<Type, long[]> counters = new EnumMap<>(Type.class);
+
+    public RecordingPacketBackend() {
+        this(false, true);
+    }
+
+    public RecordingPacketBackend(boolean legacy, boolean displayEntitySupported) {
+        this.legacy = legacy;
+        this.displayEntitySupported = displayEntitySupported;
+    }
+
+    @Override
+    public boolean isLegacy() {
+        return legacy;
+    }
+
+    @Override
+    public boolean isDisplayEntitySupported() {
+        return displayEntitySupported;
+    }
+
+    @Override
+    public boolean isDisplayInterpolationSupported() {
+        return displayEntitySupported;
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createDestroyPacket(int entityId) {
+        return new RecordedPacket(Type.DESTROY, entityId, 3);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createSpawnPacket(int entityId, @NotNull Location location) {
+        return new RecordedPacket(Type.SPAWN, entityId, 52);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createMetadataPacket(
+          int entityId,
+          @NotNull String customName,
+          boolean visibleCustomName,
+          boolean visibleArmorStand,
+          boolean small,
+          boolean arms,
+          boolean noBasePlate,
+          boolean marker
+    ) {
+        final int nameSize = visibleCustomName ? customName.getBytes(StandardCharsets.UTF_8).length + 16 : 0;
+        return new RecordedPacket(Type.METADATA, entityId, 12 + nameSize);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createTeleportPacket(int entityId, @NotNull Location location) {
+        return new RecordedPacket(Type.TELEPORT, entityId, 32);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createRelativeMovePacket(int entityId, @NotNull Location from, @NotNull Location to) {
+        if (Math.abs(to.getX() - from.getX()) >= 8
+              || Math.abs(to.getY() - from.getY()) >= 8
+              || Math.abs(to.getZ() - from.getZ()) >= 8)
+            return null;
+
+        return new RecordedPacket(Type.MOVE, entityId, 12);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket createEquipmentPacket(int entityId, @NotNull ItemStack item) {
+        return new RecordedPacket(Type.EQUIPMENT, entityId, 16);
+    }
+
+    @NotNull
+    @Override
+    public HologramPacket withEntityId(@NotNull HologramPacket packet, int entityId) {
+        final RecordedPacket recorded = (RecordedPacket) packet;
+        return new RecordedPacket(recorded.getType(), entityId, recorded.getSize());
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplaySpawnPacket(int entityId, @NotNull Location location) {
+        if (!displayEntitySupported) return null;
+
+        return new RecordedPacket(Type.SPAWN, entityId, 52);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplayMetadataPacket(int entityId, @NotNull List<String> lines) {
+        if (!displayEntitySupported) return null;
+
+        int size = 24;
+        for (String line : lines)
+            size += line.getBytes(StandardCharsets.UTF_8).length + 16;
+
+        return new RecordedPacket(Type.METADATA, entityId, size);
+    }
+
+    @Nullable
+    @Override
+    public HologramPacket createDisplayInterpolationPacket(int entityId, int ticks) {
+        if (!displayEntitySupported) return null;
+
+        return new RecordedPacket(Type.METADATA, entityId, 8);
+    }
+
+    @Override
+    public synchronized void sendPacket(@NotNull HologramPacket packet, @NotNull Player target) {
+        final RecordedPacket recorded = (RecordedPacket) packet;
+
+        final long[] counter = counters.computeIfAbsent(recorded.getType(), $ -> new long[2]);
+        counter[0]++;
+        counter[1] += recorded.getSize();
+    }
+
+    @Override
+    public void registerInteractListener(@NotNull Plugin plugin, @NotNull HologramClickListener listener) {
+    }
+
+    @Override
+    public void unregisterInteractListener(@NotNull HologramClickListener listener) {
+    }
+
+    /**
+     * Gets how many packets of a type were sent since the last reset.
+     *
+     * @param type the type of the packets.
+     * @return the amount of sent packets.
+     */
+    public synchronized long getCount(@NotNull Type type) {
+        final long[] counter = counters.get(type);
+        return counter == null ? 0 : counter[0];
+    }
+
+    /**
+     * Gets the estimated bytes of the packets of a type sent since the last reset.
+     *
+     * @param type the type of the packets.
+     * @return the estimated amount of bytes.
+     */
+    public synchronized long getBytes(@NotNull Type type) {
+        final long[] counter = counters.get(type);
+        return counter == null ? 0 : counter[1];
+    }
+
+    /**
+     * Clears all recorded packets and counters.
+     */
+    public synchronized void reset() {
+        counters.clear();
+    }
+
+    public enum Type {
+
+        SPAWN, DESTROY, METADATA, TELEPORT, MOVE, EQUIPMENT;
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class RecordedPacket implements HologramPacket {
+
+        private final Type type;
+        private final int entityId;
+        private final int size;
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.eokasta.hologram.simulator;
+
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * This class is a synthetic player that follows a {@link MovementPath}.<p></p>
+ *
+ * The {@link Player} of this class is a fake that only answers what the framework asks:
+ * identity, location and world.
+ */
+@Getter
+public class SimulatedPlayer {
+
+    private final UUID uniqueId;
+    private final String name;
+    private final int entityId;
+    private final MovementPath path;
+    private final Player player;
+
+    private Location location;
+    private boolean online;
+
+    SimulatedPlayer(int index, @NotNull MovementPath path) {
+        this.uniqueId = new UUID(0L, index);
+        this.name = "Simulated" + index;
+        this.entityId = index + 1;
+        this.path = path;
+        this.location = path.locationAt(0);
+
+        final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getUniqueId", $ -> uniqueId);
+        answers.put("getName", $ -> name);
+        answers.put("getDisplayName", $ -> name);
+        answers.put("getEntityId", $ -> entityId);
+        answers.put("getWorld", $ -> location.getWorld());
+        answers.put("getLocation", this::getLocation);
+        answers.put("isOnline", $ -> online);
+        answers.put("isValid", $ -> online);
+        this.player = Fakes.create(Player.class, name, answers);
+    }
+
+    @NotNull
+    public World getWorld() {
+        return location.getWorld();
+    }
+
+    void setLocation(@NotNull Location location) {
+        this.location = location;
+    }
+
+    void setOnline(boolean online) {
+        this.online = online;
+    }
+
+    private Location getLocation(Object[] arguments) {
+        if (arguments.length == 0)
+            return location.clone();
+
+        final Location target = (Location) arguments[0];
+        if (target == null) return null;
+
+        target.setWorld(location.getWorld());
+        target.setX(location.getX());
+        target.setY(location.getY());
+        target.setZ(location.getZ());
+        target.setYaw(location.getYaw());
+        target.setPitch(location.getPitch());
+        return target;
+    }
+
+}
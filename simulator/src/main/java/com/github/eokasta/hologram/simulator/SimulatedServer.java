@@ -0,0 +1,416 @@
+package com.github.eokasta.hologram.simulator;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.bukkit.plugin.ServicePriority;
+import org.bukkit.plugin.ServicesManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * This class is an offline, single threaded Bukkit server with one flat world.<p></p>
+ *
+ * It answers the scheduler, event, service and world calls made by the framework
+ * and runs everything on the thread that calls {@link SimulatedServer#tick()}, asynchronous
+ * tasks included, so a simulation is deterministic. Bukkit only accepts one server per
+ * process, so the server is installed once and {@link SimulatedServer#reset(int)} between runs.
+ */
+public final class SimulatedServer {
+
+    private static final UUID WORLD_ID = new UUID(0L, 0L);
+    private static SimulatedServer instance;
+
+    private final Logger logger = Logger.getLogger("HologramSimulator");
+
+    @Getter
+    private final Server server;
+    @Getter
+    private final Plugin plugin;
+    @Getter
+    private final World world;
+
+    private final List<SimulatedPlayer> players = new ArrayList<>();
+    private final List<Player> onlinePlayers = new ArrayList<>();
+    private final List<SimulatedTask> tasks = new ArrayList<>();
+    private final List<RegisteredHandler> handlers = new ArrayList<>();
+    private final Map<Class<?>, RegisteredServiceProvider<?>> services = new HashMap<>();
+
+    @Getter
+    private long currentTick;
+    private int nextTaskId = 1;
+    private int viewDistance = 10;
+    private boolean enabled = true;
+
+    private SimulatedServer() {
+        this.world = createWorld();
+        this.plugin = createPlugin();
+        this.server = createServer();
+    }
+
+    /**
+     * Gets the simulated server, installing it as the Bukkit server on the first call.
+     *
+     * @return the simulated server.
+     */
+    @NotNull
+    public static synchronized SimulatedServer get() {
+        if (instance == null) {
+            instance = new SimulatedServer();
+            Bukkit.setServer(instance.server);
+        }
+
+        return instance;
+    }
+
+    /**
+     * Gets the synthetic players that joined the server.
+     *
+     * @return unmodifiable players.
+     */
+    @NotNull
+    public List<SimulatedPlayer> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    /**
+     * Joins a synthetic player, firing a {@link PlayerJoinEvent}.
+     *
+     * @param player the player.
+     */
+    public void join(@NotNull SimulatedPlayer player) {
+        player.setOnline(true);
+        players.add(player);
+        onlinePlayers.add(player.getPlayer());
+
+        callEvent(new PlayerJoinEvent(player.getPlayer(), player.getName() + " joined the simulation."));
+    }
+
+    /**
+     * Disconnects a synthetic player, firing a {@link PlayerQuitEvent}.
+     *
+     * @param player the player.
+     */
+    public void quit(@NotNull SimulatedPlayer player) {
+        callEvent(new PlayerQuitEvent(player.getPlayer(), player.getName() + " left the simulation."));
+
+        player.setOnline(false);
+        players.remove(player);
+        onlinePlayers.remove(player.getPlayer());
+    }
+
+    /**
+     * Runs one tick: the players walk their paths and then the due tasks run, like a real server.
+     */
+    public void tick() {
+        currentTick++;
+
+        for (SimulatedPlayer player : new ArrayList<>(players))
+            move(player);
+
+        final List<SimulatedTask> due = new ArrayList<>();
+        for (SimulatedTask task : tasks)
+            if (task.nextRun <= currentTick) due.add(task);
+
+        for (SimulatedTask task : due) {
+            if (task.cancelled) continue;
+
+            task.run();
+            if (task.period > 0 && !task.cancelled)
+                task.nextRun = currentTick + task.period;
+            else
+                task.cancel();
+        }
+
+        tasks.removeIf(task -> task.cancelled);
+    }
+
+    /**
+     * Calls an event on the registered listeners, in the order of their priorities.
+     *
+     * @param event the event.
+     */
+    public void callEvent(@NotNull Event event) {
+        for (RegisteredHandler handler : new ArrayList<>(handlers)) {
+            if (!handler.method.getParameterTypes()[0].isInstance(event)) continue;
+            if (handler.ignoreCancelled && event instanceof Cancellable && ((Cancellable) event).isCancelled())
+                continue;
+
+            try {
+                handler.method.invoke(handler.listener, event);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not call " + handler.method + ".", e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Could not pass " + event.getEventName() + " to a listener.", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Disables the simulation plugin, so the engine releases everything it holds, and
+     * removes all players, tasks, listeners and services for the next run.
+     *
+     * @param viewDistance the view distance of the world for the next run, in chunks.
+     */
+    public void reset(int viewDistance) {
+        enabled = false;
+        callEvent(new PluginDisableEvent(plugin));
+
+        players.clear();
+        onlinePlayers.clear();
+        tasks.clear();
+        handlers.clear();
+        services.clear();
+
+        this.currentTick = 0;
+        this.viewDistance = viewDistance;
+        this.enabled = true;
+    }
+
+    private void move(SimulatedPlayer player) {
+        final Location from = player.getLocation();
+        final Location to = player.getPath().locationAt(currentTick);
+        if (from.getX() == to.getX() && from.getY() == to.getY() && from.getZ() == to.getZ()) return;
+
+        final PlayerMoveEvent event = new PlayerMoveEvent(player.getPlayer(), from.clone(), to);
+        callEvent(event);
+
+        if (!event.isCancelled() && event.getTo() != null)
+            player.setLocation(event.getTo());
+    }
+
+    private void registerEvents(Listener listener) {
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            final EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if (annotation == null || method.getParameterCount() != 1) continue;
+            if (!Event.class.isAssignableFrom(method.getParameterTypes()[0])) continue;
+
+            method.setAccessible(true);
+            final int priority = annotation.priority().ordinal();
+            handlers.add(new RegisteredHandler(listener, method, priority, annotation.ignoreCancelled()));
+        }
+
+        handlers.sort(Comparator.comparingInt(handler -> handler.priority));
+    }
+
+    private BukkitTask schedule(Object task, long delay, long period) {
+        final SimulatedTask scheduled = new SimulatedTask(nextTaskId++, task);
+        scheduled.nextRun = currentTick + Math.max(1L, delay);
+        scheduled.period = period;
+        tasks.add(scheduled);
+
+        return scheduled;
+    }
+
+    private void cancelTask(int taskId) {
+        for (SimulatedTask task : tasks)
+            if (task.taskId == taskId) task.cancel();
+    }
+
+    @Nullable
+    private World getWorld(Object key) {
+        return WORLD_ID.equals(key) || world.getName().equals(key) ? world : null;
+    }
+
+    @Nullable
+    private Player getPlayer(Object key) {
+        for (SimulatedPlayer player : players)
+            if (player.getUniqueId().equals(key) || player.getName().equals(key))
+                return player.getPlayer();
+
+        return null;
+    }
+
+    private World createWorld() {
+        final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getUID", $ -> WORLD_ID);
+        answers.put("getName", $ -> "simulation");
+        answers.put("getPlayers", $ -> new ArrayList<>(onlinePlayers));
+        answers.put("getEntities", $ -> new ArrayList<>(onlinePlayers));
+        answers.put("getViewDistance", $ -> viewDistance);
+        answers.put("getMaxHeight", $ -> 256);
+        answers.put("isChunkLoaded", $ -> true);
+
+        return Fakes.create(World.class, "simulation", answers);
+    }
+
+    private Plugin createPlugin() {
+        final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getName", $ -> "HologramSimulator");
+        answers.put("isEnabled", $ -> enabled);
+        answers.put("getLogger", $ -> logger);
+        answers.put("getServer", $ -> server);
+
+        return Fakes.create(Plugin.class, "HologramSimulator", answers);
+    }
+
+    private Server createServer() {
+        final Map<String, Function<Object[], Object>> scheduler = new HashMap<>();
+        scheduler.put("runTask", arguments -> schedule(arguments[1], 0L, 0L));
+        scheduler.put("runTaskAsynchronously", arguments -> schedule(arguments[1], 0L, 0L));
+        scheduler.put("runTaskLater", arguments -> schedule(arguments[1], (long) arguments[2], 0L));
+        scheduler.put("runTaskLaterAsynchronously", arguments -> schedule(arguments[1], (long) arguments[2], 0L));
+        scheduler.put("runTaskTimer", arguments -> schedule(arguments[1], (long) arguments[2], (long) arguments[3]));
+        scheduler.put("runTaskTimerAsynchronously", scheduler.get("runTaskTimer"));
+        scheduler.put("cancelTask", arguments -> {
+            cancelTask((int) arguments[0]);
+            return null;
+        });
+        scheduler.put("cancelTasks", arguments -> {
+            tasks.forEach(SimulatedTask::cancel);
+            return null;
+        });
+
+        final Map<String, Function<Object[], Object>> pluginManager = new HashMap<>();
+        pluginManager.put("registerEvents", arguments -> {
+            registerEvents((Listener) arguments[0]);
+            return null;
+        });
+        pluginManager.put("callEvent", arguments -> {
+            callEvent((Event) arguments[0]);
+            return null;
+        });
+        pluginManager.put("getPlugins", $ -> new Plugin[]{plugin});
+        pluginManager.put("getPlugin", arguments -> plugin.getName().equals(arguments[0]) ? plugin : null);
+        pluginManager.put("isPluginEnabled", $ -> enabled);
+
+        final Map<String, Function<Object[], Object>> servicesManager = new HashMap<>();
+        servicesManager.put("register", arguments -> {
+            registerService((Class<?>) arguments[0], arguments[1], (ServicePriority) arguments[3]);
+            return null;
+        });
+        servicesManager.put("unregister", arguments -> {
+            final Object provider = arguments[arguments.length - 1];
+            services.values().removeIf(registration -> registration.getProvider() == provider);
+            return null;
+        });
+        servicesManager.put("unregisterAll", arguments -> {
+            services.clear();
+            return null;
+        });
+        servicesManager.put("getRegistration", arguments -> services.get(arguments[0]));
+        servicesManager.put("load", arguments -> {
+            final RegisteredServiceProvider<?> registration = services.get(arguments[0]);
+            return registration == null ? null : registration.getProvider();
+        });
+        servicesManager.put("isProvidedFor", arguments -> services.containsKey(arguments[0]));
+
+        final BukkitScheduler bukkitScheduler = Fakes.create(BukkitScheduler.class, "scheduler", scheduler);
+        final PluginManager bukkitPluginManager = Fakes.create(PluginManager.class, "plugin manager", pluginManager);
+        final ServicesManager bukkitServicesManager =
+              Fakes.create(ServicesManager.class, "services manager", servicesManager);
+
+        final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getName", $ -> "HologramSimulator");
+        answers.put("getVersion", $ -> "simulated");
+        answers.put("getBukkitVersion", $ -> "simulated");
+        answers.put("getLogger", $ -> logger);
+        answers.put("getViewDistance", $ -> viewDistance);
+        answers.put("getWorlds", $ -> Collections.singletonList(world));
+        answers.put("getWorld", arguments -> getWorld(arguments[0]));
+        answers.put("getOnlinePlayers", $ -> Collections.unmodifiableList(new ArrayList<>(onlinePlayers)));
+        answers.put("getPlayer", arguments -> getPlayer(arguments[0]));
+        answers.put("isPrimaryThread", $ -> true);
+        answers.put("getScheduler", $ -> bukkitScheduler);
+        answers.put("getPluginManager", $ -> bukkitPluginManager);
+        answers.put("getServicesManager", $ -> bukkitServicesManager);
+
+        return Fakes.create(Server.class, "HologramSimulator", answers);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void registerService(Class<?> service, Object provider, ServicePriority priority) {
+        services.put(service, new RegisteredServiceProvider(service, provider, priority, plugin));
+    }
+
+    @RequiredArgsConstructor
+    private static final class RegisteredHandler {
+
+        private final Listener listener;
+        private final Method method;
+        private final int priority;
+        private final boolean ignoreCancelled;
+
+    }
+
+    private final class SimulatedTask implements BukkitTask, Runnable {
+
+        private final int taskId;
+        private final Object task;
+        private long nextRun, period;
+        private boolean cancelled;
+
+        private SimulatedTask(int taskId, Object task) {
+            this.taskId = taskId;
+            this.task = Objects.requireNonNull(task, "Task cannot be null.");
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void run() {
+            if (task instanceof Runnable)
+                ((Runnable) task).run();
+            else
+                ((Consumer<BukkitTask>) task).accept(this);
+        }
+
+        @Override
+        public int getTaskId() {
+            return taskId;
+        }
+
+        @NotNull
+        @Override
+        public Plugin getOwner() {
+            return plugin;
+        }
+
+        @Override
+        public boolean isSync() {
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+    }
+
+}
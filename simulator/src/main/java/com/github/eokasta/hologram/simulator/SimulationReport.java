@@ -0,0 +1,148 @@
+package com.github.eokasta.hologram.simulator;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This class is the result of a run of the {@link HologramSimulator}.<p></p>
+ *
+ * Packet sizes are the estimates of the {@link RecordingPacketBackend}. Tick times are the CPU
+ * time of the simulation thread, or the wall time when the JVM cannot measure it, and the allocations
+ * include the recording of the packets, which is small next to the work of the framework.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SimulationReport {
+
+    private static final double TICKS_PER_SECOND = 20.0;
+
+    private final SimulationSettings settings;
+    private final int holograms, lines, players;
+
+    /**
+     * The amount and estimated bytes of the sent packets, in this order, by type.
+     */
+    private final Map<RecordingPacketBackend.Type, long[]> packets;
+
+    /**
+     * The nanoseconds spent in each measured tick.
+     */
+    private final long[] tickNanos;
+
+    /**
+     * The bytes allocated in each measured tick, or <b>null</b> if the JVM cannot measure it.
+     */
+    private final long[] tickAllocatedBytes;
+
+    public long getCount(@NotNull RecordingPacketBackend.Type type) {
+        final long[] counter = packets.get(type);
+        return counter == null ? 0 : counter[0];
+    }
+
+    public long getBytes(@NotNull RecordingPacketBackend.Type type) {
+        final long[] counter = packets.get(type);
+        return counter == null ? 0 : counter[1];
+    }
+
+    public double getPacketsPerSecond(@NotNull RecordingPacketBackend.Type type) {
+        return getCount(type) / getSeconds();
+    }
+
+    public double getBytesPerSecond(@NotNull RecordingPacketBackend.Type type) {
+        return getBytes(type) / getSeconds();
+    }
+
+    /**
+     * Gets a percentile of the tick times.
+     *
+     * @param percentile the percentile, from <b>0</b> to <b>100</b>.
+     * @return the tick time in nanoseconds.
+     */
+    public long getTickNanos(double percentile) {
+        return percentile(tickNanos, percentile);
+    }
+
+    /**
+     * Gets a percentile of the allocated bytes per tick.
+     *
+     * @param percentile the percentile, from <b>0</b> to <b>100</b>.
+     * @return the allocated bytes or <b>-1</b> if the JVM cannot measure allocations.
+     */
+    public long getTickAllocatedBytes(double percentile) {
+        return tickAllocatedBytes == null ? -1 : percentile(tickAllocatedBytes, percentile);
+    }
+
+    private double getSeconds() {
+        return Math.max(1, tickNanos.length) / TICKS_PER_SECOND;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT,
+              "%d players, %d holograms, %d lines, %d ticks (%s movement)%n",
+              players, holograms, lines, tickNanos.length, settings.getMovement()
+        ));
+
+        builder.append(String.format(Locale.ROOT, "%n%-10s %12s %12s %14s%n",
+              "packet", "total", "per second", "~bytes/second"
+        ));
+
+        long totalCount = 0, totalBytes = 0;
+        for (RecordingPacketBackend.Type type : RecordingPacketBackend.Type.values()) {
+            totalCount += getCount(type);
+            totalBytes += getBytes(type);
+            builder.append(String.format(Locale.ROOT, "%-10s %12d %12.1f %14.1f%n",
+                  type, getCount(type), getPacketsPerSecond(type), getBytesPerSecond(type)
+            ));
+        }
+
+        builder.append(String.format(Locale.ROOT, "%-10s %12d %12.1f %14.1f%n",
+              "TOTAL", totalCount, totalCount / getSeconds(), totalBytes / getSeconds()
+        ));
+        builder.append("(~) bytes are estimated from the packet types and texts, not measured from encoded packets.")
+              .append(System.lineSeparator());
+
+        builder.append(String.format(Locale.ROOT, "%n%-10s %12s %12s %12s %12s%n",
+              "per tick", "p50", "p99", "max", "mean"
+        ));
+        builder.append(String.format(Locale.ROOT, "%-10s %12.3f %12.3f %12.3f %12.3f%n",
+              "cpu (ms)",
+              getTickNanos(50) / 1e6,
+              getTickNanos(99) / 1e6,
+              getTickNanos(100) / 1e6,
+              mean(tickNanos) / 1e6
+        ));
+
+        if (tickAllocatedBytes != null)
+            builder.append(String.format(Locale.ROOT, "%-10s %12.1f %12.1f %12.1f %12.1f%n",
+                  "alloc (KB)",
+                  getTickAllocatedBytes(50) / 1024.0,
+                  getTickAllocatedBytes(99) / 1024.0,
+                  getTickAllocatedBytes(100) / 1024.0,
+                  mean(tickAllocatedBytes) / 1024.0
+            ));
+
+        return builder.toString();
+    }
+
+    private static long percentile(long[] values, double percentile) {
+        if (values.length == 0) return 0;
+
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double mean(long[] values) {
+        return values.length == 0 ? 0 : (double) Arrays.stream(values).sum() / values.length;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.github.eokasta.hologram.simulator;
+
+import com.github.eokasta.hologram.HologramBudgetSettings;
+import com.github.eokasta.hologram.HologramLodSettings;
+import com.github.eokasta.hologram.store.HologramDefinition;
+import lombok.Builder;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Settings of a run of the {@link HologramSimulator}.
+ */
+@Getter
+@Builder
+public class SimulationSettings {
+
+    /**
+     * How many synthetic players join the simulated world.
+     */
+    @Builder.Default
+    private final int players = 100;
+
+    /**
+     * How many holograms are spread over the area, ignored when a layout is given.
+     */
+    @Builder.Default
+    private final int holograms = 1000;
+
+    /**
+     * How many text lines each generated hologram has.
+     */
+    @Builder.Default
+    private final int linesPerHologram = 3;
+
+    /**
+     * How many of the lines of each generated hologram are dynamic, resolved for each player.
+     */
+    @Builder.Default
+    private final int dynamicLinesPerHologram = 0;
+
+    /**
+     * The holograms of a real map, such as the definitions loaded from a store.
+     * Their world is replaced by the simulated world.
+     */
+    @Nullable
+    private final List<HologramDefinition> layout;
+
+    /**
+     * The half size of the square area where holograms and players are placed.
+     */
+    @Builder.Default
+    private final double radius = 256;
+
+    /**
+     * Ticks that run before the measurement, so the JIT compiler settles.
+     */
+    @Builder.Default
+    private final int warmupTicks = 200;
+
+    /**
+     * Ticks that are measured.
+     */
+    @Builder.Default
+    private final int ticks = 1200;
+
+    /**
+     * The delay and period of the hologram update loop, in ticks.
+     */
+    @Builder.Default
+    private final long updatePeriod = 20L;
+
+    /**
+     * The view distance of the simulated world, in chunks.
+     */
+    @Builder.Default
+    private final int viewDistance = 10;
+
+    @Builder.Default
+    @NotNull
+    private final Movement movement = Movement.WANDER;
+
+    /**
+     * The blocks walked per tick, a walking player moves about <b>0.22</b>.
+     */
+    @Builder.Default
+    private final double speed = 0.22;
+
+    /**
+     * Simulates a server before 1.9.
+     */
+    @Builder.Default
+    private final boolean legacy = false;
+
+    /**
+     * Simulates a server with display entities, 1.19.4 or above.
+     */
+    @Builder.Default
+    private final boolean displayEntitySupported = false;
+
+    @Nullable
+    private final HologramLodSettings lodSettings;
+
+    @Nullable
+    private final HologramBudgetSettings budgetSettings;
+
+    @Builder.Default
+    private final long seed = 0L;
+
+    /**
+     * Creates the path of a synthetic player.
+     *
+     * @param origin the location where the player joins.
+     * @param center the center of the simulated area.
+     * @param random the random of the simulation.
+     * @return the path of the player.
+     */
+    @NotNull
+    MovementPath createPath(@NotNull Location origin, @NotNull Location center, @NotNull Random random) {
+        switch (movement) {
+            case CIRCLE:
+                return MovementPath.circle(origin, 8 + random.nextDouble() * 24, speed, random.nextDouble() * Math.PI * 2);
+            case PATROL:
+                final Location target = center.clone().add(
+                      (random.nextDouble() * 2 - 1) * radius,
+                      0,
+                      (random.nextDouble() * 2 - 1) * radius
+                );
+
+                return MovementPath.patrol(origin, target, speed);
+            case WANDER:
+                return MovementPath.wander(origin, center, radius, speed, random.nextLong());
+            default:
+                return MovementPath.stationary(origin);
+        }
+    }
+
+    /**
+     * The scripted movements of the synthetic players.
+     */
+    public enum Movement {
+
+        STATIONARY, CIRCLE, PATROL, WANDER;
+
+    }
+
+}